@@ -0,0 +1,338 @@
+package com.github.marschall.minicommons;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+
+/**
+ * A hash map that uses the content of primitive arrays as keys.
+ *
+ * <p>Keys are compared with <code>Arrays.equals</code> and hashed with
+ * <code>Arrays.hashCode</code> semantics without having to wrap them into
+ * objects implementing {@link Object#equals(Object)} and
+ * {@link Object#hashCode()}. Lookups can be done with a range of a larger
+ * array, for example a record in a shared buffer, without copying it.</p>
+ *
+ * <p>The map uses open addressing with linear probing. Keys and values
+ * are stored in parallel arrays together with the cached hash codes of
+ * the keys so that no entry objects are allocated.</p>
+ *
+ * <p>Keys are not copied when inserted with {@link #put(Object, Object)}
+ * and must not be modified afterwards. This class is not thread safe.</p>
+ *
+ * <pre><code>
+ * ArrayMap&lt;byte[], Record&gt; records = ArrayMap.forByteArrays();
+ * records.put(key, record);
+ * Record record = records.get(buffer, offset, offset + keyLength);
+ * </code></pre>
+ *
+ * @param <A> the array type of the keys
+ * @param <V> the type of the values
+ */
+public final class ArrayMap<A, V> {
+
+  private static final Strategy<byte[]> BYTE_ARRAYS = new Strategy<byte[]>() {
+
+    @Override
+    int length(byte[] array) {
+      return array.length;
+    }
+
+    @Override
+    int hashCode(byte[] array, int fromIndex, int toIndex) {
+      return ArrayRanges.hashCode(array, fromIndex, toIndex);
+    }
+
+    @Override
+    boolean equals(byte[] key, byte[] array, int fromIndex, int toIndex) {
+      return ArrayRanges.equals(key, 0, key.length, array, fromIndex, toIndex);
+    }
+
+    @Override
+    byte[] copyOfRange(byte[] array, int fromIndex, int toIndex) {
+      return Arrays.copyOfRange(array, fromIndex, toIndex);
+    }
+
+  };
+
+  private static final Strategy<int[]> INT_ARRAYS = new Strategy<int[]>() {
+
+    @Override
+    int length(int[] array) {
+      return array.length;
+    }
+
+    @Override
+    int hashCode(int[] array, int fromIndex, int toIndex) {
+      return ArrayRanges.hashCode(array, fromIndex, toIndex);
+    }
+
+    @Override
+    boolean equals(int[] key, int[] array, int fromIndex, int toIndex) {
+      return ArrayRanges.equals(key, 0, key.length, array, fromIndex, toIndex);
+    }
+
+    @Override
+    int[] copyOfRange(int[] array, int fromIndex, int toIndex) {
+      return Arrays.copyOfRange(array, fromIndex, toIndex);
+    }
+
+  };
+
+  private static final Strategy<long[]> LONG_ARRAYS = new Strategy<long[]>() {
+
+    @Override
+    int length(long[] array) {
+      return array.length;
+    }
+
+    @Override
+    int hashCode(long[] array, int fromIndex, int toIndex) {
+      return ArrayRanges.hashCode(array, fromIndex, toIndex);
+    }
+
+    @Override
+    boolean equals(long[] key, long[] array, int fromIndex, int toIndex) {
+      return ArrayRanges.equals(key, 0, key.length, array, fromIndex, toIndex);
+    }
+
+    @Override
+    long[] copyOfRange(long[] array, int fromIndex, int toIndex) {
+      return Arrays.copyOfRange(array, fromIndex, toIndex);
+    }
+
+  };
+
+  private final Strategy<A> strategy;
+
+  private final OpenAddressingTable table;
+
+  private ArrayMap(Strategy<A> strategy) {
+    this.strategy = strategy;
+    this.table = new OpenAddressingTable();
+  }
+
+  /**
+   * Creates a new empty map with <code>byte[]</code> keys.
+   *
+   * @param <V> the type of the values
+   * @return the new map
+   */
+  public static <V> ArrayMap<byte[], V> forByteArrays() {
+    return new ArrayMap<>(BYTE_ARRAYS);
+  }
+
+  /**
+   * Creates a new empty map with <code>int[]</code> keys.
+   *
+   * @param <V> the type of the values
+   * @return the new map
+   */
+  public static <V> ArrayMap<int[], V> forIntArrays() {
+    return new ArrayMap<>(INT_ARRAYS);
+  }
+
+  /**
+   * Creates a new empty map with <code>long[]</code> keys.
+   *
+   * @param <V> the type of the values
+   * @return the new map
+   */
+  public static <V> ArrayMap<long[], V> forLongArrays() {
+    return new ArrayMap<>(LONG_ARRAYS);
+  }
+
+  /**
+   * Returns the number of mappings.
+   *
+   * @return the number of mappings
+   */
+  public int size() {
+    return this.table.size;
+  }
+
+  /**
+   * Returns whether there are no mappings.
+   *
+   * @return {@code true} if there are no mappings
+   */
+  public boolean isEmpty() {
+    return this.table.size == 0;
+  }
+
+  /**
+   * Returns the value mapped to the content of an array.
+   *
+   * @param key the key, not {@code null}
+   * @return the value or {@code null} if there is no mapping for the key
+   */
+  public V get(A key) {
+    return this.get(key, 0, this.strategy.length(key));
+  }
+
+  /**
+   * Returns the value mapped to the content of a range of an array.
+   *
+   * <p>The result is the same as calling {@link #get(Object)} with the
+   * result of <code>Arrays.copyOfRange(array, fromIndex, toIndex)</code>
+   * but nothing is copied.</p>
+   *
+   * @param array the array containing the key, not {@code null}
+   * @param fromIndex the index of the first element of the key (inclusive)
+   * @param toIndex the index of the last element of the key (exclusive)
+   * @return the value or {@code null} if there is no mapping for the key
+   * @throws IllegalArgumentException if {@code fromIndex > toIndex}
+   * @throws ArrayIndexOutOfBoundsException if {@code fromIndex < 0} or {@code toIndex > array.length}
+   */
+  @SuppressWarnings("unchecked")
+  public V get(A array, int fromIndex, int toIndex) {
+    int slot = this.find(array, fromIndex, toIndex, this.strategy.hashCode(array, fromIndex, toIndex));
+    if (slot < 0) {
+      return null;
+    }
+    return (V) this.table.values[slot];
+  }
+
+  /**
+   * Returns whether there is a mapping for the content of an array.
+   *
+   * @param key the key, not {@code null}
+   * @return {@code true} if there is a mapping for the key
+   */
+  public boolean containsKey(A key) {
+    return this.containsKey(key, 0, this.strategy.length(key));
+  }
+
+  /**
+   * Returns whether there is a mapping for the content of a range of
+   * an array.
+   *
+   * @param array the array containing the key, not {@code null}
+   * @param fromIndex the index of the first element of the key (inclusive)
+   * @param toIndex the index of the last element of the key (exclusive)
+   * @return {@code true} if there is a mapping for the key
+   * @throws IllegalArgumentException if {@code fromIndex > toIndex}
+   * @throws ArrayIndexOutOfBoundsException if {@code fromIndex < 0} or {@code toIndex > array.length}
+   */
+  public boolean containsKey(A array, int fromIndex, int toIndex) {
+    return this.find(array, fromIndex, toIndex, this.strategy.hashCode(array, fromIndex, toIndex)) >= 0;
+  }
+
+  /**
+   * Maps the content of an array to a value.
+   *
+   * <p>The key is not copied and must not be modified afterwards.</p>
+   *
+   * @param key the key, not {@code null}
+   * @param value the value, may be {@code null}
+   * @return the previous value or {@code null} if there was no mapping
+   */
+  public V put(A key, V value) {
+    Objects.requireNonNull(key, "key");
+    int length = this.strategy.length(key);
+    return this.put(key, 0, length, this.strategy.hashCode(key, 0, length), false, value);
+  }
+
+  /**
+   * Maps the content of a range of an array to a value.
+   *
+   * <p>The range is only copied if there is no mapping for it yet.</p>
+   *
+   * @param array the array containing the key, not {@code null}
+   * @param fromIndex the index of the first element of the key (inclusive)
+   * @param toIndex the index of the last element of the key (exclusive)
+   * @param value the value, may be {@code null}
+   * @return the previous value or {@code null} if there was no mapping
+   * @throws IllegalArgumentException if {@code fromIndex > toIndex}
+   * @throws ArrayIndexOutOfBoundsException if {@code fromIndex < 0} or {@code toIndex > array.length}
+   */
+  public V put(A array, int fromIndex, int toIndex, V value) {
+    int hash = this.strategy.hashCode(array, fromIndex, toIndex);
+    return this.put(array, fromIndex, toIndex, hash, true, value);
+  }
+
+  @SuppressWarnings("unchecked")
+  private V put(A array, int fromIndex, int toIndex, int hash, boolean copy, V value) {
+    int slot = this.find(array, fromIndex, toIndex, hash);
+    if (slot >= 0) {
+      V previous = (V) this.table.values[slot];
+      this.table.values[slot] = value;
+      return previous;
+    }
+    A key = copy ? this.strategy.copyOfRange(array, fromIndex, toIndex) : array;
+    // the free slot at which the search stopped
+    this.table.insert(-(slot + 1), key, value, hash);
+    return null;
+  }
+
+  /**
+   * Removes the mapping for the content of an array.
+   *
+   * @param key the key, not {@code null}
+   * @return the removed value or {@code null} if there was no mapping
+   */
+  @SuppressWarnings("unchecked")
+  public V remove(A key) {
+    int length = this.strategy.length(key);
+    int slot = this.find(key, 0, length, this.strategy.hashCode(key, 0, length));
+    if (slot < 0) {
+      return null;
+    }
+    V previous = (V) this.table.values[slot];
+    this.table.removeSlot(slot);
+    return previous;
+  }
+
+  /**
+   * Removes all mappings.
+   */
+  public void clear() {
+    this.table.clear();
+  }
+
+  /**
+   * Performs the given action for each mapping.
+   *
+   * <p>The order is unspecified. The keys passed to the action must not
+   * be modified.</p>
+   *
+   * @param action the action to perform, not {@code null}
+   */
+  public void forEach(BiConsumer<? super A, ? super V> action) {
+    this.table.forEach(action);
+  }
+
+  /**
+   * Returns the slot of the key or <code>-(free slot + 1)</code> if the
+   * key is absent.
+   */
+  @SuppressWarnings("unchecked")
+  private int find(A array, int fromIndex, int toIndex, int hash) {
+    Object[] k = this.table.keys;
+    int mask = k.length - 1;
+    int slot = this.table.homeSlot(hash);
+    while (true) {
+      Object key = k[slot];
+      if (key == null) {
+        return -(slot + 1);
+      }
+      if (this.table.hashes[slot] == hash && this.strategy.equals((A) key, array, fromIndex, toIndex)) {
+        return slot;
+      }
+      slot = (slot + 1) & mask;
+    }
+  }
+
+  private abstract static class Strategy<A> {
+
+    abstract int length(A array);
+
+    abstract int hashCode(A array, int fromIndex, int toIndex);
+
+    abstract boolean equals(A key, A array, int fromIndex, int toIndex);
+
+    abstract A copyOfRange(A array, int fromIndex, int toIndex);
+
+  }
+
+}
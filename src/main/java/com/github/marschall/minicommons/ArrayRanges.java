@@ -0,0 +1,248 @@
+package com.github.marschall.minicommons;
+
+import java.util.Objects;
+
+/**
+ * Hashing and equality of array ranges.
+ *
+ * <p>The results are the same as calling {@link java.util.Arrays#hashCode(long[])}
+ * or {@link java.util.Arrays#equals(long[], long[])} on the result of
+ * {@link java.util.Arrays#copyOfRange(long[], int, int)} but nothing is
+ * copied. Range checks follow the range variants of
+ * <code>Arrays.equals</code> introduced in Java 9.</p>
+ */
+final class ArrayRanges {
+
+  private ArrayRanges() {
+    throw new AssertionError("not instantiable");
+  }
+
+  static void checkRange(int length, int fromIndex, int toIndex) {
+    if (fromIndex > toIndex) {
+      throw new IllegalArgumentException("fromIndex(" + fromIndex + ") > toIndex(" + toIndex + ")");
+    }
+    if (fromIndex < 0) {
+      throw new ArrayIndexOutOfBoundsException(fromIndex);
+    }
+    if (toIndex > length) {
+      throw new ArrayIndexOutOfBoundsException(toIndex);
+    }
+  }
+
+  static int hashCode(boolean[] array, int fromIndex, int toIndex) {
+    checkRange(array.length, fromIndex, toIndex);
+    int result = 1;
+    for (int i = fromIndex; i < toIndex; i++) {
+      result = 31 * result + Boolean.hashCode(array[i]);
+    }
+    return result;
+  }
+
+  static boolean equals(boolean[] lhs, int lhsFromIndex, int lhsToIndex, boolean[] rhs, int rhsFromIndex, int rhsToIndex) {
+    checkRange(lhs.length, lhsFromIndex, lhsToIndex);
+    checkRange(rhs.length, rhsFromIndex, rhsToIndex);
+    int length = lhsToIndex - lhsFromIndex;
+    if (length != rhsToIndex - rhsFromIndex) {
+      return false;
+    }
+    for (int i = 0; i < length; i++) {
+      if (lhs[lhsFromIndex + i] != rhs[rhsFromIndex + i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  static int hashCode(byte[] array, int fromIndex, int toIndex) {
+    checkRange(array.length, fromIndex, toIndex);
+    int result = 1;
+    for (int i = fromIndex; i < toIndex; i++) {
+      result = 31 * result + array[i];
+    }
+    return result;
+  }
+
+  static boolean equals(byte[] lhs, int lhsFromIndex, int lhsToIndex, byte[] rhs, int rhsFromIndex, int rhsToIndex) {
+    checkRange(lhs.length, lhsFromIndex, lhsToIndex);
+    checkRange(rhs.length, rhsFromIndex, rhsToIndex);
+    int length = lhsToIndex - lhsFromIndex;
+    if (length != rhsToIndex - rhsFromIndex) {
+      return false;
+    }
+    for (int i = 0; i < length; i++) {
+      if (lhs[lhsFromIndex + i] != rhs[rhsFromIndex + i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  static int hashCode(char[] array, int fromIndex, int toIndex) {
+    checkRange(array.length, fromIndex, toIndex);
+    int result = 1;
+    for (int i = fromIndex; i < toIndex; i++) {
+      result = 31 * result + array[i];
+    }
+    return result;
+  }
+
+  static boolean equals(char[] lhs, int lhsFromIndex, int lhsToIndex, char[] rhs, int rhsFromIndex, int rhsToIndex) {
+    checkRange(lhs.length, lhsFromIndex, lhsToIndex);
+    checkRange(rhs.length, rhsFromIndex, rhsToIndex);
+    int length = lhsToIndex - lhsFromIndex;
+    if (length != rhsToIndex - rhsFromIndex) {
+      return false;
+    }
+    for (int i = 0; i < length; i++) {
+      if (lhs[lhsFromIndex + i] != rhs[rhsFromIndex + i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  static int hashCode(double[] array, int fromIndex, int toIndex) {
+    checkRange(array.length, fromIndex, toIndex);
+    int result = 1;
+    for (int i = fromIndex; i < toIndex; i++) {
+      result = 31 * result + Double.hashCode(array[i]);
+    }
+    return result;
+  }
+
+  static boolean equals(double[] lhs, int lhsFromIndex, int lhsToIndex, double[] rhs, int rhsFromIndex, int rhsToIndex) {
+    checkRange(lhs.length, lhsFromIndex, lhsToIndex);
+    checkRange(rhs.length, rhsFromIndex, rhsToIndex);
+    int length = lhsToIndex - lhsFromIndex;
+    if (length != rhsToIndex - rhsFromIndex) {
+      return false;
+    }
+    for (int i = 0; i < length; i++) {
+      if (Double.doubleToLongBits(lhs[lhsFromIndex + i]) != Double.doubleToLongBits(rhs[rhsFromIndex + i])) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  static int hashCode(float[] array, int fromIndex, int toIndex) {
+    checkRange(array.length, fromIndex, toIndex);
+    int result = 1;
+    for (int i = fromIndex; i < toIndex; i++) {
+      result = 31 * result + Float.hashCode(array[i]);
+    }
+    return result;
+  }
+
+  static boolean equals(float[] lhs, int lhsFromIndex, int lhsToIndex, float[] rhs, int rhsFromIndex, int rhsToIndex) {
+    checkRange(lhs.length, lhsFromIndex, lhsToIndex);
+    checkRange(rhs.length, rhsFromIndex, rhsToIndex);
+    int length = lhsToIndex - lhsFromIndex;
+    if (length != rhsToIndex - rhsFromIndex) {
+      return false;
+    }
+    for (int i = 0; i < length; i++) {
+      if (Float.floatToIntBits(lhs[lhsFromIndex + i]) != Float.floatToIntBits(rhs[rhsFromIndex + i])) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  static int hashCode(int[] array, int fromIndex, int toIndex) {
+    checkRange(array.length, fromIndex, toIndex);
+    int result = 1;
+    for (int i = fromIndex; i < toIndex; i++) {
+      result = 31 * result + array[i];
+    }
+    return result;
+  }
+
+  static boolean equals(int[] lhs, int lhsFromIndex, int lhsToIndex, int[] rhs, int rhsFromIndex, int rhsToIndex) {
+    checkRange(lhs.length, lhsFromIndex, lhsToIndex);
+    checkRange(rhs.length, rhsFromIndex, rhsToIndex);
+    int length = lhsToIndex - lhsFromIndex;
+    if (length != rhsToIndex - rhsFromIndex) {
+      return false;
+    }
+    for (int i = 0; i < length; i++) {
+      if (lhs[lhsFromIndex + i] != rhs[rhsFromIndex + i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  static int hashCode(long[] array, int fromIndex, int toIndex) {
+    checkRange(array.length, fromIndex, toIndex);
+    int result = 1;
+    for (int i = fromIndex; i < toIndex; i++) {
+      result = 31 * result + Long.hashCode(array[i]);
+    }
+    return result;
+  }
+
+  static boolean equals(long[] lhs, int lhsFromIndex, int lhsToIndex, long[] rhs, int rhsFromIndex, int rhsToIndex) {
+    checkRange(lhs.length, lhsFromIndex, lhsToIndex);
+    checkRange(rhs.length, rhsFromIndex, rhsToIndex);
+    int length = lhsToIndex - lhsFromIndex;
+    if (length != rhsToIndex - rhsFromIndex) {
+      return false;
+    }
+    for (int i = 0; i < length; i++) {
+      if (lhs[lhsFromIndex + i] != rhs[rhsFromIndex + i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  static int hashCode(short[] array, int fromIndex, int toIndex) {
+    checkRange(array.length, fromIndex, toIndex);
+    int result = 1;
+    for (int i = fromIndex; i < toIndex; i++) {
+      result = 31 * result + array[i];
+    }
+    return result;
+  }
+
+  static boolean equals(short[] lhs, int lhsFromIndex, int lhsToIndex, short[] rhs, int rhsFromIndex, int rhsToIndex) {
+    checkRange(lhs.length, lhsFromIndex, lhsToIndex);
+    checkRange(rhs.length, rhsFromIndex, rhsToIndex);
+    int length = lhsToIndex - lhsFromIndex;
+    if (length != rhsToIndex - rhsFromIndex) {
+      return false;
+    }
+    for (int i = 0; i < length; i++) {
+      if (lhs[lhsFromIndex + i] != rhs[rhsFromIndex + i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  static int hashCode(Object[] array, int fromIndex, int toIndex) {
+    checkRange(array.length, fromIndex, toIndex);
+    int result = 1;
+    for (int i = fromIndex; i < toIndex; i++) {
+      result = 31 * result + Objects.hashCode(array[i]);
+    }
+    return result;
+  }
+
+  static boolean equals(Object[] lhs, int lhsFromIndex, int lhsToIndex, Object[] rhs, int rhsFromIndex, int rhsToIndex) {
+    checkRange(lhs.length, lhsFromIndex, lhsToIndex);
+    checkRange(rhs.length, rhsFromIndex, rhsToIndex);
+    int length = lhsToIndex - lhsFromIndex;
+    if (length != rhsToIndex - rhsFromIndex) {
+      return false;
+    }
+    for (int i = 0; i < length; i++) {
+      if (!Objects.equals(lhs[lhsFromIndex + i], rhs[rhsFromIndex + i])) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+}
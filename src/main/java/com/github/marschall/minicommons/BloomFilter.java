@@ -0,0 +1,197 @@
+package com.github.marschall.minicommons;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A Bloom filter over 64 bit hash codes.
+ *
+ * <p>A Bloom filter answers whether an element might have been added or
+ * has definitely not been added. It never gives false negatives but may
+ * give false positives with a configurable probability. It can be used
+ * to avoid expensive <code>equals</code> checks for most elements that
+ * are not present.</p>
+ *
+ * <p>Elements are described by their 64 bit hash code, usually computed
+ * with a {@link LongHashCodeBuilder} from the same fields that are used
+ * in <code>equals</code>. The indexes of the bits of an element are
+ * derived from the hash code with double hashing.</p>
+ *
+ * <pre><code>
+ * BloomFilter filter = new BloomFilter(1_000_000L, 0.01d);
+ * filter.put(new LongHashCodeBuilder()
+ *   .append(id)
+ *   .append(name)
+ *   .toLongHashCode());
+ * </code></pre>
+ *
+ * <p>The bits are stored in a <code>long[]</code> and set with
+ * compare and swap so concurrent calls to {@link #put(long)} are safe
+ * without locking. Filters with the same configuration that have been
+ * filled on different threads can be combined with
+ * {@link #merge(BloomFilter)}.</p>
+ */
+public final class BloomFilter {
+
+  private final AtomicLongArray words;
+
+  private final long bitSize;
+
+  private final int hashFunctionCount;
+
+  /**
+   * Creates a new empty Bloom filter sized for the given number of
+   * elements and false positive probability.
+   *
+   * @param expectedInsertions the number of elements expected to be
+   *        added, positive
+   * @param falsePositiveProbability the desired probability of false
+   *        positives when {@code expectedInsertions} elements have been
+   *        added, between 0 and 1 exclusive
+   * @throws IllegalArgumentException if an argument is out of range or the
+   *         filter would be too large
+   */
+  public BloomFilter(long expectedInsertions, double falsePositiveProbability) {
+    if (expectedInsertions <= 0L) {
+      throw new IllegalArgumentException("expected insertions must be positive");
+    }
+    if (!(falsePositiveProbability > 0.0d && falsePositiveProbability < 1.0d)) {
+      throw new IllegalArgumentException("false positive probability must be between 0 and 1 exclusive");
+    }
+    double ln2 = Math.log(2.0d);
+    double optimalBits = -expectedInsertions * Math.log(falsePositiveProbability) / (ln2 * ln2);
+    long wordCount = (long) Math.ceil(optimalBits / Long.SIZE);
+    if (wordCount > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException("filter too large");
+    }
+    this.words = new AtomicLongArray((int) Math.max(1L, wordCount));
+    this.bitSize = this.words.length() * (long) Long.SIZE;
+    this.hashFunctionCount = Math.max(1, (int) Math.round((double) this.bitSize / expectedInsertions * ln2));
+  }
+
+  private BloomFilter(long bitSize, int hashFunctionCount) {
+    this.words = new AtomicLongArray((int) (bitSize / Long.SIZE));
+    this.bitSize = bitSize;
+    this.hashFunctionCount = hashFunctionCount;
+  }
+
+  /**
+   * Creates a new empty Bloom filter with the same configuration as this
+   * one so that they can be merged.
+   *
+   * @return the new empty filter
+   */
+  public BloomFilter emptyCopy() {
+    return new BloomFilter(this.bitSize, this.hashFunctionCount);
+  }
+
+  /**
+   * Returns the number of bits in this filter.
+   *
+   * @return the number of bits
+   */
+  public long bitSize() {
+    return this.bitSize;
+  }
+
+  /**
+   * Returns the number of bits set for each element.
+   *
+   * @return the number of hash functions
+   */
+  public int hashFunctionCount() {
+    return this.hashFunctionCount;
+  }
+
+  /**
+   * Adds an element.
+   *
+   * <p>Safe for concurrent use.</p>
+   *
+   * @param hashCode the 64 bit hash code of the element
+   * @return {@code true} if any bit changed, meaning the element has
+   *         definitely not been added before
+   * @see LongHashCodeBuilder#toLongHashCode()
+   */
+  public boolean put(long hashCode) {
+    boolean changed = false;
+    long combined = hashCode;
+    long increment = increment(hashCode);
+    for (int i = 0; i < this.hashFunctionCount; i++) {
+      changed |= this.setBit((combined & Long.MAX_VALUE) % this.bitSize);
+      combined += increment;
+    }
+    return changed;
+  }
+
+  /**
+   * Returns whether an element might have been added.
+   *
+   * @param hashCode the 64 bit hash code of the element
+   * @return {@code false} if the element has definitely not been added,
+   *         {@code true} if the element might have been added
+   * @see LongHashCodeBuilder#toLongHashCode()
+   */
+  public boolean mightContain(long hashCode) {
+    long combined = hashCode;
+    long increment = increment(hashCode);
+    for (int i = 0; i < this.hashFunctionCount; i++) {
+      if (!this.getBit((combined & Long.MAX_VALUE) % this.bitSize)) {
+        return false;
+      }
+      combined += increment;
+    }
+    return true;
+  }
+
+  /**
+   * Adds all elements of an other filter to this filter.
+   *
+   * <p>Safe for concurrent use with {@link #put(long)}.</p>
+   *
+   * @param other the filter to merge, has to have the same configuration
+   * @throws IllegalArgumentException if the filters have a different
+   *         configuration
+   * @see #emptyCopy()
+   */
+  public void merge(BloomFilter other) {
+    if (other.bitSize != this.bitSize || other.hashFunctionCount != this.hashFunctionCount) {
+      throw new IllegalArgumentException("filters have different configurations");
+    }
+    for (int i = 0; i < this.words.length(); i++) {
+      long bits = other.words.get(i);
+      if (bits != 0L) {
+        this.orWord(i, bits);
+      }
+    }
+  }
+
+  /**
+   * Derives the second hash of double hashing, odd so that it is never
+   * zero.
+   */
+  private static long increment(long hashCode) {
+    return Long.rotateLeft(hashCode, 32) | 1L;
+  }
+
+  private boolean getBit(long bitIndex) {
+    return (this.words.get((int) (bitIndex >>> 6)) & (1L << bitIndex)) != 0L;
+  }
+
+  private boolean setBit(long bitIndex) {
+    return this.orWord((int) (bitIndex >>> 6), 1L << bitIndex);
+  }
+
+  private boolean orWord(int wordIndex, long bits) {
+    while (true) {
+      long current = this.words.get(wordIndex);
+      long updated = current | bits;
+      if (updated == current) {
+        return false;
+      }
+      if (this.words.compareAndSet(wordIndex, current, updated)) {
+        return true;
+      }
+    }
+  }
+
+}
@@ -0,0 +1,335 @@
+package com.github.marschall.minicommons;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Encodes characters directly into bytes without going through a
+ * {@link java.nio.charset.CharsetEncoder} or an intermediate
+ * <code>String</code>.
+ *
+ * <p>Supported are UTF-8 and all charsets that encode every character
+ * with a single byte, like US-ASCII, ISO-8859-1 or EBCDIC code pages
+ * such as IBM037. Single byte charsets are encoded with a lookup table.
+ * Characters that can not be encoded are rejected with an
+ * <code>IllegalArgumentException</code> rather than replaced.</p>
+ *
+ * @see StringUtils#leftPadInto(String, int, char, ByteEncoding, ByteBuffer)
+ */
+public abstract class ByteEncoding {
+
+  /**
+   * The US-ASCII encoding.
+   */
+  public static final ByteEncoding US_ASCII = new SingleByteEncoding(StandardCharsets.US_ASCII);
+
+  /**
+   * The ISO-8859-1 encoding.
+   */
+  public static final ByteEncoding ISO_8859_1 = new SingleByteEncoding(StandardCharsets.ISO_8859_1);
+
+  /**
+   * The UTF-8 encoding.
+   */
+  public static final ByteEncoding UTF_8 = new Utf8Encoding();
+
+  private final Charset charset;
+
+  ByteEncoding(Charset charset) {
+    this.charset = charset;
+  }
+
+  /**
+   * Returns the encoding for a charset.
+   *
+   * @param charset the charset, UTF-8 or a single byte charset, not
+   *        {@code null}
+   * @return the encoding
+   * @throws IllegalArgumentException if the charset is neither UTF-8 nor
+   *         a single byte charset
+   */
+  public static ByteEncoding of(Charset charset) {
+    Objects.requireNonNull(charset, "charset");
+    if (charset.equals(StandardCharsets.US_ASCII)) {
+      return US_ASCII;
+    }
+    if (charset.equals(StandardCharsets.ISO_8859_1)) {
+      return ISO_8859_1;
+    }
+    if (charset.equals(StandardCharsets.UTF_8)) {
+      return UTF_8;
+    }
+    if (!charset.canEncode() || charset.newEncoder().maxBytesPerChar() != 1.0f) {
+      throw new IllegalArgumentException("not a single byte charset: " + charset);
+    }
+    return new SingleByteEncoding(charset);
+  }
+
+  /**
+   * Returns the charset of this encoding.
+   *
+   * @return the charset
+   */
+  public Charset charset() {
+    return this.charset;
+  }
+
+  /**
+   * Returns whether every character is encoded with exactly one byte.
+   *
+   * @return {@code true} for single byte charsets
+   */
+  public abstract boolean isSingleByte();
+
+  /**
+   * Returns the number of bytes of a character that is not a surrogate.
+   *
+   * @throws IllegalArgumentException if the character can not be encoded
+   */
+  abstract int encodedLength(char c);
+
+  /**
+   * Returns the number of bytes of a character sequence.
+   *
+   * @throws IllegalArgumentException if a character can not be encoded
+   */
+  abstract int encodedLength(CharSequence s);
+
+  /**
+   * Returns the byte of an ASCII digit or sign, which is a single byte in
+   * all supported encodings.
+   */
+  abstract byte asciiByte(char c);
+
+  /**
+   * Encodes a character that is not a surrogate at the position of the
+   * buffer.
+   */
+  abstract void encode(char c, ByteBuffer target);
+
+  /**
+   * Encodes a character sequence at the position of the buffer.
+   */
+  abstract void encode(CharSequence s, ByteBuffer target);
+
+  /**
+   * Encodes a character that is not a surrogate repeatedly at the position
+   * of the buffer.
+   */
+  void encodeRepeated(char c, int count, ByteBuffer target) {
+    for (int i = 0; i < count; i++) {
+      this.encode(c, target);
+    }
+  }
+
+  @Override
+  public String toString() {
+    return this.getClass().getSimpleName() + "[" + this.charset.name() + "]";
+  }
+
+  static IllegalArgumentException unmappable(char c, Charset charset) {
+    return new IllegalArgumentException("character U+" + Integer.toHexString(c) + " can not be encoded in " + charset);
+  }
+
+  /**
+   * Encodes single byte charsets with a two level table indexed by the high
+   * and the low byte of a character.
+   */
+  static final class SingleByteEncoding extends ByteEncoding {
+
+    private static final short UNMAPPED = -1;
+
+    /**
+     * The byte value of every character or {@link #UNMAPPED}, pages without
+     * any mapped characters are {@code null}.
+     */
+    private final short[][] pages;
+
+    /**
+     * The character of every byte value.
+     */
+    private final char[] chars;
+
+    SingleByteEncoding(Charset charset) {
+      super(charset);
+      this.pages = new short[256][];
+      this.chars = new char[256];
+      Arrays.fill(this.chars, '\uFFFD');
+      CharsetDecoder decoder = charset.newDecoder()
+              .onMalformedInput(CodingErrorAction.REPORT)
+              .onUnmappableCharacter(CodingErrorAction.REPORT);
+      for (int b = 0; b < 256; b++) {
+        CharBuffer decoded;
+        try {
+          decoded = decoder.reset().decode(ByteBuffer.wrap(new byte[] {(byte) b}));
+        } catch (CharacterCodingException e) {
+          // byte not used by the charset
+          continue;
+        }
+        if (decoded.remaining() == 1) {
+          char c = decoded.get();
+          this.chars[b] = c;
+          short[] page = this.pages[c >>> 8];
+          if (page == null) {
+            page = new short[256];
+            Arrays.fill(page, UNMAPPED);
+            this.pages[c >>> 8] = page;
+          }
+          if (page[c & 0xFF] == UNMAPPED) {
+            page[c & 0xFF] = (short) b;
+          }
+        }
+      }
+    }
+
+    @Override
+    public boolean isSingleByte() {
+      return true;
+    }
+
+    private byte byteOf(char c) {
+      short[] page = this.pages[c >>> 8];
+      short value = page == null ? UNMAPPED : page[c & 0xFF];
+      if (value == UNMAPPED) {
+        throw unmappable(c, this.charset());
+      }
+      return (byte) value;
+    }
+
+    @Override
+    int encodedLength(char c) {
+      this.byteOf(c);
+      return 1;
+    }
+
+    @Override
+    int encodedLength(CharSequence s) {
+      int length = s.length();
+      for (int i = 0; i < length; i++) {
+        this.byteOf(s.charAt(i));
+      }
+      return length;
+    }
+
+    @Override
+    byte asciiByte(char c) {
+      return this.byteOf(c);
+    }
+
+    /**
+     * Decodes a byte, bytes not used by the charset decode to U+FFFD.
+     */
+    char decode(byte b) {
+      return this.chars[b & 0xFF];
+    }
+
+    @Override
+    void encode(char c, ByteBuffer target) {
+      target.put(this.byteOf(c));
+    }
+
+    @Override
+    void encode(CharSequence s, ByteBuffer target) {
+      int length = s.length();
+      for (int i = 0; i < length; i++) {
+        target.put(this.byteOf(s.charAt(i)));
+      }
+    }
+
+    @Override
+    void encodeRepeated(char c, int count, ByteBuffer target) {
+      byte b = this.byteOf(c);
+      for (int i = 0; i < count; i++) {
+        target.put(b);
+      }
+    }
+
+  }
+
+  private static final class Utf8Encoding extends ByteEncoding {
+
+    Utf8Encoding() {
+      super(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public boolean isSingleByte() {
+      return false;
+    }
+
+    @Override
+    int encodedLength(char c) {
+      if (c < 0x80) {
+        return 1;
+      } else if (c < 0x800) {
+        return 2;
+      } else if (Character.isSurrogate(c)) {
+        throw unmappable(c, this.charset());
+      } else {
+        return 3;
+      }
+    }
+
+    @Override
+    int encodedLength(CharSequence s) {
+      int encodedLength = 0;
+      int length = s.length();
+      for (int i = 0; i < length; i++) {
+        char c = s.charAt(i);
+        if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(s.charAt(i + 1))) {
+          encodedLength += 4;
+          i += 1;
+        } else {
+          encodedLength += this.encodedLength(c);
+        }
+      }
+      return encodedLength;
+    }
+
+    @Override
+    byte asciiByte(char c) {
+      return (byte) c;
+    }
+
+    @Override
+    void encode(char c, ByteBuffer target) {
+      if (c < 0x80) {
+        target.put((byte) c);
+      } else if (c < 0x800) {
+        target.put((byte) (0xC0 | (c >>> 6)));
+        target.put((byte) (0x80 | (c & 0x3F)));
+      } else {
+        target.put((byte) (0xE0 | (c >>> 12)));
+        target.put((byte) (0x80 | ((c >>> 6) & 0x3F)));
+        target.put((byte) (0x80 | (c & 0x3F)));
+      }
+    }
+
+    @Override
+    void encode(CharSequence s, ByteBuffer target) {
+      int length = s.length();
+      for (int i = 0; i < length; i++) {
+        char c = s.charAt(i);
+        if (Character.isHighSurrogate(c)) {
+          int codePoint = Character.toCodePoint(c, s.charAt(i + 1));
+          target.put((byte) (0xF0 | (codePoint >>> 18)));
+          target.put((byte) (0x80 | ((codePoint >>> 12) & 0x3F)));
+          target.put((byte) (0x80 | ((codePoint >>> 6) & 0x3F)));
+          target.put((byte) (0x80 | (codePoint & 0x3F)));
+          i += 1;
+        } else {
+          this.encode(c, target);
+        }
+      }
+    }
+
+  }
+
+}
@@ -0,0 +1,163 @@
+package com.github.marschall.minicommons;
+
+/**
+ * Content based hashing and equality of {@link CharSequence}s that does
+ * not require calling {@link CharSequence#toString()}.
+ */
+final class CharSequences {
+
+  /**
+   * Case folded versions of all Latin-1 characters.
+   */
+  private static final char[] LATIN1_FOLDED;
+
+  static {
+    LATIN1_FOLDED = new char[256];
+    for (int i = 0; i < LATIN1_FOLDED.length; i++) {
+      LATIN1_FOLDED[i] = foldCaseSlow((char) i);
+    }
+  }
+
+  private CharSequences() {
+    throw new AssertionError("not instantiable");
+  }
+
+  /**
+   * Computes the hash code of the characters of a {@link CharSequence}
+   * exactly like {@link String#hashCode()} does.
+   *
+   * @param value the characters to hash, may be {@code null}
+   * @return the hash code, {@code 0} for {@code null}
+   */
+  static int hashCode(CharSequence value) {
+    if (value == null) {
+      return 0;
+    }
+    if (value instanceof String) {
+      // cached
+      return value.hashCode();
+    }
+    int hash = 0;
+    int length = value.length();
+    for (int i = 0; i < length; i++) {
+      hash = 31 * hash + value.charAt(i);
+    }
+    return hash;
+  }
+
+  static int hashCode(char[] array, int fromIndex, int toIndex) {
+    ArrayRanges.checkRange(array.length, fromIndex, toIndex);
+    int hash = 0;
+    for (int i = fromIndex; i < toIndex; i++) {
+      hash = 31 * hash + array[i];
+    }
+    return hash;
+  }
+
+  static boolean contentEquals(CharSequence lhs, CharSequence rhs) {
+    if (lhs == rhs) {
+      return true;
+    }
+    if (lhs == null || rhs == null) {
+      return false;
+    }
+    if (lhs instanceof String && rhs instanceof String) {
+      return lhs.equals(rhs);
+    }
+    int length = lhs.length();
+    if (length != rhs.length()) {
+      return false;
+    }
+    for (int i = 0; i < length; i++) {
+      if (lhs.charAt(i) != rhs.charAt(i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  static boolean contentEquals(CharSequence lhs, char[] rhs, int fromIndex, int toIndex) {
+    ArrayRanges.checkRange(rhs.length, fromIndex, toIndex);
+    if (lhs == null) {
+      return false;
+    }
+    int length = lhs.length();
+    if (length != toIndex - fromIndex) {
+      return false;
+    }
+    for (int i = 0; i < length; i++) {
+      if (lhs.charAt(i) != rhs[fromIndex + i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Folds the case of a character.
+   *
+   * <p>Two characters are equal ignoring case, that is they are the same
+   * or their upper or lower case variants are the same, if and only if
+   * their folded characters are equal.</p>
+   *
+   * @param c the character to fold
+   * @return the folded character
+   */
+  static char foldCase(char c) {
+    if (c < LATIN1_FOLDED.length) {
+      return LATIN1_FOLDED[c];
+    }
+    return foldCaseSlow(c);
+  }
+
+  private static char foldCaseSlow(char c) {
+    return Character.toLowerCase(Character.toUpperCase(c));
+  }
+
+  /**
+   * Computes a case insensitive hash code of the characters of a
+   * {@link CharSequence}.
+   *
+   * <p>Uses the same algorithm as {@link String#hashCode()} but on the
+   * case folded characters.</p>
+   *
+   * @param value the characters to hash, may be {@code null}
+   * @return the hash code, {@code 0} for {@code null}
+   * @see #foldCase(char)
+   */
+  static int hashCodeIgnoreCase(CharSequence value) {
+    if (value == null) {
+      return 0;
+    }
+    int hash = 0;
+    int length = value.length();
+    for (int i = 0; i < length; i++) {
+      hash = 31 * hash + foldCase(value.charAt(i));
+    }
+    return hash;
+  }
+
+  static boolean contentEqualsIgnoreCase(CharSequence lhs, CharSequence rhs) {
+    if (lhs == rhs) {
+      return true;
+    }
+    if (lhs == null || rhs == null) {
+      return false;
+    }
+    // String#equalsIgnoreCase folds code points on newer JDKs, we fold chars
+    // to stay consistent with #hashCodeIgnoreCase
+    int length = lhs.length();
+    if (length != rhs.length()) {
+      return false;
+    }
+    for (int i = 0; i < length; i++) {
+      char l = lhs.charAt(i);
+      char r = rhs.charAt(i);
+      if (l != r && foldCase(l) != foldCase(r)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+}
@@ -0,0 +1,327 @@
+package com.github.marschall.minicommons;
+
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * A hash map with keys made up of two or three fields that can be looked
+ * up with the field values directly, without creating a key object.
+ *
+ * <p>The fields of a key are read with accessor functions. Hash codes are
+ * computed from the field values with the algorithm of
+ * {@link HashCodeBuilder#append(Object)} and field values are compared
+ * with {@link Objects#equals(Object, Object)} like
+ * {@link EqualsBuilder#append(Object, Object)} does. Array fields are
+ * therefore compared by identity, not by content. A key class
+ * implementing <code>equals</code> and <code>hashCode</code> with these
+ * builder methods over the same fields in the same order therefore
+ * behaves the same as in a {@link java.util.HashMap}.</p>
+ *
+ * <pre><code>
+ * CompositeKeyMap&lt;Model, Row&gt; rows = CompositeKeyMap.of(Model::getId, Model::getName);
+ * rows.put(new Model(1L, "name"), row);
+ * Row row = rows.get(1L, "name");
+ * </code></pre>
+ *
+ * <p>The map uses open addressing with linear probing, the cached hash
+ * codes of the keys are stored in a parallel array. This class is not
+ * thread safe.</p>
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ */
+public final class CompositeKeyMap<K, V> {
+
+  private final Function<? super K, ?>[] fields;
+
+  private final OpenAddressingTable table;
+
+  private CompositeKeyMap(Function<? super K, ?>[] fields) {
+    this.fields = fields;
+    this.table = new OpenAddressingTable();
+  }
+
+  /**
+   * Creates a new empty map with keys made up of two fields.
+   *
+   * @param <K> the type of the keys
+   * @param <V> the type of the values
+   * @param first the accessor of the first field, not {@code null}
+   * @param second the accessor of the second field, not {@code null}
+   * @return the new map
+   */
+  public static <K, V> CompositeKeyMap<K, V> of(Function<? super K, ?> first, Function<? super K, ?> second) {
+    Objects.requireNonNull(first, "first");
+    Objects.requireNonNull(second, "second");
+    Function<? super K, ?>[] fields = newFields(2);
+    fields[0] = first;
+    fields[1] = second;
+    return new CompositeKeyMap<>(fields);
+  }
+
+  /**
+   * Creates a new empty map with keys made up of three fields.
+   *
+   * @param <K> the type of the keys
+   * @param <V> the type of the values
+   * @param first the accessor of the first field, not {@code null}
+   * @param second the accessor of the second field, not {@code null}
+   * @param third the accessor of the third field, not {@code null}
+   * @return the new map
+   */
+  public static <K, V> CompositeKeyMap<K, V> of(Function<? super K, ?> first, Function<? super K, ?> second,
+          Function<? super K, ?> third) {
+    Objects.requireNonNull(first, "first");
+    Objects.requireNonNull(second, "second");
+    Objects.requireNonNull(third, "third");
+    Function<? super K, ?>[] fields = newFields(3);
+    fields[0] = first;
+    fields[1] = second;
+    fields[2] = third;
+    return new CompositeKeyMap<>(fields);
+  }
+
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  private static <K> Function<? super K, ?>[] newFields(int length) {
+    return new Function[length];
+  }
+
+  /**
+   * Returns the number of mappings.
+   *
+   * @return the number of mappings
+   */
+  public int size() {
+    return this.table.size;
+  }
+
+  /**
+   * Returns whether there are no mappings.
+   *
+   * @return {@code true} if there are no mappings
+   */
+  public boolean isEmpty() {
+    return this.table.size == 0;
+  }
+
+  /**
+   * Returns the value mapped to a key.
+   *
+   * @param key the key, not {@code null}
+   * @return the value or {@code null} if there is no mapping for the key
+   */
+  public V get(K key) {
+    Object first = this.fields[0].apply(key);
+    Object second = this.fields[1].apply(key);
+    Object third = this.fields.length == 3 ? this.fields[2].apply(key) : null;
+    return this.valueAt(this.find(false, 0L, first, second, third));
+  }
+
+  /**
+   * Returns the value mapped to the key with the given field values.
+   *
+   * @param first the value of the first field, may be {@code null}
+   * @param second the value of the second field, may be {@code null}
+   * @return the value or {@code null} if there is no mapping for the key
+   * @throws IllegalStateException if the keys of this map are not made up of two fields
+   */
+  public V get(Object first, Object second) {
+    this.checkArity(2);
+    return this.valueAt(this.find(false, 0L, first, second, null));
+  }
+
+  /**
+   * Returns the value mapped to the key with the given field values.
+   *
+   * <p>The first field has to be a {@link Long}, the value is compared
+   * without boxing.</p>
+   *
+   * @param first the value of the first field
+   * @param second the value of the second field, may be {@code null}
+   * @return the value or {@code null} if there is no mapping for the key
+   * @throws IllegalStateException if the keys of this map are not made up of two fields
+   */
+  public V get(long first, Object second) {
+    this.checkArity(2);
+    return this.valueAt(this.find(true, first, null, second, null));
+  }
+
+  /**
+   * Returns the value mapped to the key with the given field values.
+   *
+   * @param first the value of the first field, may be {@code null}
+   * @param second the value of the second field, may be {@code null}
+   * @param third the value of the third field, may be {@code null}
+   * @return the value or {@code null} if there is no mapping for the key
+   * @throws IllegalStateException if the keys of this map are not made up of three fields
+   */
+  public V get(Object first, Object second, Object third) {
+    this.checkArity(3);
+    return this.valueAt(this.find(false, 0L, first, second, third));
+  }
+
+  /**
+   * Returns the value mapped to the key with the given field values.
+   *
+   * <p>The first field has to be a {@link Long}, the value is compared
+   * without boxing.</p>
+   *
+   * @param first the value of the first field
+   * @param second the value of the second field, may be {@code null}
+   * @param third the value of the third field, may be {@code null}
+   * @return the value or {@code null} if there is no mapping for the key
+   * @throws IllegalStateException if the keys of this map are not made up of three fields
+   */
+  public V get(long first, Object second, Object third) {
+    this.checkArity(3);
+    return this.valueAt(this.find(true, first, null, second, third));
+  }
+
+  /**
+   * Returns whether there is a mapping for a key.
+   *
+   * @param key the key, not {@code null}
+   * @return {@code true} if there is a mapping for the key
+   */
+  public boolean containsKey(K key) {
+    Object first = this.fields[0].apply(key);
+    Object second = this.fields[1].apply(key);
+    Object third = this.fields.length == 3 ? this.fields[2].apply(key) : null;
+    return this.find(false, 0L, first, second, third) >= 0;
+  }
+
+  /**
+   * Maps a key to a value.
+   *
+   * <p>The fields of the key must not change afterwards.</p>
+   *
+   * @param key the key, not {@code null}
+   * @param value the value, may be {@code null}
+   * @return the previous value or {@code null} if there was no mapping
+   */
+  @SuppressWarnings("unchecked")
+  public V put(K key, V value) {
+    Objects.requireNonNull(key, "key");
+    Object first = this.fields[0].apply(key);
+    Object second = this.fields[1].apply(key);
+    Object third = this.fields.length == 3 ? this.fields[2].apply(key) : null;
+    int hash = this.hash(false, 0L, first, second, third);
+    int slot = this.find(hash, false, 0L, first, second, third);
+    if (slot >= 0) {
+      V previous = (V) this.table.values[slot];
+      this.table.values[slot] = value;
+      return previous;
+    }
+    // the free slot at which the search stopped
+    this.table.insert(-(slot + 1), key, value, hash);
+    return null;
+  }
+
+  /**
+   * Removes the mapping for a key.
+   *
+   * @param key the key, not {@code null}
+   * @return the removed value or {@code null} if there was no mapping
+   */
+  public V remove(K key) {
+    Object first = this.fields[0].apply(key);
+    Object second = this.fields[1].apply(key);
+    Object third = this.fields.length == 3 ? this.fields[2].apply(key) : null;
+    int slot = this.find(false, 0L, first, second, third);
+    if (slot < 0) {
+      return null;
+    }
+    V previous = this.valueAt(slot);
+    this.table.removeSlot(slot);
+    return previous;
+  }
+
+  /**
+   * Removes all mappings.
+   */
+  public void clear() {
+    this.table.clear();
+  }
+
+  /**
+   * Performs the given action for each mapping.
+   *
+   * <p>The order is unspecified.</p>
+   *
+   * @param action the action to perform, not {@code null}
+   */
+  public void forEach(BiConsumer<? super K, ? super V> action) {
+    this.table.forEach(action);
+  }
+
+  private void checkArity(int arity) {
+    if (this.fields.length != arity) {
+      throw new IllegalStateException("keys have " + this.fields.length + " fields but " + arity + " were given");
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private V valueAt(int slot) {
+    if (slot < 0) {
+      return null;
+    }
+    return (V) this.table.values[slot];
+  }
+
+  /**
+   * Computes the same hash code as {@link HashCodeBuilder} appending the
+   * field values.
+   */
+  private int hash(boolean longFirst, long firstLong, Object first, Object second, Object third) {
+    int total = HashCodeBuilder.INITIAL_TOTAL;
+    total = total * HashCodeBuilder.MULTPLIER + (longFirst ? Long.hashCode(firstLong) : Objects.hashCode(first));
+    total = total * HashCodeBuilder.MULTPLIER + Objects.hashCode(second);
+    if (this.fields.length == 3) {
+      total = total * HashCodeBuilder.MULTPLIER + Objects.hashCode(third);
+    }
+    return total;
+  }
+
+  @SuppressWarnings("unchecked")
+  private boolean matches(Object key, boolean longFirst, long firstLong, Object first, Object second, Object third) {
+    K k = (K) key;
+    Object value = this.fields[0].apply(k);
+    if (longFirst) {
+      if (!(value instanceof Long) || ((Long) value).longValue() != firstLong) {
+        return false;
+      }
+    } else if (!Objects.equals(value, first)) {
+      return false;
+    }
+    if (!Objects.equals(this.fields[1].apply(k), second)) {
+      return false;
+    }
+    return this.fields.length == 2 || Objects.equals(this.fields[2].apply(k), third);
+  }
+
+  /**
+   * Returns the slot of the key or <code>-(free slot + 1)</code> if the
+   * key is absent.
+   */
+  private int find(boolean longFirst, long firstLong, Object first, Object second, Object third) {
+    return this.find(this.hash(longFirst, firstLong, first, second, third), longFirst, firstLong, first, second, third);
+  }
+
+  private int find(int hash, boolean longFirst, long firstLong, Object first, Object second, Object third) {
+    Object[] k = this.table.keys;
+    int mask = k.length - 1;
+    int slot = this.table.homeSlot(hash);
+    while (true) {
+      Object key = k[slot];
+      if (key == null) {
+        return -(slot + 1);
+      }
+      if (this.table.hashes[slot] == hash && this.matches(key, longFirst, firstLong, first, second, third)) {
+        return slot;
+      }
+      slot = (slot + 1) & mask;
+    }
+  }
+
+}
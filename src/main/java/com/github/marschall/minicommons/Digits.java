@@ -0,0 +1,403 @@
+package com.github.marschall.minicommons;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Formats <code>int</code> and <code>long</code> values as decimal digits
+ * directly into a target buffer.
+ *
+ * <p>The number of digits is computed in constant time from the number of
+ * significant bits, digits are written two at a time from lookup
+ * tables.</p>
+ */
+final class Digits {
+
+  /**
+   * Powers of ten, except for index 0 which is 0 so that all values below
+   * 10 have one digit.
+   */
+  private static final long[] POWERS_OF_TEN;
+
+  /**
+   * Tens digit of the numbers from 0 to 99.
+   */
+  private static final char[] DIGIT_TENS;
+
+  /**
+   * Ones digit of the numbers from 0 to 99.
+   */
+  private static final char[] DIGIT_ONES;
+
+  static {
+    POWERS_OF_TEN = new long[19];
+    long power = 1L;
+    for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+      power *= 10L;
+      POWERS_OF_TEN[i] = power;
+    }
+    DIGIT_TENS = new char[100];
+    DIGIT_ONES = new char[100];
+    for (int i = 0; i < 100; i++) {
+      DIGIT_TENS[i] = (char) ('0' + i / 10);
+      DIGIT_ONES[i] = (char) ('0' + i % 10);
+    }
+  }
+
+  private Digits() {
+    throw new AssertionError("not instantiable");
+  }
+
+  /**
+   * Returns the number of decimal digits of a non-negative value.
+   */
+  static int digitCount(long value) {
+    // log10(2) is about 1233 / 4096
+    int estimate = ((Long.SIZE - Long.numberOfLeadingZeros(value | 1L)) * 1233) >>> 12;
+    return value < POWERS_OF_TEN[estimate] ? estimate : estimate + 1;
+  }
+
+  /**
+   * Returns the length of the decimal representation including the sign.
+   *
+   * @param value the value
+   * @return the same as <code>Integer.toString(value).length()</code>
+   */
+  static int stringLength(int value) {
+    if (value < 0) {
+      return 1 + digitCount(-(long) value);
+    }
+    return digitCount(value);
+  }
+
+  /**
+   * Returns the length of the decimal representation including the sign.
+   *
+   * @param value the value
+   * @return the same as <code>Long.toString(value).length()</code>
+   */
+  static int stringLength(long value) {
+    if (value < 0L) {
+      if (value == Long.MIN_VALUE) {
+        return 20;
+      }
+      return 1 + digitCount(-value);
+    }
+    return digitCount(value);
+  }
+
+  /**
+   * Returns the length of a left padded value.
+   */
+  static int paddedLength(int value, int size) {
+    return Math.max(size, stringLength(value));
+  }
+
+  /**
+   * Returns the length of a left padded value.
+   */
+  static int paddedLength(long value, int size) {
+    return Math.max(size, stringLength(value));
+  }
+
+  /**
+   * Writes a left padded value, the sign of negative values comes before
+   * the padding.
+   *
+   * <p>The target has to have room for {@link #paddedLength(int, int)}
+   * characters.</p>
+   *
+   * @return the position after the last written character
+   */
+  static int leftPad(int value, int size, char padChar, char[] target, int offset) {
+    int end = offset + paddedLength(value, size);
+    int start = writeDigits(value, end, target);
+    int padStart = offset;
+    if (value < 0) {
+      target[offset] = '-';
+      padStart += 1;
+    }
+    for (int i = padStart; i < start; i++) {
+      target[i] = padChar;
+    }
+    return end;
+  }
+
+  /**
+   * Writes a left padded value, the sign of negative values comes before
+   * the padding.
+   *
+   * <p>The target has to have room for {@link #paddedLength(long, int)}
+   * characters.</p>
+   *
+   * @return the position after the last written character
+   */
+  static int leftPad(long value, int size, char padChar, char[] target, int offset) {
+    int end = offset + paddedLength(value, size);
+    int start = writeDigits(value, end, target);
+    int padStart = offset;
+    if (value < 0L) {
+      target[offset] = '-';
+      padStart += 1;
+    }
+    for (int i = padStart; i < start; i++) {
+      target[i] = padChar;
+    }
+    return end;
+  }
+
+  /**
+   * Writes a left padded value as ISO-8859-1 bytes, the sign of negative
+   * values comes before the padding.
+   *
+   * <p>The target has to have room for {@link #paddedLength(int, int)}
+   * bytes, the pad character has to be Latin-1.</p>
+   *
+   * @return the position after the last written byte
+   */
+  static int leftPad(int value, int size, char padChar, byte[] target, int offset) {
+    int end = offset + paddedLength(value, size);
+    int start = writeDigits(value, end, target);
+    int padStart = offset;
+    if (value < 0) {
+      target[offset] = '-';
+      padStart += 1;
+    }
+    for (int i = padStart; i < start; i++) {
+      target[i] = (byte) padChar;
+    }
+    return end;
+  }
+
+  /**
+   * Writes a left padded value as ISO-8859-1 bytes, the sign of negative
+   * values comes before the padding.
+   *
+   * <p>The target has to have room for {@link #paddedLength(long, int)}
+   * bytes, the pad character has to be Latin-1.</p>
+   *
+   * @return the position after the last written byte
+   */
+  static int leftPad(long value, int size, char padChar, byte[] target, int offset) {
+    int end = offset + paddedLength(value, size);
+    int start = writeDigits(value, end, target);
+    int padStart = offset;
+    if (value < 0L) {
+      target[offset] = '-';
+      padStart += 1;
+    }
+    for (int i = padStart; i < start; i++) {
+      target[i] = (byte) padChar;
+    }
+    return end;
+  }
+
+  /**
+   * Appends a left padded value, the sign of negative values comes before
+   * the padding.
+   *
+   * <p>The digits are written directly into the builder, nothing is
+   * allocated unless the builder has to grow.</p>
+   */
+  static void leftPad(int value, int size, char padChar, StringBuilder target) {
+    int length = stringLength(value);
+    int start = appendSignAndPadding(value < 0, length, size, padChar, target);
+    int end = start + (value < 0 ? length - 1 : length);
+    target.setLength(end);
+    writeNegativeDigits(value < 0 ? value : -value, end, target);
+  }
+
+  /**
+   * Appends a left padded value, the sign of negative values comes before
+   * the padding.
+   *
+   * <p>The digits are written directly into the builder, nothing is
+   * allocated unless the builder has to grow.</p>
+   */
+  static void leftPad(long value, int size, char padChar, StringBuilder target) {
+    int length = stringLength(value);
+    int start = appendSignAndPadding(value < 0L, length, size, padChar, target);
+    int end = start + (value < 0L ? length - 1 : length);
+    target.setLength(end);
+    writeDigits(value, end, target);
+  }
+
+  /**
+   * Appends the sign and the padding of a value with the given string
+   * length.
+   *
+   * @return the position of the first digit
+   */
+  private static int appendSignAndPadding(boolean negative, int length, int size, char padChar, StringBuilder target) {
+    target.ensureCapacity(target.length() + Math.max(size, length));
+    if (negative) {
+      target.append('-');
+    }
+    for (int i = length; i < size; i++) {
+      target.append(padChar);
+    }
+    return target.length();
+  }
+
+  /**
+   * Writes the digits of the absolute value backwards ending before
+   * {@code end}.
+   *
+   * @return the position of the first digit
+   */
+  static int writeDigits(long value, int end, char[] target) {
+    // work on negative values, they have a larger range
+    long negative = value < 0L ? value : -value;
+    int position = end;
+    while (negative < Integer.MIN_VALUE) {
+      long quotient = negative / 100L;
+      int remainder = (int) ((quotient * 100L) - negative);
+      negative = quotient;
+      target[--position] = DIGIT_ONES[remainder];
+      target[--position] = DIGIT_TENS[remainder];
+    }
+    return writeNegativeDigits((int) negative, position, target);
+  }
+
+  /**
+   * Writes the digits of the absolute value backwards ending before
+   * {@code end}.
+   *
+   * @return the position of the first digit
+   */
+  static int writeDigits(int value, int end, char[] target) {
+    return writeNegativeDigits(value < 0 ? value : -value, end, target);
+  }
+
+  private static int writeNegativeDigits(int negative, int end, char[] target) {
+    int n = negative;
+    int position = end;
+    while (n <= -100) {
+      int quotient = n / 100;
+      int remainder = (quotient * 100) - n;
+      n = quotient;
+      target[--position] = DIGIT_ONES[remainder];
+      target[--position] = DIGIT_TENS[remainder];
+    }
+    if (n <= -10) {
+      target[--position] = DIGIT_ONES[-n];
+      target[--position] = DIGIT_TENS[-n];
+    } else {
+      target[--position] = (char) ('0' - n);
+    }
+    return position;
+  }
+
+  /**
+   * Writes the digits of the absolute value backwards ending before
+   * {@code end} into characters already in the builder.
+   *
+   * @return the position of the first digit
+   */
+  static int writeDigits(long value, int end, StringBuilder target) {
+    long negative = value < 0L ? value : -value;
+    int position = end;
+    while (negative < Integer.MIN_VALUE) {
+      long quotient = negative / 100L;
+      int remainder = (int) ((quotient * 100L) - negative);
+      negative = quotient;
+      target.setCharAt(--position, DIGIT_ONES[remainder]);
+      target.setCharAt(--position, DIGIT_TENS[remainder]);
+    }
+    return writeNegativeDigits((int) negative, position, target);
+  }
+
+  private static int writeNegativeDigits(int negative, int end, StringBuilder target) {
+    int n = negative;
+    int position = end;
+    while (n <= -100) {
+      int quotient = n / 100;
+      int remainder = (quotient * 100) - n;
+      n = quotient;
+      target.setCharAt(--position, DIGIT_ONES[remainder]);
+      target.setCharAt(--position, DIGIT_TENS[remainder]);
+    }
+    if (n <= -10) {
+      target.setCharAt(--position, DIGIT_ONES[-n]);
+      target.setCharAt(--position, DIGIT_TENS[-n]);
+    } else {
+      target.setCharAt(--position, (char) ('0' - n));
+    }
+    return position;
+  }
+
+  /**
+   * Writes the digits of the absolute value as ISO-8859-1 bytes backwards
+   * ending before {@code end}.
+   *
+   * @return the position of the first digit
+   */
+  static int writeDigits(long value, int end, byte[] target) {
+    long negative = value < 0L ? value : -value;
+    int position = end;
+    while (negative < Integer.MIN_VALUE) {
+      long quotient = negative / 100L;
+      int remainder = (int) ((quotient * 100L) - negative);
+      negative = quotient;
+      target[--position] = (byte) DIGIT_ONES[remainder];
+      target[--position] = (byte) DIGIT_TENS[remainder];
+    }
+    return writeNegativeDigits((int) negative, position, target);
+  }
+
+  /**
+   * Writes the digits of the absolute value as ISO-8859-1 bytes backwards
+   * ending before {@code end}.
+   *
+   * @return the position of the first digit
+   */
+  static int writeDigits(int value, int end, byte[] target) {
+    return writeNegativeDigits(value < 0 ? value : -value, end, target);
+  }
+
+  private static int writeNegativeDigits(int negative, int end, byte[] target) {
+    int n = negative;
+    int position = end;
+    while (n <= -100) {
+      int quotient = n / 100;
+      int remainder = (quotient * 100) - n;
+      n = quotient;
+      target[--position] = (byte) DIGIT_ONES[remainder];
+      target[--position] = (byte) DIGIT_TENS[remainder];
+    }
+    if (n <= -10) {
+      target[--position] = (byte) DIGIT_ONES[-n];
+      target[--position] = (byte) DIGIT_TENS[-n];
+    } else {
+      target[--position] = (byte) ('0' - n);
+    }
+    return position;
+  }
+
+  /**
+   * Writes the digits of the absolute value with absolute puts backwards
+   * ending before {@code end}, translating ASCII digits with the given
+   * encoding.
+   *
+   * @return the position of the first digit
+   */
+  static int writeDigits(long value, int end, ByteBuffer target, ByteEncoding encoding) {
+    long negative = value < 0L ? value : -value;
+    int position = end;
+    while (negative <= -100L) {
+      long quotient = negative / 100L;
+      int remainder = (int) ((quotient * 100L) - negative);
+      negative = quotient;
+      target.put(--position, encoding.asciiByte(DIGIT_ONES[remainder]));
+      target.put(--position, encoding.asciiByte(DIGIT_TENS[remainder]));
+    }
+    int n = (int) negative;
+    if (n <= -10) {
+      target.put(--position, encoding.asciiByte(DIGIT_ONES[-n]));
+      target.put(--position, encoding.asciiByte(DIGIT_TENS[-n]));
+    } else {
+      target.put(--position, encoding.asciiByte((char) ('0' - n)));
+    }
+    return position;
+  }
+
+}
@@ -1,5 +1,8 @@
 package com.github.marschall.minicommons;
 
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.Objects;
 
@@ -258,6 +261,31 @@ public final class EqualsBuilder {
     return this;
   }
 
+  /**
+   * <p>Performs a one level comparison of two <code>Object</code> array
+   * ranges.</p>
+   *
+   * <p>The result is the same as comparing the results of
+   * <code>Arrays.copyOfRange</code> but nothing is copied.</p>
+   *
+   * @param lhs  the left hand <code>Object[]</code>, not {@code null}
+   * @param lhsFromIndex  the index of the first left hand element (inclusive)
+   * @param lhsToIndex  the index of the last left hand element (exclusive)
+   * @param rhs  the right hand <code>Object[]</code>, not {@code null}
+   * @param rhsFromIndex  the index of the first right hand element (inclusive)
+   * @param rhsToIndex  the index of the last right hand element (exclusive)
+   * @return EqualsBuilder - used to chain calls
+   * @throws IllegalArgumentException if a from index is larger than its to index
+   * @throws ArrayIndexOutOfBoundsException if a range is outside of its array
+   */
+  public EqualsBuilder append(Object[] lhs, int lhsFromIndex, int lhsToIndex, Object[] rhs, int rhsFromIndex, int rhsToIndex) {
+    if (isEquals == false) {
+      return this;
+    }
+    isEquals = ArrayRanges.equals(lhs, lhsFromIndex, lhsToIndex, rhs, rhsFromIndex, rhsToIndex);
+    return this;
+  }
+
   /**
    * Performs a deep comparison of two <code>Object</code> arrays.
    *
@@ -294,6 +322,31 @@ public final class EqualsBuilder {
     return this;
   }
 
+  /**
+   * <p>Deep comparison of two ranges of arrays of <code>long</code>.
+   * Length and all values of the ranges are compared.</p>
+   *
+   * <p>The result is the same as comparing the results of
+   * <code>Arrays.copyOfRange</code> but nothing is copied.</p>
+   *
+   * @param lhs  the left hand <code>long[]</code>, not {@code null}
+   * @param lhsFromIndex  the index of the first left hand element (inclusive)
+   * @param lhsToIndex  the index of the last left hand element (exclusive)
+   * @param rhs  the right hand <code>long[]</code>, not {@code null}
+   * @param rhsFromIndex  the index of the first right hand element (inclusive)
+   * @param rhsToIndex  the index of the last right hand element (exclusive)
+   * @return EqualsBuilder - used to chain calls
+   * @throws IllegalArgumentException if a from index is larger than its to index
+   * @throws ArrayIndexOutOfBoundsException if a range is outside of its array
+   */
+  public EqualsBuilder append(long[] lhs, int lhsFromIndex, int lhsToIndex, long[] rhs, int rhsFromIndex, int rhsToIndex) {
+    if (isEquals == false) {
+      return this;
+    }
+    isEquals = ArrayRanges.equals(lhs, lhsFromIndex, lhsToIndex, rhs, rhsFromIndex, rhsToIndex);
+    return this;
+  }
+
   /**
    * <p>Deep comparison of array of <code>int</code>. Length and all
    * values are compared.</p>
@@ -312,6 +365,31 @@ public final class EqualsBuilder {
     return this;
   }
 
+  /**
+   * <p>Deep comparison of two ranges of arrays of <code>int</code>.
+   * Length and all values of the ranges are compared.</p>
+   *
+   * <p>The result is the same as comparing the results of
+   * <code>Arrays.copyOfRange</code> but nothing is copied.</p>
+   *
+   * @param lhs  the left hand <code>int[]</code>, not {@code null}
+   * @param lhsFromIndex  the index of the first left hand element (inclusive)
+   * @param lhsToIndex  the index of the last left hand element (exclusive)
+   * @param rhs  the right hand <code>int[]</code>, not {@code null}
+   * @param rhsFromIndex  the index of the first right hand element (inclusive)
+   * @param rhsToIndex  the index of the last right hand element (exclusive)
+   * @return EqualsBuilder - used to chain calls
+   * @throws IllegalArgumentException if a from index is larger than its to index
+   * @throws ArrayIndexOutOfBoundsException if a range is outside of its array
+   */
+  public EqualsBuilder append(int[] lhs, int lhsFromIndex, int lhsToIndex, int[] rhs, int rhsFromIndex, int rhsToIndex) {
+    if (isEquals == false) {
+      return this;
+    }
+    isEquals = ArrayRanges.equals(lhs, lhsFromIndex, lhsToIndex, rhs, rhsFromIndex, rhsToIndex);
+    return this;
+  }
+
   /**
    * <p>Deep comparison of array of <code>short</code>. Length and all
    * values are compared.</p>
@@ -330,6 +408,31 @@ public final class EqualsBuilder {
     return this;
   }
 
+  /**
+   * <p>Deep comparison of two ranges of arrays of <code>short</code>.
+   * Length and all values of the ranges are compared.</p>
+   *
+   * <p>The result is the same as comparing the results of
+   * <code>Arrays.copyOfRange</code> but nothing is copied.</p>
+   *
+   * @param lhs  the left hand <code>short[]</code>, not {@code null}
+   * @param lhsFromIndex  the index of the first left hand element (inclusive)
+   * @param lhsToIndex  the index of the last left hand element (exclusive)
+   * @param rhs  the right hand <code>short[]</code>, not {@code null}
+   * @param rhsFromIndex  the index of the first right hand element (inclusive)
+   * @param rhsToIndex  the index of the last right hand element (exclusive)
+   * @return EqualsBuilder - used to chain calls
+   * @throws IllegalArgumentException if a from index is larger than its to index
+   * @throws ArrayIndexOutOfBoundsException if a range is outside of its array
+   */
+  public EqualsBuilder append(short[] lhs, int lhsFromIndex, int lhsToIndex, short[] rhs, int rhsFromIndex, int rhsToIndex) {
+    if (isEquals == false) {
+      return this;
+    }
+    isEquals = ArrayRanges.equals(lhs, lhsFromIndex, lhsToIndex, rhs, rhsFromIndex, rhsToIndex);
+    return this;
+  }
+
   /**
    * <p>Deep comparison of array of <code>char</code>. Length and all
    * values are compared.</p>
@@ -348,6 +451,31 @@ public final class EqualsBuilder {
     return this;
   }
 
+  /**
+   * <p>Deep comparison of two ranges of arrays of <code>char</code>.
+   * Length and all values of the ranges are compared.</p>
+   *
+   * <p>The result is the same as comparing the results of
+   * <code>Arrays.copyOfRange</code> but nothing is copied.</p>
+   *
+   * @param lhs  the left hand <code>char[]</code>, not {@code null}
+   * @param lhsFromIndex  the index of the first left hand element (inclusive)
+   * @param lhsToIndex  the index of the last left hand element (exclusive)
+   * @param rhs  the right hand <code>char[]</code>, not {@code null}
+   * @param rhsFromIndex  the index of the first right hand element (inclusive)
+   * @param rhsToIndex  the index of the last right hand element (exclusive)
+   * @return EqualsBuilder - used to chain calls
+   * @throws IllegalArgumentException if a from index is larger than its to index
+   * @throws ArrayIndexOutOfBoundsException if a range is outside of its array
+   */
+  public EqualsBuilder append(char[] lhs, int lhsFromIndex, int lhsToIndex, char[] rhs, int rhsFromIndex, int rhsToIndex) {
+    if (isEquals == false) {
+      return this;
+    }
+    isEquals = ArrayRanges.equals(lhs, lhsFromIndex, lhsToIndex, rhs, rhsFromIndex, rhsToIndex);
+    return this;
+  }
+
   /**
    * <p>Deep comparison of array of <code>byte</code>. Length and all
    * values are compared.</p>
@@ -366,6 +494,31 @@ public final class EqualsBuilder {
     return this;
   }
 
+  /**
+   * <p>Deep comparison of two ranges of arrays of <code>byte</code>.
+   * Length and all values of the ranges are compared.</p>
+   *
+   * <p>The result is the same as comparing the results of
+   * <code>Arrays.copyOfRange</code> but nothing is copied.</p>
+   *
+   * @param lhs  the left hand <code>byte[]</code>, not {@code null}
+   * @param lhsFromIndex  the index of the first left hand element (inclusive)
+   * @param lhsToIndex  the index of the last left hand element (exclusive)
+   * @param rhs  the right hand <code>byte[]</code>, not {@code null}
+   * @param rhsFromIndex  the index of the first right hand element (inclusive)
+   * @param rhsToIndex  the index of the last right hand element (exclusive)
+   * @return EqualsBuilder - used to chain calls
+   * @throws IllegalArgumentException if a from index is larger than its to index
+   * @throws ArrayIndexOutOfBoundsException if a range is outside of its array
+   */
+  public EqualsBuilder append(byte[] lhs, int lhsFromIndex, int lhsToIndex, byte[] rhs, int rhsFromIndex, int rhsToIndex) {
+    if (isEquals == false) {
+      return this;
+    }
+    isEquals = ArrayRanges.equals(lhs, lhsFromIndex, lhsToIndex, rhs, rhsFromIndex, rhsToIndex);
+    return this;
+  }
+
   /**
    * <p>Deep comparison of array of <code>double</code>. Length and all
    * values are compared.</p>
@@ -384,6 +537,31 @@ public final class EqualsBuilder {
     return this;
   }
 
+  /**
+   * <p>Deep comparison of two ranges of arrays of <code>double</code>.
+   * Length and all values of the ranges are compared.</p>
+   *
+   * <p>The result is the same as comparing the results of
+   * <code>Arrays.copyOfRange</code> but nothing is copied.</p>
+   *
+   * @param lhs  the left hand <code>double[]</code>, not {@code null}
+   * @param lhsFromIndex  the index of the first left hand element (inclusive)
+   * @param lhsToIndex  the index of the last left hand element (exclusive)
+   * @param rhs  the right hand <code>double[]</code>, not {@code null}
+   * @param rhsFromIndex  the index of the first right hand element (inclusive)
+   * @param rhsToIndex  the index of the last right hand element (exclusive)
+   * @return EqualsBuilder - used to chain calls
+   * @throws IllegalArgumentException if a from index is larger than its to index
+   * @throws ArrayIndexOutOfBoundsException if a range is outside of its array
+   */
+  public EqualsBuilder append(double[] lhs, int lhsFromIndex, int lhsToIndex, double[] rhs, int rhsFromIndex, int rhsToIndex) {
+    if (isEquals == false) {
+      return this;
+    }
+    isEquals = ArrayRanges.equals(lhs, lhsFromIndex, lhsToIndex, rhs, rhsFromIndex, rhsToIndex);
+    return this;
+  }
+
   /**
    * <p>Deep comparison of array of <code>float</code>. Length and all
    * values are compared.</p>
@@ -402,6 +580,31 @@ public final class EqualsBuilder {
     return this;
   }
 
+  /**
+   * <p>Deep comparison of two ranges of arrays of <code>float</code>.
+   * Length and all values of the ranges are compared.</p>
+   *
+   * <p>The result is the same as comparing the results of
+   * <code>Arrays.copyOfRange</code> but nothing is copied.</p>
+   *
+   * @param lhs  the left hand <code>float[]</code>, not {@code null}
+   * @param lhsFromIndex  the index of the first left hand element (inclusive)
+   * @param lhsToIndex  the index of the last left hand element (exclusive)
+   * @param rhs  the right hand <code>float[]</code>, not {@code null}
+   * @param rhsFromIndex  the index of the first right hand element (inclusive)
+   * @param rhsToIndex  the index of the last right hand element (exclusive)
+   * @return EqualsBuilder - used to chain calls
+   * @throws IllegalArgumentException if a from index is larger than its to index
+   * @throws ArrayIndexOutOfBoundsException if a range is outside of its array
+   */
+  public EqualsBuilder append(float[] lhs, int lhsFromIndex, int lhsToIndex, float[] rhs, int rhsFromIndex, int rhsToIndex) {
+    if (isEquals == false) {
+      return this;
+    }
+    isEquals = ArrayRanges.equals(lhs, lhsFromIndex, lhsToIndex, rhs, rhsFromIndex, rhsToIndex);
+    return this;
+  }
+
   /**
    * <p>Deep comparison of array of <code>boolean</code>. Length and all
    * values are compared.</p>
@@ -420,6 +623,145 @@ public final class EqualsBuilder {
     return this;
   }
 
+  /**
+   * <p>Deep comparison of two ranges of arrays of <code>boolean</code>.
+   * Length and all values of the ranges are compared.</p>
+   *
+   * <p>The result is the same as comparing the results of
+   * <code>Arrays.copyOfRange</code> but nothing is copied.</p>
+   *
+   * @param lhs  the left hand <code>boolean[]</code>, not {@code null}
+   * @param lhsFromIndex  the index of the first left hand element (inclusive)
+   * @param lhsToIndex  the index of the last left hand element (exclusive)
+   * @param rhs  the right hand <code>boolean[]</code>, not {@code null}
+   * @param rhsFromIndex  the index of the first right hand element (inclusive)
+   * @param rhsToIndex  the index of the last right hand element (exclusive)
+   * @return EqualsBuilder - used to chain calls
+   * @throws IllegalArgumentException if a from index is larger than its to index
+   * @throws ArrayIndexOutOfBoundsException if a range is outside of its array
+   */
+  public EqualsBuilder append(boolean[] lhs, int lhsFromIndex, int lhsToIndex, boolean[] rhs, int rhsFromIndex, int rhsToIndex) {
+    if (isEquals == false) {
+      return this;
+    }
+    isEquals = ArrayRanges.equals(lhs, lhsFromIndex, lhsToIndex, rhs, rhsFromIndex, rhsToIndex);
+    return this;
+  }
+
+  /**
+   * <p>Compares the characters of two <code>CharSequence</code>s.</p>
+   *
+   * <p>Unlike {@link #append(Object, Object)} different implementations
+   * like <code>String</code>, <code>StringBuilder</code> and
+   * <code>CharBuffer</code> are equal if they contain the same
+   * characters. No <code>String</code> is created.</p>
+   *
+   * <p>It is compatible with the hash code generated by
+   * {@link HashCodeBuilder#appendContent(CharSequence)}.</p>
+   *
+   * @param lhs  the left hand <code>CharSequence</code>, may be {@code null}
+   * @param rhs  the right hand <code>CharSequence</code>, may be {@code null}
+   * @return EqualsBuilder - used to chain calls
+   */
+  public EqualsBuilder appendContent(CharSequence lhs, CharSequence rhs) {
+    if (isEquals == false) {
+      return this;
+    }
+    isEquals = CharSequences.contentEquals(lhs, rhs);
+    return this;
+  }
+
+  /**
+   * <p>Compares the characters of a <code>CharSequence</code> with a
+   * range of a <code>char</code> array.</p>
+   *
+   * <p>It is compatible with the hash code generated by
+   * {@link HashCodeBuilder#appendContent(CharSequence)} and
+   * {@link HashCodeBuilder#appendContent(char[], int, int)}.</p>
+   *
+   * @param lhs  the left hand <code>CharSequence</code>, may be {@code null}
+   * @param rhs  the array containing the right hand characters
+   * @param fromIndex  the index of the first right hand character (inclusive)
+   * @param toIndex  the index of the last right hand character (exclusive)
+   * @return EqualsBuilder - used to chain calls
+   * @throws IllegalArgumentException if {@code fromIndex > toIndex}
+   * @throws ArrayIndexOutOfBoundsException if {@code fromIndex < 0} or {@code toIndex > rhs.length}
+   */
+  public EqualsBuilder appendContent(CharSequence lhs, char[] rhs, int fromIndex, int toIndex) {
+    if (isEquals == false) {
+      return this;
+    }
+    isEquals = CharSequences.contentEquals(lhs, rhs, fromIndex, toIndex);
+    return this;
+  }
+
+  /**
+   * <p>Compares the characters of two <code>CharSequence</code>s ignoring
+   * case.</p>
+   *
+   * <p>Two characters are considered equal if they are the same or their
+   * upper or lower case variants are the same, like
+   * {@link String#equalsIgnoreCase(String)} does for <code>char</code>s.
+   * Also works for other <code>CharSequence</code>s like
+   * <code>StringBuilder</code>. No <code>String</code> is created.</p>
+   *
+   * <p>It is compatible with the hash code generated by
+   * {@link HashCodeBuilder#appendIgnoreCase(CharSequence)}.</p>
+   *
+   * @param lhs  the left hand <code>CharSequence</code>, may be {@code null}
+   * @param rhs  the right hand <code>CharSequence</code>, may be {@code null}
+   * @return EqualsBuilder - used to chain calls
+   */
+  public EqualsBuilder appendIgnoreCase(CharSequence lhs, CharSequence rhs) {
+    if (isEquals == false) {
+      return this;
+    }
+    isEquals = CharSequences.contentEqualsIgnoreCase(lhs, rhs);
+    return this;
+  }
+
+  /**
+   * <p>Compares the contents of two files byte by byte.</p>
+   *
+   * <p>Unlike reading both files into <code>byte[]</code>s and using
+   * {@link #append(byte[], byte[])} the files are memory mapped in windows
+   * and nothing is copied to the heap. Files of different sizes are not
+   * read at all.</p>
+   *
+   * @param lhs  the left hand file
+   * @param rhs  the right hand file
+   * @return EqualsBuilder - used to chain calls
+   * @throws IOException if either file can not be read
+   */
+  public EqualsBuilder appendContent(Path lhs, Path rhs) throws IOException {
+    if (isEquals == false) {
+      return this;
+    }
+    isEquals = FileContents.contentEquals(lhs, rhs);
+    return this;
+  }
+
+  /**
+   * <p>Compares the contents of two file channels byte by byte.</p>
+   *
+   * <p>The whole content of both channels is compared regardless of their
+   * current position, the positions are not changed. The channels are
+   * memory mapped in windows and nothing is copied to the heap. Channels
+   * of different sizes are not read at all.</p>
+   *
+   * @param lhs  the left hand channel, has to be readable
+   * @param rhs  the right hand channel, has to be readable
+   * @return EqualsBuilder - used to chain calls
+   * @throws IOException if either channel can not be read
+   */
+  public EqualsBuilder appendContent(FileChannel lhs, FileChannel rhs) throws IOException {
+    if (isEquals == false) {
+      return this;
+    }
+    isEquals = FileContents.contentEquals(lhs, rhs, FileContents.DEFAULT_WINDOW_SIZE);
+    return this;
+  }
+
   /**
    * <p>Returns <code>true</code> if the fields that have been checked
    * are all equal.</p>
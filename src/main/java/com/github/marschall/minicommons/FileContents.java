@@ -0,0 +1,84 @@
+package com.github.marschall.minicommons;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Compares the contents of files without copying them to the heap.
+ *
+ * <p>Both files are memory mapped in windows and the windows are compared
+ * eight bytes at a time.</p>
+ */
+final class FileContents {
+
+  /**
+   * The size of the windows in which files are mapped, 64 MiB.
+   */
+  static final long DEFAULT_WINDOW_SIZE = 64L * 1024L * 1024L;
+
+  private FileContents() {
+    throw new AssertionError("not instantiable");
+  }
+
+  static boolean contentEquals(Path lhs, Path rhs) throws IOException {
+    if (lhs.equals(rhs)) {
+      return true;
+    }
+    if (Files.size(lhs) != Files.size(rhs)) {
+      return false;
+    }
+    try (FileChannel lhsChannel = FileChannel.open(lhs, StandardOpenOption.READ);
+         FileChannel rhsChannel = FileChannel.open(rhs, StandardOpenOption.READ)) {
+      return contentEquals(lhsChannel, rhsChannel, DEFAULT_WINDOW_SIZE);
+    }
+  }
+
+  static boolean contentEquals(FileChannel lhs, FileChannel rhs, long windowSize) throws IOException {
+    if (lhs == rhs) {
+      return true;
+    }
+    long size = lhs.size();
+    if (size != rhs.size()) {
+      return false;
+    }
+    long position = 0L;
+    while (position < size) {
+      long length = Math.min(windowSize, size - position);
+      MappedByteBuffer lhsWindow = lhs.map(MapMode.READ_ONLY, position, length);
+      MappedByteBuffer rhsWindow = rhs.map(MapMode.READ_ONLY, position, length);
+      if (!windowEquals(lhsWindow, rhsWindow, (int) length)) {
+        return false;
+      }
+      position += length;
+    }
+    return true;
+  }
+
+  private static boolean windowEquals(MappedByteBuffer lhs, MappedByteBuffer rhs, int length) {
+    // the order does not matter for equality, native order avoids byte swapping
+    lhs.order(ByteOrder.nativeOrder());
+    rhs.order(ByteOrder.nativeOrder());
+    int i = 0;
+    int longLimit = length - (length % Long.BYTES);
+    while (i < longLimit) {
+      if (lhs.getLong(i) != rhs.getLong(i)) {
+        return false;
+      }
+      i += Long.BYTES;
+    }
+    while (i < length) {
+      if (lhs.get(i) != rhs.get(i)) {
+        return false;
+      }
+      i += 1;
+    }
+    return true;
+  }
+
+}
@@ -0,0 +1,424 @@
+package com.github.marschall.minicommons;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Describes the fields of a fixed-width record.
+ *
+ * <p>A layout is described once and then used to create any number of
+ * {@link FixedWidthWriter}s. All offsets are computed when the layout is
+ * built so writing a field is just a matter of filling a known range of a
+ * buffer.</p>
+ *
+ * <pre><code>
+ * FixedWidthLayout layout = FixedWidthLayout.builder()
+ *   .text("name", 20)
+ *   .number("amount", 12)
+ *   .field("code", 4, FieldType.TEXT, Alignment.RIGHT, ' ', Overflow.FAIL)
+ *   .build();
+ * </code></pre>
+ *
+ * <p>Every character is encoded with exactly one byte so the width of a
+ * field in characters is also its width in bytes. Only single byte
+ * encodings are supported.</p>
+ *
+ * <p>Instances are immutable and safe for concurrent use.</p>
+ */
+public final class FixedWidthLayout {
+
+  /**
+   * The type of the values of a field.
+   */
+  public enum FieldType {
+
+    /**
+     * Character values.
+     */
+    TEXT,
+
+    /**
+     * Integer values written in decimal.
+     */
+    NUMBER;
+
+  }
+
+  /**
+   * Where a value shorter than the field is placed.
+   */
+  public enum Alignment {
+
+    /**
+     * The value comes first, the padding after it.
+     */
+    LEFT,
+
+    /**
+     * The padding comes first, the value after it.
+     */
+    RIGHT;
+
+  }
+
+  /**
+   * What happens with a value longer than the field.
+   */
+  public enum Overflow {
+
+    /**
+     * Text keeps its first characters, numbers keep their sign and their
+     * last digits, <code>-12345</code> in a field of width four becomes
+     * <code>"-345"</code>. A negative number that does not fit into a
+     * field of width one is rejected.
+     */
+    TRUNCATE,
+
+    /**
+     * The value is rejected with an <code>IllegalArgumentException</code>.
+     */
+    FAIL;
+
+  }
+
+  private final String[] names;
+
+  private final int[] offsets;
+
+  private final int[] widths;
+
+  private final FieldType[] types;
+
+  private final Alignment[] alignments;
+
+  private final char[] padChars;
+
+  private final Overflow[] overflows;
+
+  private final ByteEncoding encoding;
+
+  private final String recordSeparator;
+
+  private final int recordLength;
+
+  private FixedWidthLayout(Builder builder) {
+    int fieldCount = builder.names.size();
+    this.names = builder.names.toArray(new String[fieldCount]);
+    this.widths = toIntArray(builder.widths);
+    this.types = builder.types.toArray(new FieldType[fieldCount]);
+    this.alignments = builder.alignments.toArray(new Alignment[fieldCount]);
+    this.overflows = builder.overflows.toArray(new Overflow[fieldCount]);
+    this.padChars = new char[fieldCount];
+    for (int i = 0; i < fieldCount; i++) {
+      this.padChars[i] = builder.padChars.get(i);
+    }
+    this.offsets = new int[fieldCount];
+    int offset = 0;
+    for (int i = 0; i < fieldCount; i++) {
+      this.offsets[i] = offset;
+      offset += this.widths[i];
+    }
+    this.encoding = builder.encoding;
+    this.recordSeparator = builder.recordSeparator;
+    this.recordLength = offset + this.recordSeparator.length();
+  }
+
+  private static int[] toIntArray(List<Integer> list) {
+    int[] array = new int[list.size()];
+    for (int i = 0; i < array.length; i++) {
+      array[i] = list.get(i);
+    }
+    return array;
+  }
+
+  /**
+   * Creates a new builder for a layout.
+   *
+   * @return the new builder
+   */
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * Returns the number of fields.
+   *
+   * @return the number of fields
+   */
+  public int fieldCount() {
+    return this.names.length;
+  }
+
+  /**
+   * Returns the index of a field.
+   *
+   * @param name the name of the field
+   * @return the index of the field
+   * @throws IllegalArgumentException if there is no field with this name
+   */
+  public int fieldIndex(String name) {
+    for (int i = 0; i < this.names.length; i++) {
+      if (this.names[i].equals(name)) {
+        return i;
+      }
+    }
+    throw new IllegalArgumentException("no field: " + name);
+  }
+
+  /**
+   * Returns the name of a field.
+   *
+   * @param index the index of the field
+   * @return the name of the field
+   */
+  public String fieldName(int index) {
+    return this.names[index];
+  }
+
+  /**
+   * Returns the offset of a field from the start of the record.
+   *
+   * @param index the index of the field
+   * @return the offset of the field in bytes
+   */
+  public int fieldOffset(int index) {
+    return this.offsets[index];
+  }
+
+  /**
+   * Returns the width of a field.
+   *
+   * @param index the index of the field
+   * @return the width of the field in bytes
+   */
+  public int fieldWidth(int index) {
+    return this.widths[index];
+  }
+
+  /**
+   * Returns the type of a field.
+   *
+   * @param index the index of the field
+   * @return the type of the field
+   */
+  public FieldType fieldType(int index) {
+    return this.types[index];
+  }
+
+  /**
+   * Returns the alignment of a field.
+   *
+   * @param index the index of the field
+   * @return the alignment of the field
+   */
+  public Alignment alignment(int index) {
+    return this.alignments[index];
+  }
+
+  /**
+   * Returns the pad character of a field.
+   *
+   * @param index the index of the field
+   * @return the pad character of the field
+   */
+  public char padChar(int index) {
+    return this.padChars[index];
+  }
+
+  /**
+   * Returns what happens with values too long for a field.
+   *
+   * @param index the index of the field
+   * @return the overflow handling of the field
+   */
+  public Overflow overflow(int index) {
+    return this.overflows[index];
+  }
+
+  /**
+   * Returns the encoding of the records.
+   *
+   * @return the encoding, always single byte
+   */
+  public ByteEncoding encoding() {
+    return this.encoding;
+  }
+
+  /**
+   * Returns the characters written after every record.
+   *
+   * @return the record separator, may be empty
+   */
+  public String recordSeparator() {
+    return this.recordSeparator;
+  }
+
+  /**
+   * Returns the length of a record including the record separator.
+   *
+   * @return the length of a record in bytes
+   */
+  public int recordLength() {
+    return this.recordLength;
+  }
+
+  @Override
+  public String toString() {
+    return "FixedWidthLayout" + Arrays.toString(this.names);
+  }
+
+  /**
+   * Builds a {@link FixedWidthLayout}. Fields are added in the order they
+   * appear in a record.
+   */
+  public static final class Builder {
+
+    private final List<String> names;
+    private final List<Integer> widths;
+    private final List<FieldType> types;
+    private final List<Alignment> alignments;
+    private final List<Character> padChars;
+    private final List<Overflow> overflows;
+    private ByteEncoding encoding;
+    private String recordSeparator;
+
+    Builder() {
+      this.names = new ArrayList<>();
+      this.widths = new ArrayList<>();
+      this.types = new ArrayList<>();
+      this.alignments = new ArrayList<>();
+      this.padChars = new ArrayList<>();
+      this.overflows = new ArrayList<>();
+      this.encoding = ByteEncoding.US_ASCII;
+      this.recordSeparator = "\n";
+    }
+
+    /**
+     * Adds a text field that is left aligned, padded with spaces and
+     * truncated on overflow.
+     *
+     * @param name the name of the field, unique
+     * @param width the width of the field, positive
+     * @return Builder - used to chain calls
+     */
+    public Builder text(String name, int width) {
+      return this.field(name, width, FieldType.TEXT, Alignment.LEFT, ' ', Overflow.TRUNCATE);
+    }
+
+    /**
+     * Adds a number field that is right aligned, padded with zeros and
+     * rejects values that are too long.
+     *
+     * @param name the name of the field, unique
+     * @param width the width of the field, positive
+     * @return Builder - used to chain calls
+     */
+    public Builder number(String name, int width) {
+      return this.field(name, width, FieldType.NUMBER, Alignment.RIGHT, '0', Overflow.FAIL);
+    }
+
+    /**
+     * Adds a field.
+     *
+     * <p>Negative numbers in a field padded with <code>'0'</code> have
+     * the sign before the padding, <code>"-0042"</code>, otherwise after
+     * it, <code>"  -42"</code>. Number fields can not be padded with the
+     * minus sign and can only be padded with a digit if they are right
+     * aligned and padded with <code>'0'</code>, otherwise the padding
+     * could not be told apart from the value when reading it back.</p>
+     *
+     * @param name the name of the field, unique
+     * @param width the width of the field, positive
+     * @param type the type of the values of the field
+     * @param alignment where values shorter than the field are placed
+     * @param padChar the character to pad with
+     * @param overflow what happens with values longer than the field
+     * @return Builder - used to chain calls
+     * @throws IllegalArgumentException if the name is not unique, the
+     *         width is not positive or a number field is padded with
+     *         <code>'-'</code> or a digit other than right aligned
+     *         <code>'0'</code>
+     */
+    public Builder field(String name, int width, FieldType type, Alignment alignment, char padChar, Overflow overflow) {
+      Objects.requireNonNull(name, "name");
+      Objects.requireNonNull(type, "type");
+      Objects.requireNonNull(alignment, "alignment");
+      Objects.requireNonNull(overflow, "overflow");
+      if (width <= 0) {
+        throw new IllegalArgumentException("width must be positive");
+      }
+      if (this.names.contains(name)) {
+        throw new IllegalArgumentException("duplicate field: " + name);
+      }
+      if (type == FieldType.NUMBER && isNumberChar(padChar)
+              && (padChar != '0' || alignment != Alignment.RIGHT)) {
+        throw new IllegalArgumentException("number field " + name + " can not be " + alignment
+                + " aligned and padded with '" + padChar + "'");
+      }
+      this.names.add(name);
+      this.widths.add(width);
+      this.types.add(type);
+      this.alignments.add(alignment);
+      this.padChars.add(padChar);
+      this.overflows.add(overflow);
+      return this;
+    }
+
+    /**
+     * Whether the reader takes a character as part of a number.
+     */
+    private static boolean isNumberChar(char c) {
+      return c == '-' || (c >= '0' && c <= '9');
+    }
+
+    /**
+     * Sets the encoding of the records, US-ASCII by default.
+     *
+     * @param encoding the encoding, has to be single byte
+     * @return Builder - used to chain calls
+     * @throws IllegalArgumentException if the encoding is not single byte
+     */
+    public Builder encoding(ByteEncoding encoding) {
+      Objects.requireNonNull(encoding, "encoding");
+      if (!encoding.isSingleByte()) {
+        throw new IllegalArgumentException("only single byte encodings are supported: " + encoding);
+      }
+      this.encoding = encoding;
+      return this;
+    }
+
+    /**
+     * Sets the characters written after every record, <code>"\n"</code>
+     * by default.
+     *
+     * @param recordSeparator the record separator, may be empty
+     * @return Builder - used to chain calls
+     */
+    public Builder recordSeparator(String recordSeparator) {
+      this.recordSeparator = Objects.requireNonNull(recordSeparator, "recordSeparator");
+      return this;
+    }
+
+    /**
+     * Builds the layout.
+     *
+     * @return the layout
+     * @throws IllegalArgumentException if there are no fields or a pad
+     *         character or the record separator can not be encoded
+     */
+    public FixedWidthLayout build() {
+      if (this.names.isEmpty()) {
+        throw new IllegalArgumentException("no fields");
+      }
+      for (char padChar : this.padChars) {
+        this.encoding.encodedLength(padChar);
+      }
+      this.encoding.encodedLength(this.recordSeparator);
+      return new FixedWidthLayout(this);
+    }
+
+  }
+
+}
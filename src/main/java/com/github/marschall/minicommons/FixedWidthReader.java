@@ -0,0 +1,639 @@
+package com.github.marschall.minicommons;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.LongConsumer;
+import java.util.function.ToLongFunction;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import com.github.marschall.minicommons.ByteEncoding.SingleByteEncoding;
+import com.github.marschall.minicommons.FixedWidthLayout.Alignment;
+
+/**
+ * Reads fixed-width records described by a {@link FixedWidthLayout} from
+ * a memory mapped file, the reverse of {@link FixedWidthWriter}.
+ *
+ * <p>Numbers are parsed directly from the mapped bytes and text fields
+ * are returned as {@link CharSequence} views over the mapped bytes, pad
+ * characters are skipped without creating intermediate strings.</p>
+ *
+ * <pre><code>
+ * try (FileChannel channel = FileChannel.open(path, READ)) {
+ *   FixedWidthReader reader = new FixedWidthReader(layout, channel);
+ *   while (reader.next()) {
+ *     long amount = reader.getLong(1);
+ *     if ("CHF".contentEquals(reader.getText(2))) {
+ *       total += amount;
+ *     }
+ *   }
+ * }
+ * </code></pre>
+ *
+ * <p>Files larger than 2 GB are mapped in windows, every window holds
+ * only whole records. The last record may lack the record separator.
+ * This class is not safe for concurrent use, readers for disjoint ranges
+ * of records can be used in parallel.</p>
+ *
+ * <p>{@link #stream(FixedWidthLayout, FileChannel, Function)} and
+ * {@link #longStream(FixedWidthLayout, FileChannel, ToLongFunction)}
+ * create streams that split on record boundaries and so scale in
+ * parallel pipelines.</p>
+ *
+ * <pre><code>
+ * long total = FixedWidthReader.longStream(layout, channel, record -&gt; record.getLong(1))
+ *   .parallel()
+ *   .sum();
+ * </code></pre>
+ */
+public final class FixedWidthReader {
+
+  /**
+   * The default maximum size of a mapped window in bytes.
+   */
+  static final int DEFAULT_WINDOW_SIZE = 256 * 1024 * 1024;
+
+  private final FixedWidthLayout layout;
+
+  private final FileChannel channel;
+
+  private final SingleByteEncoding encoding;
+
+  private final int recordLength;
+
+  private final long fromRecord;
+
+  private final long toRecord;
+
+  private final int windowRecords;
+
+  /**
+   * The value of the digit of every byte or -1.
+   */
+  private final byte[] digitValues;
+
+  private final byte minusByte;
+
+  private final byte[] padBytes;
+
+  private final TextView[] textViews;
+
+  private ByteBuffer window;
+
+  /**
+   * Index of the first record in the current window.
+   */
+  private long windowFromRecord;
+
+  /**
+   * Index of the record after the last record in the current window.
+   */
+  private long windowToRecord;
+
+  private long recordIndex;
+
+  /**
+   * Offset of the current record in the current window.
+   */
+  private int recordOffset;
+
+  /**
+   * Creates a new reader over all records of a file.
+   *
+   * @param layout the layout of the records, not {@code null}
+   * @param channel the channel of the file, not {@code null}, has to stay
+   *        open while the reader is used
+   * @throws IOException if the size of the file can not be determined
+   */
+  public FixedWidthReader(FixedWidthLayout layout, FileChannel channel) throws IOException {
+    this(layout, channel, 0L, recordCount(layout, channel));
+  }
+
+  /**
+   * Creates a new reader over a range of records of a file.
+   *
+   * @param layout the layout of the records, not {@code null}
+   * @param channel the channel of the file, not {@code null}, has to stay
+   *        open while the reader is used
+   * @param fromRecord the index of the first record (inclusive)
+   * @param toRecord the index of the last record (exclusive)
+   * @throws IOException if the size of the file can not be determined
+   * @throws IllegalArgumentException if {@code fromRecord > toRecord}
+   * @throws IndexOutOfBoundsException if {@code fromRecord < 0} or
+   *         {@code toRecord} is larger than the number of records
+   */
+  public FixedWidthReader(FixedWidthLayout layout, FileChannel channel, long fromRecord, long toRecord) throws IOException {
+    this(layout, channel, fromRecord, toRecord, DEFAULT_WINDOW_SIZE);
+  }
+
+  FixedWidthReader(FixedWidthLayout layout, FileChannel channel, long fromRecord, long toRecord, int windowSize) throws IOException {
+    Objects.requireNonNull(layout, "layout");
+    Objects.requireNonNull(channel, "channel");
+    long recordCount = recordCount(layout, channel);
+    if (fromRecord > toRecord) {
+      throw new IllegalArgumentException("fromRecord(" + fromRecord + ") > toRecord(" + toRecord + ")");
+    }
+    if (fromRecord < 0L || toRecord > recordCount) {
+      throw new IndexOutOfBoundsException("records: " + fromRecord + " to " + toRecord + ", record count: " + recordCount);
+    }
+    this.layout = layout;
+    this.channel = channel;
+    // the layout only accepts single byte encodings
+    this.encoding = (SingleByteEncoding) layout.encoding();
+    this.recordLength = layout.recordLength();
+    this.fromRecord = fromRecord;
+    this.toRecord = toRecord;
+    this.windowRecords = Math.max(1, windowSize / this.recordLength);
+    this.digitValues = new byte[256];
+    Arrays.fill(this.digitValues, (byte) -1);
+    for (int i = 0; i < 10; i++) {
+      this.digitValues[this.encoding.asciiByte((char) ('0' + i)) & 0xFF] = (byte) i;
+    }
+    this.minusByte = this.encoding.asciiByte('-');
+    int fieldCount = layout.fieldCount();
+    this.padBytes = new byte[fieldCount];
+    this.textViews = new TextView[fieldCount];
+    for (int i = 0; i < fieldCount; i++) {
+      this.padBytes[i] = this.encoding.asciiByte(layout.padChar(i));
+      this.textViews[i] = new TextView(this.encoding);
+    }
+    this.windowFromRecord = fromRecord;
+    this.windowToRecord = fromRecord;
+    this.recordIndex = fromRecord - 1L;
+  }
+
+  /**
+   * Returns the number of records in a file.
+   *
+   * <p>The last record may lack the record separator.</p>
+   *
+   * @param layout the layout of the records, not {@code null}
+   * @param channel the channel of the file, not {@code null}
+   * @return the number of records
+   * @throws IOException if the size of the file can not be determined
+   * @throws IllegalArgumentException if the file does not consist of
+   *         whole records
+   */
+  public static long recordCount(FixedWidthLayout layout, FileChannel channel) throws IOException {
+    long size = channel.size();
+    int recordLength = layout.recordLength();
+    long recordCount = size / recordLength;
+    int remainder = (int) (size % recordLength);
+    if (remainder == 0) {
+      return recordCount;
+    }
+    if (remainder == recordLength - layout.recordSeparator().length()) {
+      // no separator after the last record
+      return recordCount + 1L;
+    }
+    throw new IllegalArgumentException("file size " + size + " is not a multiple of record length " + recordLength);
+  }
+
+  /**
+   * Creates a stream over all records of a file.
+   *
+   * <p>The mapper is called with a reader positioned at the record to map.
+   * Text views returned by {@link #getText(int)} are only valid during the
+   * call, the mapper has to copy them if it needs them afterwards. In
+   * parallel streams every split has its own reader so the mapper is called
+   * concurrently with different readers.</p>
+   *
+   * <p>The stream is sequential, use {@link Stream#parallel()} to split
+   * it. Splits are exact multiples of the record length, every split maps
+   * only its own part of the file. I/O errors are reported as
+   * {@link UncheckedIOException}. The channel has to stay open until the
+   * stream has been consumed.</p>
+   *
+   * @param <T> the type of the stream elements
+   * @param layout the layout of the records, not {@code null}
+   * @param channel the channel of the file, not {@code null}
+   * @param mapper maps the current record of a reader to a stream
+   *        element, not {@code null}
+   * @return the stream of mapped records in file order
+   * @throws IOException if the size of the file can not be determined
+   * @throws IllegalArgumentException if the file does not consist of
+   *         whole records
+   */
+  public static <T> Stream<T> stream(FixedWidthLayout layout, FileChannel channel,
+          Function<? super FixedWidthReader, ? extends T> mapper) throws IOException {
+    Objects.requireNonNull(mapper, "mapper");
+    long recordCount = recordCount(layout, channel);
+    return StreamSupport.stream(new RecordSpliterator<>(layout, channel, 0L, recordCount, mapper), false);
+  }
+
+  /**
+   * Creates a stream of <code>long</code> values over all records of a
+   * file, for example of a number field, without boxing.
+   *
+   * @param layout the layout of the records, not {@code null}
+   * @param channel the channel of the file, not {@code null}
+   * @param mapper maps the current record of a reader to a value, not
+   *        {@code null}
+   * @return the stream of mapped records in file order
+   * @throws IOException if the size of the file can not be determined
+   * @throws IllegalArgumentException if the file does not consist of
+   *         whole records
+   * @see #stream(FixedWidthLayout, FileChannel, Function)
+   */
+  public static LongStream longStream(FixedWidthLayout layout, FileChannel channel,
+          ToLongFunction<? super FixedWidthReader> mapper) throws IOException {
+    Objects.requireNonNull(mapper, "mapper");
+    long recordCount = recordCount(layout, channel);
+    return StreamSupport.longStream(new LongRecordSpliterator(layout, channel, 0L, recordCount, mapper), false);
+  }
+
+  /**
+   * Returns the layout of the records.
+   *
+   * @return the layout
+   */
+  public FixedWidthLayout layout() {
+    return this.layout;
+  }
+
+  /**
+   * Returns the index of the current record in the file.
+   *
+   * @return the index of the current record
+   */
+  public long recordIndex() {
+    return this.recordIndex;
+  }
+
+  /**
+   * Moves to the next record. Has to be called once before reading the
+   * first record.
+   *
+   * @return {@code true} if there is a next record, {@code false} if all
+   *         records have been read
+   * @throws IOException if the next window can not be mapped
+   */
+  public boolean next() throws IOException {
+    if (this.recordIndex + 1L >= this.toRecord) {
+      this.recordIndex = this.toRecord;
+      return false;
+    }
+    this.recordIndex += 1L;
+    if (this.recordIndex == this.windowToRecord) {
+      this.mapWindow();
+    }
+    this.recordOffset = (int) (this.recordIndex - this.windowFromRecord) * this.recordLength;
+    return true;
+  }
+
+  private void mapWindow() throws IOException {
+    this.windowFromRecord = this.recordIndex;
+    this.windowToRecord = Math.min(this.toRecord, this.windowFromRecord + this.windowRecords);
+    long position = this.windowFromRecord * this.recordLength;
+    long size = Math.min((this.windowToRecord - this.windowFromRecord) * this.recordLength, this.channel.size() - position);
+    MappedByteBuffer mapped = this.channel.map(MapMode.READ_ONLY, position, size);
+    this.window = mapped;
+    for (TextView view : this.textViews) {
+      view.buffer = mapped;
+    }
+  }
+
+  private int fieldStart(int field) {
+    if (this.recordIndex < this.fromRecord || this.recordIndex >= this.toRecord) {
+      throw new NoSuchElementException("no current record");
+    }
+    return this.recordOffset + this.layout.fieldOffset(field);
+  }
+
+  /**
+   * Parses a number field of the current record as an <code>int</code>.
+   *
+   * @param field the index of the field
+   * @return the value of the field
+   * @throws NumberFormatException if the field does not contain a number
+   *         in the range of <code>int</code>
+   * @throws NoSuchElementException if there is no current record
+   * @see #getLong(int)
+   */
+  public int getInt(int field) {
+    long value = this.getLong(field);
+    if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+      throw this.numberFormatException(field, "out of int range");
+    }
+    return (int) value;
+  }
+
+  /**
+   * Parses a number field of the current record as a <code>long</code>.
+   *
+   * <p>Pad characters before the sign and after the last digit are
+   * skipped, zeros between the sign and the digits are part of the
+   * number. A field that only contains pad characters other than
+   * <code>'0'</code> is not a number.</p>
+   *
+   * @param field the index of the field
+   * @return the value of the field
+   * @throws NumberFormatException if the field does not contain a number
+   * @throws NoSuchElementException if there is no current record
+   */
+  public long getLong(int field) {
+    ByteBuffer buffer = this.window;
+    int fieldStart = this.fieldStart(field);
+    int end = fieldStart + this.layout.fieldWidth(field);
+    int position = fieldStart;
+    byte padByte = this.padBytes[field];
+    if (this.layout.padChar(field) != '0') {
+      while (position < end && buffer.get(position) == padByte) {
+        position += 1;
+      }
+    }
+    boolean negative = position < end && buffer.get(position) == this.minusByte;
+    if (negative) {
+      position += 1;
+    }
+    // accumulate negatively like Long.parseLong, the range is larger
+    long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+    long multiplicationLimit = limit / 10L;
+    long result = 0L;
+    int digitStart = position;
+    while (position < end) {
+      int digit = this.digitValues[buffer.get(position) & 0xFF];
+      if (digit < 0) {
+        break;
+      }
+      if (result < multiplicationLimit) {
+        throw this.numberFormatException(field, "out of long range");
+      }
+      result *= 10L;
+      if (result < limit + digit) {
+        throw this.numberFormatException(field, "out of long range");
+      }
+      result -= digit;
+      position += 1;
+    }
+    if (position == digitStart) {
+      throw this.numberFormatException(field, "no digits");
+    }
+    while (position < end && buffer.get(position) == padByte) {
+      position += 1;
+    }
+    if (position != end) {
+      throw this.numberFormatException(field, "invalid character at offset " + (position - fieldStart));
+    }
+    return negative ? result : -result;
+  }
+
+  private NumberFormatException numberFormatException(int field, String reason) {
+    return new NumberFormatException("field " + this.layout.fieldName(field)
+            + " of record " + this.recordIndex + ": " + reason);
+  }
+
+  /**
+   * Returns a field of the current record as text without the padding.
+   *
+   * <p>Left aligned fields have trailing, right aligned fields leading pad
+   * characters removed. The returned sequence is a view over the mapped
+   * file that is reused for every record, it is only valid until the next
+   * call to {@link #next()}. Use <code>toString()</code> to keep the
+   * value.</p>
+   *
+   * @param field the index of the field
+   * @return a view of the field
+   * @throws NoSuchElementException if there is no current record
+   */
+  public CharSequence getText(int field) {
+    ByteBuffer buffer = this.window;
+    int start = this.fieldStart(field);
+    int end = start + this.layout.fieldWidth(field);
+    byte padByte = this.padBytes[field];
+    if (this.layout.alignment(field) == Alignment.LEFT) {
+      while (end > start && buffer.get(end - 1) == padByte) {
+        end -= 1;
+      }
+    } else {
+      while (start < end && buffer.get(start) == padByte) {
+        start += 1;
+      }
+    }
+    TextView view = this.textViews[field];
+    view.start = start;
+    view.length = end - start;
+    return view;
+  }
+
+  /**
+   * A view of bytes of a single byte encoding as characters.
+   */
+  static final class TextView implements CharSequence {
+
+    private final SingleByteEncoding encoding;
+
+    ByteBuffer buffer;
+
+    int start;
+
+    int length;
+
+    TextView(SingleByteEncoding encoding) {
+      this.encoding = encoding;
+    }
+
+    TextView(SingleByteEncoding encoding, ByteBuffer buffer, int start, int length) {
+      this.encoding = encoding;
+      this.buffer = buffer;
+      this.start = start;
+      this.length = length;
+    }
+
+    @Override
+    public int length() {
+      return this.length;
+    }
+
+    @Override
+    public char charAt(int index) {
+      if (index < 0 || index >= this.length) {
+        throw new IndexOutOfBoundsException("index: " + index + ", length: " + this.length);
+      }
+      return this.encoding.decode(this.buffer.get(this.start + index));
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+      if (start < 0 || end > this.length || start > end) {
+        throw new IndexOutOfBoundsException("start: " + start + ", end: " + end + ", length: " + this.length);
+      }
+      return new TextView(this.encoding, this.buffer, this.start + start, end - start);
+    }
+
+    @Override
+    public String toString() {
+      char[] chars = new char[this.length];
+      for (int i = 0; i < chars.length; i++) {
+        chars[i] = this.encoding.decode(this.buffer.get(this.start + i));
+      }
+      return new String(chars);
+    }
+
+  }
+
+  /**
+   * Common base for spliterators over a range of records. Ranges are split
+   * in the middle until iteration starts, afterwards the spliterator
+   * iterates with its own reader.
+   */
+  abstract static class RangeSpliterator {
+
+    final FixedWidthLayout layout;
+
+    final FileChannel channel;
+
+    long fromRecord;
+
+    final long toRecord;
+
+    private FixedWidthReader reader;
+
+    RangeSpliterator(FixedWidthLayout layout, FileChannel channel, long fromRecord, long toRecord) {
+      this.layout = layout;
+      this.channel = channel;
+      this.fromRecord = fromRecord;
+      this.toRecord = toRecord;
+    }
+
+    /**
+     * Splits off the first half of the range, only before iteration
+     * started.
+     *
+     * @return the index of the first record of the second half, which
+     *         stays with this spliterator, or -1 if not split
+     */
+    long splitAt() {
+      long length = this.toRecord - this.fromRecord;
+      if (this.reader != null || length < 2L) {
+        return -1L;
+      }
+      long middle = this.fromRecord + length / 2L;
+      this.fromRecord = middle;
+      return middle;
+    }
+
+    /**
+     * Moves to the next record.
+     *
+     * @return the reader positioned at the next record or {@code null} if
+     *         there are no more records
+     */
+    FixedWidthReader advance() {
+      try {
+        if (this.reader == null) {
+          this.reader = new FixedWidthReader(this.layout, this.channel, this.fromRecord, this.toRecord);
+        }
+        return this.reader.next() ? this.reader : null;
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+
+    public long estimateSize() {
+      if (this.reader == null) {
+        return this.toRecord - this.fromRecord;
+      }
+      return Math.max(0L, this.toRecord - this.reader.recordIndex() - 1L);
+    }
+
+    public int characteristics() {
+      return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
+    }
+
+  }
+
+  static final class RecordSpliterator<T> extends RangeSpliterator implements Spliterator<T> {
+
+    private final Function<? super FixedWidthReader, ? extends T> mapper;
+
+    RecordSpliterator(FixedWidthLayout layout, FileChannel channel, long fromRecord, long toRecord,
+            Function<? super FixedWidthReader, ? extends T> mapper) {
+      super(layout, channel, fromRecord, toRecord);
+      this.mapper = mapper;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action) {
+      FixedWidthReader current = this.advance();
+      if (current == null) {
+        return false;
+      }
+      action.accept(this.mapper.apply(current));
+      return true;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super T> action) {
+      FixedWidthReader current = this.advance();
+      while (current != null) {
+        action.accept(this.mapper.apply(current));
+        current = this.advance();
+      }
+    }
+
+    @Override
+    public Spliterator<T> trySplit() {
+      long from = this.fromRecord;
+      long middle = this.splitAt();
+      if (middle < 0L) {
+        return null;
+      }
+      return new RecordSpliterator<>(this.layout, this.channel, from, middle, this.mapper);
+    }
+
+  }
+
+  static final class LongRecordSpliterator extends RangeSpliterator implements Spliterator.OfLong {
+
+    private final ToLongFunction<? super FixedWidthReader> mapper;
+
+    LongRecordSpliterator(FixedWidthLayout layout, FileChannel channel, long fromRecord, long toRecord,
+            ToLongFunction<? super FixedWidthReader> mapper) {
+      super(layout, channel, fromRecord, toRecord);
+      this.mapper = mapper;
+    }
+
+    @Override
+    public boolean tryAdvance(LongConsumer action) {
+      FixedWidthReader current = this.advance();
+      if (current == null) {
+        return false;
+      }
+      action.accept(this.mapper.applyAsLong(current));
+      return true;
+    }
+
+    @Override
+    public void forEachRemaining(LongConsumer action) {
+      FixedWidthReader current = this.advance();
+      while (current != null) {
+        action.accept(this.mapper.applyAsLong(current));
+        current = this.advance();
+      }
+    }
+
+    @Override
+    public Spliterator.OfLong trySplit() {
+      long from = this.fromRecord;
+      long middle = this.splitAt();
+      if (middle < 0L) {
+        return null;
+      }
+      return new LongRecordSpliterator(this.layout, this.channel, from, middle, this.mapper);
+    }
+
+  }
+
+}
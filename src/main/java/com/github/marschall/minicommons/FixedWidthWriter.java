@@ -0,0 +1,512 @@
+package com.github.marschall.minicommons;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import com.github.marschall.minicommons.FixedWidthLayout.Alignment;
+import com.github.marschall.minicommons.FixedWidthLayout.FieldType;
+import com.github.marschall.minicommons.FixedWidthLayout.Overflow;
+
+/**
+ * Writes fixed-width records described by a {@link FixedWidthLayout} to a
+ * channel, usually a {@link java.nio.channels.FileChannel}.
+ *
+ * <p>Fields are written in layout order directly into a reusable direct
+ * buffer, the buffer is only written to the channel when it can not hold
+ * an other record. With the default buffer size of 1 MiB this results in
+ * few large writes no matter how short the records are.</p>
+ *
+ * <pre><code>
+ * try (FileChannel channel = FileChannel.open(path, CREATE, WRITE, TRUNCATE_EXISTING);
+ *      FixedWidthWriter writer = new FixedWidthWriter(layout, channel)) {
+ *   for (Account account : accounts) {
+ *     writer.text(account.getName())
+ *       .number(account.getBalance())
+ *       .text(account.getCode())
+ *       .endRecord();
+ *   }
+ * }
+ * </code></pre>
+ *
+ * <p>Because every record has the same length large exports can be
+ * split across cores with
+ * {@link #writeParallel(FixedWidthLayout, FileChannel, long, RecordFormatter)}.</p>
+ *
+ * <p>A field value that is rejected, because it is too long or contains
+ * a character that can not be encoded, leaves the writer unchanged and
+ * the field can be written again. This class is not safe for concurrent
+ * use.</p>
+ */
+public final class FixedWidthWriter implements Flushable, Closeable {
+
+  /**
+   * The default size of the buffer in bytes.
+   */
+  public static final int DEFAULT_BUFFER_SIZE = 1024 * 1024;
+
+  /**
+   * Enough for the digits of any <code>long</code>.
+   */
+  private static final int SCRATCH_LENGTH = 19;
+
+  private final FixedWidthLayout layout;
+
+  private final WritableByteChannel channel;
+
+  private final ByteBuffer buffer;
+
+  private final ByteEncoding encoding;
+
+  private final byte[] padBytes;
+
+  private final byte[] digitBytes;
+
+  private final byte minusByte;
+
+  private final byte[] separatorBytes;
+
+  private final byte[] scratch;
+
+  private final int fieldCount;
+
+  /**
+   * Whether the buffer is written at {@link #channelPosition} instead of
+   * the position of the channel.
+   */
+  private final boolean positional;
+
+  private long channelPosition;
+
+  private int fieldIndex;
+
+  private long recordCount;
+
+  /**
+   * Creates a new writer with a buffer of {@link #DEFAULT_BUFFER_SIZE}.
+   *
+   * @param layout the layout of the records, not {@code null}
+   * @param channel the channel to write to, not {@code null}, not closed
+   *        by this writer
+   */
+  public FixedWidthWriter(FixedWidthLayout layout, WritableByteChannel channel) {
+    this(layout, channel, DEFAULT_BUFFER_SIZE);
+  }
+
+  /**
+   * Creates a new writer.
+   *
+   * @param layout the layout of the records, not {@code null}
+   * @param channel the channel to write to, not {@code null}, not closed
+   *        by this writer
+   * @param bufferSize the size of the buffer in bytes, rounded down to
+   *        full records but at least one record
+   * @throws IllegalArgumentException if {@code bufferSize} is not positive
+   */
+  public FixedWidthWriter(FixedWidthLayout layout, WritableByteChannel channel, int bufferSize) {
+    this(layout, channel, bufferSize, false, 0L);
+  }
+
+  /**
+   * Creates a new writer that writes at a fixed position of a file
+   * without using or changing the position of the channel.
+   */
+  FixedWidthWriter(FixedWidthLayout layout, FileChannel channel, long position, int bufferSize) {
+    this(layout, channel, bufferSize, true, position);
+  }
+
+  private FixedWidthWriter(FixedWidthLayout layout, WritableByteChannel channel, int bufferSize, boolean positional, long position) {
+    Objects.requireNonNull(layout, "layout");
+    Objects.requireNonNull(channel, "channel");
+    if (bufferSize <= 0) {
+      throw new IllegalArgumentException("buffer size must be positive");
+    }
+    this.layout = layout;
+    this.channel = channel;
+    this.positional = positional;
+    this.channelPosition = position;
+    int recordLength = layout.recordLength();
+    int records = Math.max(1, bufferSize / recordLength);
+    this.buffer = ByteBuffer.allocateDirect(records * recordLength);
+    this.encoding = layout.encoding();
+    this.fieldCount = layout.fieldCount();
+    this.padBytes = new byte[this.fieldCount];
+    for (int i = 0; i < this.fieldCount; i++) {
+      this.padBytes[i] = this.encoding.asciiByte(layout.padChar(i));
+    }
+    this.digitBytes = new byte[10];
+    for (int i = 0; i < this.digitBytes.length; i++) {
+      this.digitBytes[i] = this.encoding.asciiByte((char) ('0' + i));
+    }
+    this.minusByte = this.encoding.asciiByte('-');
+    String separator = layout.recordSeparator();
+    this.separatorBytes = new byte[separator.length()];
+    for (int i = 0; i < this.separatorBytes.length; i++) {
+      this.separatorBytes[i] = this.encoding.asciiByte(separator.charAt(i));
+    }
+    this.scratch = new byte[SCRATCH_LENGTH];
+  }
+
+  /**
+   * Returns the layout of the records.
+   *
+   * @return the layout
+   */
+  public FixedWidthLayout layout() {
+    return this.layout;
+  }
+
+  /**
+   * Returns the number of records ended so far.
+   *
+   * @return the number of complete records
+   */
+  public long recordCount() {
+    return this.recordCount;
+  }
+
+  /**
+   * Writes the next field, which has to be a text field.
+   *
+   * @param value the value, {@code null} writes only padding
+   * @return FixedWidthWriter - used to chain calls
+   * @throws IllegalStateException if the next field is not a text field or
+   *         all fields of the record have been written
+   * @throws IllegalArgumentException if the value is too long for a field
+   *         that fails on overflow or contains a character that can not
+   *         be encoded
+   * @throws IOException if a full buffer can not be written to the channel
+   */
+  public FixedWidthWriter text(CharSequence value) throws IOException {
+    int index = this.nextField(FieldType.TEXT);
+    int width = this.layout.fieldWidth(index);
+    int length = value == null ? 0 : value.length();
+    if (length > width) {
+      if (this.layout.overflow(index) == Overflow.FAIL) {
+        throw this.overflow(index, length);
+      }
+      length = width;
+    }
+    int fieldStart = this.buffer.position();
+    try {
+      if (this.layout.alignment(index) == Alignment.LEFT) {
+        this.encodeText(value, length);
+        this.pad(index, width - length);
+      } else {
+        this.pad(index, width - length);
+        this.encodeText(value, length);
+      }
+    } catch (IllegalArgumentException e) {
+      this.buffer.position(fieldStart);
+      throw e;
+    }
+    this.fieldIndex = index + 1;
+    return this;
+  }
+
+  /**
+   * Writes the next field, which has to be a number field.
+   *
+   * @param value the value
+   * @return FixedWidthWriter - used to chain calls
+   * @throws IllegalStateException if the next field is not a number field
+   *         or all fields of the record have been written
+   * @throws IllegalArgumentException if the value is too long for a field
+   *         that fails on overflow or a negative value does not fit into
+   *         a field of width one
+   * @throws IOException if a full buffer can not be written to the channel
+   */
+  public FixedWidthWriter number(long value) throws IOException {
+    int index = this.nextField(FieldType.NUMBER);
+    int width = this.layout.fieldWidth(index);
+    int digitStart = Digits.writeDigits(value, SCRATCH_LENGTH, this.scratch);
+    boolean negative = value < 0L;
+    int length = SCRATCH_LENGTH - digitStart + (negative ? 1 : 0);
+    if (length > width) {
+      // a negative value needs room for the sign and at least one digit
+      if (this.layout.overflow(index) == Overflow.FAIL || (negative && width == 1)) {
+        throw this.overflow(index, length);
+      }
+      // keep the sign and the last digits
+      digitStart = SCRATCH_LENGTH - width + (negative ? 1 : 0);
+      length = width;
+    }
+    int padCount = width - length;
+    if (this.layout.alignment(index) == Alignment.LEFT) {
+      this.sign(negative);
+      this.digits(digitStart);
+      this.pad(index, padCount);
+    } else if (this.layout.padChar(index) == '0') {
+      this.sign(negative);
+      this.pad(index, padCount);
+      this.digits(digitStart);
+    } else {
+      this.pad(index, padCount);
+      this.sign(negative);
+      this.digits(digitStart);
+    }
+    this.fieldIndex = index + 1;
+    return this;
+  }
+
+  /**
+   * Ends the current record by writing the record separator.
+   *
+   * @return FixedWidthWriter - used to chain calls
+   * @throws IllegalStateException if not all fields of the record have
+   *         been written
+   */
+  public FixedWidthWriter endRecord() {
+    if (this.fieldIndex != this.fieldCount) {
+      throw new IllegalStateException("missing field: " + this.layout.fieldName(this.fieldIndex));
+    }
+    this.buffer.put(this.separatorBytes);
+    this.fieldIndex = 0;
+    this.recordCount += 1L;
+    return this;
+  }
+
+  private int nextField(FieldType type) throws IOException {
+    int index = this.fieldIndex;
+    if (index == this.fieldCount) {
+      throw new IllegalStateException("all fields written, record not ended");
+    }
+    if (this.layout.fieldType(index) != type) {
+      throw new IllegalStateException("field " + this.layout.fieldName(index) + " is a " + this.layout.fieldType(index) + " field");
+    }
+    if (index == 0 && this.buffer.remaining() < this.layout.recordLength()) {
+      this.writeBuffer();
+    }
+    return index;
+  }
+
+  private IllegalArgumentException overflow(int index, int length) {
+    return new IllegalArgumentException("value of length " + length + " too long for field "
+            + this.layout.fieldName(index) + " of width " + this.layout.fieldWidth(index));
+  }
+
+  private void encodeText(CharSequence value, int length) {
+    for (int i = 0; i < length; i++) {
+      this.encoding.encode(value.charAt(i), this.buffer);
+    }
+  }
+
+  private void pad(int index, int count) {
+    byte padByte = this.padBytes[index];
+    for (int i = 0; i < count; i++) {
+      this.buffer.put(padByte);
+    }
+  }
+
+  private void sign(boolean negative) {
+    if (negative) {
+      this.buffer.put(this.minusByte);
+    }
+  }
+
+  private void digits(int digitStart) {
+    for (int i = digitStart; i < SCRATCH_LENGTH; i++) {
+      this.buffer.put(this.digitBytes[this.scratch[i] - '0']);
+    }
+  }
+
+  /**
+   * Writes all complete records to the channel. The fields of a record
+   * that has not been ended are kept.
+   *
+   * @throws IOException if writing to the channel fails
+   */
+  @Override
+  public void flush() throws IOException {
+    if (this.fieldIndex == 0) {
+      this.writeBuffer();
+    } else {
+      int partialStart = this.buffer.position() - this.layout.fieldOffset(this.fieldIndex);
+      int partialEnd = this.buffer.position();
+      this.buffer.position(partialStart);
+      this.writeBuffer();
+      // move the partial record to the start
+      for (int i = partialStart; i < partialEnd; i++) {
+        this.buffer.put(this.buffer.get(i));
+      }
+    }
+  }
+
+  /**
+   * Writes all bytes between the start and the position of the buffer to
+   * the channel and clears the buffer.
+   */
+  private void writeBuffer() throws IOException {
+    this.buffer.flip();
+    if (this.positional) {
+      FileChannel fileChannel = (FileChannel) this.channel;
+      while (this.buffer.hasRemaining()) {
+        this.channelPosition += fileChannel.write(this.buffer, this.channelPosition);
+      }
+    } else {
+      while (this.buffer.hasRemaining()) {
+        this.channel.write(this.buffer);
+      }
+    }
+    this.buffer.clear();
+  }
+
+  /**
+   * Writes all complete records to the channel. Does not close the
+   * channel.
+   *
+   * @throws IOException if writing to the channel fails
+   * @throws IllegalStateException if the last record has not been ended,
+   *         the complete records are still written
+   */
+  @Override
+  public void close() throws IOException {
+    this.flush();
+    if (this.fieldIndex != 0) {
+      throw new IllegalStateException("last record not ended");
+    }
+  }
+
+  /**
+   * Writes records in parallel in the common fork join pool.
+   *
+   * @param layout the layout of the records, not {@code null}
+   * @param channel the file to write to, not {@code null}
+   * @param recordCount the number of records to write
+   * @param formatter writes the fields of a record, not {@code null}
+   * @throws IOException if writing to the channel fails
+   * @see #writeParallel(FixedWidthLayout, FileChannel, long, RecordFormatter, ForkJoinPool)
+   */
+  public static void writeParallel(FixedWidthLayout layout, FileChannel channel, long recordCount, RecordFormatter formatter) throws IOException {
+    writeParallel(layout, channel, recordCount, formatter, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Writes records in parallel.
+   *
+   * <p>The record with index <code>i</code> starts at
+   * <code>i * recordLength</code> bytes from the position of the channel,
+   * so the range of records is split into slices that are formatted in
+   * separate tasks into their own buffers and written with positional
+   * writes without any coordination. The result is byte for byte the same
+   * as writing the records in order with a single writer. Afterwards the
+   * position of the channel is after the last record.</p>
+   *
+   * <p>The formatter is called concurrently, every call gets a writer
+   * that only it uses at that time.</p>
+   *
+   * @param layout the layout of the records, not {@code null}
+   * @param channel the file to write to, not {@code null}
+   * @param recordCount the number of records to write
+   * @param formatter writes the fields of a record, not {@code null}
+   * @param pool the pool to run the tasks in, not {@code null}
+   * @throws IOException if writing to the channel fails
+   * @throws IllegalArgumentException if {@code recordCount} is negative
+   */
+  public static void writeParallel(FixedWidthLayout layout, FileChannel channel, long recordCount,
+          RecordFormatter formatter, ForkJoinPool pool) throws IOException {
+    Objects.requireNonNull(layout, "layout");
+    Objects.requireNonNull(channel, "channel");
+    Objects.requireNonNull(formatter, "formatter");
+    Objects.requireNonNull(pool, "pool");
+    if (recordCount < 0L) {
+      throw new IllegalArgumentException("negative record count");
+    }
+    long start = channel.position();
+    int bufferRecords = Math.max(1, DEFAULT_BUFFER_SIZE / layout.recordLength());
+    // a few slices per worker for load balancing, but at least a full buffer each
+    long sliceRecords = Math.max(bufferRecords, recordCount / (4L * pool.getParallelism()));
+    try {
+      pool.invoke(new ExportTask(layout, channel, start, formatter, 0L, recordCount, sliceRecords));
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    }
+    channel.position(start + recordCount * layout.recordLength());
+  }
+
+  /**
+   * Writes the fields of a single record.
+   */
+  @FunctionalInterface
+  public interface RecordFormatter {
+
+    /**
+     * Writes all fields of a record, the record is ended by the caller.
+     *
+     * @param recordIndex the index of the record
+     * @param writer the writer to write the fields to
+     * @throws IOException if writing fails
+     */
+    void format(long recordIndex, FixedWidthWriter writer) throws IOException;
+
+  }
+
+  /**
+   * Formats and writes a range of records.
+   */
+  static final class ExportTask extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+
+    private final FixedWidthLayout layout;
+    private final FileChannel channel;
+    private final long start;
+    private final RecordFormatter formatter;
+    private final long fromRecord;
+    private final long toRecord;
+    private final long sliceRecords;
+
+    ExportTask(FixedWidthLayout layout, FileChannel channel, long start, RecordFormatter formatter,
+            long fromRecord, long toRecord, long sliceRecords) {
+      this.layout = layout;
+      this.channel = channel;
+      this.start = start;
+      this.formatter = formatter;
+      this.fromRecord = fromRecord;
+      this.toRecord = toRecord;
+      this.sliceRecords = sliceRecords;
+    }
+
+    @Override
+    protected void compute() {
+      long length = this.toRecord - this.fromRecord;
+      if (length <= this.sliceRecords) {
+        try {
+          this.writeSlice();
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+      } else {
+        long middle = this.fromRecord + length / 2L;
+        invokeAll(
+                new ExportTask(this.layout, this.channel, this.start, this.formatter, this.fromRecord, middle, this.sliceRecords),
+                new ExportTask(this.layout, this.channel, this.start, this.formatter, middle, this.toRecord, this.sliceRecords));
+      }
+    }
+
+    private void writeSlice() throws IOException {
+      int recordLength = this.layout.recordLength();
+      long length = this.toRecord - this.fromRecord;
+      int bufferSize = (int) Math.min(DEFAULT_BUFFER_SIZE, length * recordLength);
+      if (bufferSize == 0) {
+        return;
+      }
+      long position = this.start + this.fromRecord * recordLength;
+      FixedWidthWriter writer = new FixedWidthWriter(this.layout, this.channel, position, bufferSize);
+      for (long i = this.fromRecord; i < this.toRecord; i++) {
+        this.formatter.format(i, writer);
+        writer.endRecord();
+      }
+      writer.close();
+    }
+
+  }
+
+}
@@ -52,7 +52,12 @@ import java.util.Objects;
  */
 public final class HashCodeBuilder {
 
-  private static final int MULTPLIER = 31;
+  /**
+   * The initial value of the running total.
+   */
+  static final int INITIAL_TOTAL = 17;
+
+  static final int MULTPLIER = 31;
 
   /**
    * Running total of the hashCode.
@@ -65,7 +70,7 @@ public final class HashCodeBuilder {
    * </p>
    */
   public HashCodeBuilder() {
-    total = 17;
+    total = INITIAL_TOTAL;
   }
 
   /**
@@ -93,6 +98,28 @@ public final class HashCodeBuilder {
     return this;
   }
 
+  /**
+   * Append a <code>hashCode</code> for a range of a <code>boolean</code> array.
+   *
+   * <p>The result is the same as appending
+   * <code>Arrays.copyOfRange(array, fromIndex, toIndex)</code> but nothing
+   * is copied.</p>
+   *
+   * @param array
+   *            the array containing the range to add to the <code>hashCode</code>, not {@code null}
+   * @param fromIndex
+   *            the index of the first element (inclusive)
+   * @param toIndex
+   *            the index of the last element (exclusive)
+   * @return HashCodeBuilder - used to chain calls
+   * @throws IllegalArgumentException if {@code fromIndex > toIndex}
+   * @throws ArrayIndexOutOfBoundsException if {@code fromIndex < 0} or {@code toIndex > array.length}
+   */
+  public HashCodeBuilder append(boolean[] array, int fromIndex, int toIndex) {
+    total = total * MULTPLIER + ArrayRanges.hashCode(array, fromIndex, toIndex);
+    return this;
+  }
+
   /**
    * Append a <code>hashCode</code> for a <code>byte</code>.
    *
@@ -117,6 +144,28 @@ public final class HashCodeBuilder {
     return this;
   }
 
+  /**
+   * Append a <code>hashCode</code> for a range of a <code>byte</code> array.
+   *
+   * <p>The result is the same as appending
+   * <code>Arrays.copyOfRange(array, fromIndex, toIndex)</code> but nothing
+   * is copied.</p>
+   *
+   * @param array
+   *            the array containing the range to add to the <code>hashCode</code>, not {@code null}
+   * @param fromIndex
+   *            the index of the first element (inclusive)
+   * @param toIndex
+   *            the index of the last element (exclusive)
+   * @return HashCodeBuilder - used to chain calls
+   * @throws IllegalArgumentException if {@code fromIndex > toIndex}
+   * @throws ArrayIndexOutOfBoundsException if {@code fromIndex < 0} or {@code toIndex > array.length}
+   */
+  public HashCodeBuilder append(byte[] array, int fromIndex, int toIndex) {
+    total = total * MULTPLIER + ArrayRanges.hashCode(array, fromIndex, toIndex);
+    return this;
+  }
+
   /**
    * Append a <code>hashCode</code> for a <code>char</code>.
    *
@@ -141,6 +190,31 @@ public final class HashCodeBuilder {
     return this;
   }
 
+  /**
+   * Append a <code>hashCode</code> for a range of a <code>char</code> array.
+   *
+   * <p>The result is the same as appending
+   * <code>Arrays.copyOfRange(array, fromIndex, toIndex)</code> but nothing
+   * is copied.</p>
+   *
+   * <p>Unlike {@link #appendContent(char[], int, int)} the range is hashed
+   * like an array and not like a <code>String</code>.</p>
+   *
+   * @param array
+   *            the array containing the range to add to the <code>hashCode</code>, not {@code null}
+   * @param fromIndex
+   *            the index of the first element (inclusive)
+   * @param toIndex
+   *            the index of the last element (exclusive)
+   * @return HashCodeBuilder - used to chain calls
+   * @throws IllegalArgumentException if {@code fromIndex > toIndex}
+   * @throws ArrayIndexOutOfBoundsException if {@code fromIndex < 0} or {@code toIndex > array.length}
+   */
+  public HashCodeBuilder append(char[] array, int fromIndex, int toIndex) {
+    total = total * MULTPLIER + ArrayRanges.hashCode(array, fromIndex, toIndex);
+    return this;
+  }
+
   /**
    * Append a <code>hashCode</code> for a <code>double</code>.
    *
@@ -165,6 +239,28 @@ public final class HashCodeBuilder {
     return this;
   }
 
+  /**
+   * Append a <code>hashCode</code> for a range of a <code>double</code> array.
+   *
+   * <p>The result is the same as appending
+   * <code>Arrays.copyOfRange(array, fromIndex, toIndex)</code> but nothing
+   * is copied.</p>
+   *
+   * @param array
+   *            the array containing the range to add to the <code>hashCode</code>, not {@code null}
+   * @param fromIndex
+   *            the index of the first element (inclusive)
+   * @param toIndex
+   *            the index of the last element (exclusive)
+   * @return HashCodeBuilder - used to chain calls
+   * @throws IllegalArgumentException if {@code fromIndex > toIndex}
+   * @throws ArrayIndexOutOfBoundsException if {@code fromIndex < 0} or {@code toIndex > array.length}
+   */
+  public HashCodeBuilder append(double[] array, int fromIndex, int toIndex) {
+    total = total * MULTPLIER + ArrayRanges.hashCode(array, fromIndex, toIndex);
+    return this;
+  }
+
   /**
    * Append a <code>hashCode</code> for a <code>float</code>.
    *
@@ -189,6 +285,28 @@ public final class HashCodeBuilder {
     return this;
   }
 
+  /**
+   * Append a <code>hashCode</code> for a range of a <code>float</code> array.
+   *
+   * <p>The result is the same as appending
+   * <code>Arrays.copyOfRange(array, fromIndex, toIndex)</code> but nothing
+   * is copied.</p>
+   *
+   * @param array
+   *            the array containing the range to add to the <code>hashCode</code>, not {@code null}
+   * @param fromIndex
+   *            the index of the first element (inclusive)
+   * @param toIndex
+   *            the index of the last element (exclusive)
+   * @return HashCodeBuilder - used to chain calls
+   * @throws IllegalArgumentException if {@code fromIndex > toIndex}
+   * @throws ArrayIndexOutOfBoundsException if {@code fromIndex < 0} or {@code toIndex > array.length}
+   */
+  public HashCodeBuilder append(float[] array, int fromIndex, int toIndex) {
+    total = total * MULTPLIER + ArrayRanges.hashCode(array, fromIndex, toIndex);
+    return this;
+  }
+
   /**
    * Append a <code>hashCode</code> for an <code>int</code>.
    *
@@ -213,6 +331,28 @@ public final class HashCodeBuilder {
     return this;
   }
 
+  /**
+   * Append a <code>hashCode</code> for a range of an <code>int</code> array.
+   *
+   * <p>The result is the same as appending
+   * <code>Arrays.copyOfRange(array, fromIndex, toIndex)</code> but nothing
+   * is copied.</p>
+   *
+   * @param array
+   *            the array containing the range to add to the <code>hashCode</code>, not {@code null}
+   * @param fromIndex
+   *            the index of the first element (inclusive)
+   * @param toIndex
+   *            the index of the last element (exclusive)
+   * @return HashCodeBuilder - used to chain calls
+   * @throws IllegalArgumentException if {@code fromIndex > toIndex}
+   * @throws ArrayIndexOutOfBoundsException if {@code fromIndex < 0} or {@code toIndex > array.length}
+   */
+  public HashCodeBuilder append(int[] array, int fromIndex, int toIndex) {
+    total = total * MULTPLIER + ArrayRanges.hashCode(array, fromIndex, toIndex);
+    return this;
+  }
+
   /**
    * Append a <code>hashCode</code> for a <code>long</code>.
    *
@@ -237,6 +377,28 @@ public final class HashCodeBuilder {
     return this;
   }
 
+  /**
+   * Append a <code>hashCode</code> for a range of a <code>long</code> array.
+   *
+   * <p>The result is the same as appending
+   * <code>Arrays.copyOfRange(array, fromIndex, toIndex)</code> but nothing
+   * is copied.</p>
+   *
+   * @param array
+   *            the array containing the range to add to the <code>hashCode</code>, not {@code null}
+   * @param fromIndex
+   *            the index of the first element (inclusive)
+   * @param toIndex
+   *            the index of the last element (exclusive)
+   * @return HashCodeBuilder - used to chain calls
+   * @throws IllegalArgumentException if {@code fromIndex > toIndex}
+   * @throws ArrayIndexOutOfBoundsException if {@code fromIndex < 0} or {@code toIndex > array.length}
+   */
+  public HashCodeBuilder append(long[] array, int fromIndex, int toIndex) {
+    total = total * MULTPLIER + ArrayRanges.hashCode(array, fromIndex, toIndex);
+    return this;
+  }
+
   /**
    * Append a <code>hashCode</code> for an <code>Object</code>.
    *
@@ -305,6 +467,28 @@ public final class HashCodeBuilder {
     return this;
   }
 
+  /**
+   * Append a <code>hashCode</code> for a range of an <code>Object</code> array.
+   *
+   * <p>The result is the same as appending
+   * <code>Arrays.copyOfRange(array, fromIndex, toIndex)</code> but nothing
+   * is copied.</p>
+   *
+   * @param array
+   *            the array containing the range to add to the <code>hashCode</code>, not {@code null}
+   * @param fromIndex
+   *            the index of the first element (inclusive)
+   * @param toIndex
+   *            the index of the last element (exclusive)
+   * @return HashCodeBuilder - used to chain calls
+   * @throws IllegalArgumentException if {@code fromIndex > toIndex}
+   * @throws ArrayIndexOutOfBoundsException if {@code fromIndex < 0} or {@code toIndex > array.length}
+   */
+  public HashCodeBuilder append(Object[] array, int fromIndex, int toIndex) {
+    total = total * MULTPLIER + ArrayRanges.hashCode(array, fromIndex, toIndex);
+    return this;
+  }
+
   /**
    * Append a <code>hashCode</code> for an <code>Object</code> array.
    *
@@ -345,6 +529,86 @@ public final class HashCodeBuilder {
     return this;
   }
 
+  /**
+   * Append a <code>hashCode</code> for a range of a <code>short</code> array.
+   *
+   * <p>The result is the same as appending
+   * <code>Arrays.copyOfRange(array, fromIndex, toIndex)</code> but nothing
+   * is copied.</p>
+   *
+   * @param array
+   *            the array containing the range to add to the <code>hashCode</code>, not {@code null}
+   * @param fromIndex
+   *            the index of the first element (inclusive)
+   * @param toIndex
+   *            the index of the last element (exclusive)
+   * @return HashCodeBuilder - used to chain calls
+   * @throws IllegalArgumentException if {@code fromIndex > toIndex}
+   * @throws ArrayIndexOutOfBoundsException if {@code fromIndex < 0} or {@code toIndex > array.length}
+   */
+  public HashCodeBuilder append(short[] array, int fromIndex, int toIndex) {
+    total = total * MULTPLIER + ArrayRanges.hashCode(array, fromIndex, toIndex);
+    return this;
+  }
+
+  /**
+   * Append a <code>hashCode</code> for the characters of a <code>CharSequence</code>.
+   *
+   * <p>The characters are hashed exactly like {@link String#hashCode()}
+   * so the result is the same as calling {@link #append(Object)} with
+   * <code>value.toString()</code> but no <code>String</code> is created.</p>
+   *
+   * @param value
+   *            the characters to add to the <code>hashCode</code>, may be {@code null}
+   * @return HashCodeBuilder - used to chain calls
+   */
+  public HashCodeBuilder appendContent(CharSequence value) {
+    total = total * MULTPLIER + CharSequences.hashCode(value);
+    return this;
+  }
+
+  /**
+   * Append a <code>hashCode</code> for a range of a <code>char</code> array
+   * interpreted as a <code>String</code>.
+   *
+   * <p>The characters are hashed exactly like {@link String#hashCode()}
+   * so the result is the same as calling {@link #append(Object)} with
+   * <code>new String(array, fromIndex, toIndex - fromIndex)</code>
+   * but no <code>String</code> is created.</p>
+   *
+   * @param array
+   *            the array containing the characters to add to the <code>hashCode</code>
+   * @param fromIndex
+   *            the index of the first character (inclusive)
+   * @param toIndex
+   *            the index of the last character (exclusive)
+   * @return HashCodeBuilder - used to chain calls
+   * @throws IllegalArgumentException if {@code fromIndex > toIndex}
+   * @throws ArrayIndexOutOfBoundsException if {@code fromIndex < 0} or {@code toIndex > array.length}
+   */
+  public HashCodeBuilder appendContent(char[] array, int fromIndex, int toIndex) {
+    total = total * MULTPLIER + CharSequences.hashCode(array, fromIndex, toIndex);
+    return this;
+  }
+
+  /**
+   * Append a case insensitive <code>hashCode</code> for the characters of a <code>CharSequence</code>.
+   *
+   * <p>The case of every character is folded before hashing so two values
+   * that are equal according to
+   * {@link EqualsBuilder#appendIgnoreCase(CharSequence, CharSequence)}
+   * have the same hash code. Unlike calling <code>toLowerCase()</code>
+   * first no <code>String</code> is created.</p>
+   *
+   * @param value
+   *            the characters to add to the <code>hashCode</code>, may be {@code null}
+   * @return HashCodeBuilder - used to chain calls
+   */
+  public HashCodeBuilder appendIgnoreCase(CharSequence value) {
+    total = total * MULTPLIER + CharSequences.hashCodeIgnoreCase(value);
+    return this;
+  }
+
   /**
    * Adds the result of super.hashCode() to this builder.
    *
@@ -357,6 +621,25 @@ public final class HashCodeBuilder {
     return this;
   }
 
+  /**
+   * Computes <code>MULTPLIER^exponent</code> with <code>int</code> overflow,
+   * the factor by which a total is multiplied when <code>exponent</code>
+   * more values are appended.
+   */
+  static int multiplierPower(long exponent) {
+    int result = 1;
+    int base = MULTPLIER;
+    long e = exponent;
+    while (e != 0L) {
+      if ((e & 1L) != 0L) {
+        result *= base;
+      }
+      base *= base;
+      e >>>= 1;
+    }
+    return result;
+  }
+
   /**
    * Return the computed <code>hashCode</code>.
    *
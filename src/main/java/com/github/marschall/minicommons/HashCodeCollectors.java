@@ -0,0 +1,124 @@
+package com.github.marschall.minicommons;
+
+import java.util.Objects;
+import java.util.function.ToIntFunction;
+import java.util.stream.Collector;
+import java.util.stream.Collector.Characteristics;
+
+/**
+ * {@link Collector}s that compute hash codes over the elements of a
+ * stream, also in parallel.
+ *
+ * <pre><code>
+ * int hash = records.parallelStream()
+ *   .collect(HashCodeCollectors.toHashCode());
+ * </code></pre>
+ */
+public final class HashCodeCollectors {
+
+  private HashCodeCollectors() {
+    throw new AssertionError("not instantiable");
+  }
+
+  /**
+   * Returns a collector that computes the same hash code as appending
+   * every element in encounter order to a {@link HashCodeBuilder} with
+   * {@link HashCodeBuilder#append(Object)}.
+   *
+   * <p>The result is exact also for parallel streams: partial results
+   * carry the hash and the number of elements and are combined with
+   * <code>h1 * 31^n2 + h2</code>.</p>
+   *
+   * @param <T> the type of the elements
+   * @return the collector
+   */
+  public static <T> Collector<T, ?, Integer> toHashCode() {
+    return toHashCode(Objects::hashCode);
+  }
+
+  /**
+   * Returns a collector that computes the same hash code as appending
+   * the hash code of every element in encounter order to a
+   * {@link HashCodeBuilder} with {@link HashCodeBuilder#append(int)}.
+   *
+   * @param <T> the type of the elements
+   * @param hashFunction computes the hash code of an element, not {@code null}
+   * @return the collector
+   * @see #toHashCode()
+   */
+  public static <T> Collector<T, ?, Integer> toHashCode(ToIntFunction<? super T> hashFunction) {
+    Objects.requireNonNull(hashFunction, "hashFunction");
+    return Collector.of(
+            OrderedHashCode::new,
+            (partial, element) -> partial.add(hashFunction.applyAsInt(element)),
+            OrderedHashCode::combine,
+            OrderedHashCode::finish);
+  }
+
+  /**
+   * Returns a collector that computes a hash code that does not depend
+   * on the order of the elements.
+   *
+   * <p>The result is the same as appending every element to an
+   * {@link UnorderedHashCodeBuilder} with
+   * {@link UnorderedHashCodeBuilder#append(Object)}.</p>
+   *
+   * @param <T> the type of the elements
+   * @return the collector
+   */
+  public static <T> Collector<T, ?, Integer> toUnorderedHashCode() {
+    return toUnorderedHashCode(Objects::hashCode);
+  }
+
+  /**
+   * Returns a collector that computes a hash code that does not depend
+   * on the order of the elements.
+   *
+   * <p>The result is the same as appending the hash code of every element
+   * to an {@link UnorderedHashCodeBuilder} with
+   * {@link UnorderedHashCodeBuilder#append(int)}.</p>
+   *
+   * @param <T> the type of the elements
+   * @param hashFunction computes the hash code of an element, not {@code null}
+   * @return the collector
+   */
+  public static <T> Collector<T, ?, Integer> toUnorderedHashCode(ToIntFunction<? super T> hashFunction) {
+    Objects.requireNonNull(hashFunction, "hashFunction");
+    return Collector.of(
+            UnorderedHashCodeBuilder::new,
+            (builder, element) -> builder.append(hashFunction.applyAsInt(element)),
+            UnorderedHashCodeBuilder::merge,
+            UnorderedHashCodeBuilder::toHashCode,
+            Characteristics.UNORDERED);
+  }
+
+  /**
+   * Partial result of an ordered hash code.
+   */
+  private static final class OrderedHashCode {
+
+    /**
+     * Hash of the elements as if starting with a total of 0.
+     */
+    private int hash;
+
+    private long count;
+
+    void add(int elementHash) {
+      this.hash = this.hash * HashCodeBuilder.MULTPLIER + elementHash;
+      this.count += 1L;
+    }
+
+    OrderedHashCode combine(OrderedHashCode other) {
+      this.hash = this.hash * HashCodeBuilder.multiplierPower(other.count) + other.hash;
+      this.count += other.count;
+      return this;
+    }
+
+    Integer finish() {
+      return HashCodeBuilder.INITIAL_TOTAL * HashCodeBuilder.multiplierPower(this.count) + this.hash;
+    }
+
+  }
+
+}
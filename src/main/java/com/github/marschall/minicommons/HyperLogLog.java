@@ -0,0 +1,244 @@
+package com.github.marschall.minicommons;
+
+/**
+ * A HyperLogLog sketch that estimates the number of distinct elements.
+ *
+ * <p>A sketch uses a fixed amount of memory, one byte per register,
+ * independent of the number of elements added. The relative standard
+ * error of the estimate is about <code>1.04 / sqrt(2^precision)</code>,
+ * for the default precision of 14 this is about 0.8% with 16 KiB of
+ * registers.</p>
+ *
+ * <p>Elements are described by their 64 bit hash code, usually computed
+ * with a {@link LongHashCodeBuilder} from the same fields that are used
+ * in <code>equals</code>.</p>
+ *
+ * <pre><code>
+ * HyperLogLog sketch = new HyperLogLog();
+ * sketch.add(new LongHashCodeBuilder()
+ *   .append(id)
+ *   .append(name)
+ *   .toLongHashCode());
+ * long distinct = sketch.cardinality();
+ * </code></pre>
+ *
+ * <p>A sketch is not safe for concurrent use. Instead each thread should
+ * fill its own sketch, they can be combined at the end with
+ * {@link #merge(HyperLogLog)}. Sketches can be transferred with
+ * {@link #toByteArray()} and {@link #fromByteArray(byte[])}.</p>
+ */
+public final class HyperLogLog {
+
+  /**
+   * The default precision, 2^14 registers.
+   */
+  public static final int DEFAULT_PRECISION = 14;
+
+  /**
+   * The smallest supported precision.
+   */
+  public static final int MINIMUM_PRECISION = 4;
+
+  /**
+   * The largest supported precision.
+   */
+  public static final int MAXIMUM_PRECISION = 18;
+
+  /**
+   * Number of bits of a register in the serialized form, large enough
+   * for the highest possible rank of 61.
+   */
+  private static final int REGISTER_BITS = 6;
+
+  private static final int REGISTER_MASK = (1 << REGISTER_BITS) - 1;
+
+  private final int precision;
+
+  private final byte[] registers;
+
+  /**
+   * Creates a new empty sketch with the default precision.
+   *
+   * @see #DEFAULT_PRECISION
+   */
+  public HyperLogLog() {
+    this(DEFAULT_PRECISION);
+  }
+
+  /**
+   * Creates a new empty sketch.
+   *
+   * @param precision the base 2 logarithm of the number of registers,
+   *        between {@value #MINIMUM_PRECISION} and
+   *        {@value #MAXIMUM_PRECISION} inclusive
+   * @throws IllegalArgumentException if the precision is out of range
+   */
+  public HyperLogLog(int precision) {
+    if (precision < MINIMUM_PRECISION || precision > MAXIMUM_PRECISION) {
+      throw new IllegalArgumentException("precision must be between "
+              + MINIMUM_PRECISION + " and " + MAXIMUM_PRECISION);
+    }
+    this.precision = precision;
+    this.registers = new byte[1 << precision];
+  }
+
+  /**
+   * Returns the base 2 logarithm of the number of registers.
+   *
+   * @return the precision
+   */
+  public int precision() {
+    return this.precision;
+  }
+
+  /**
+   * Adds an element.
+   *
+   * @param hashCode the 64 bit hash code of the element
+   * @return {@code true} if a register changed
+   * @see LongHashCodeBuilder#toLongHashCode()
+   */
+  public boolean add(long hashCode) {
+    int index = (int) (hashCode >>> (Long.SIZE - this.precision));
+    // a sentinel bit limits the rank to 64 - precision + 1
+    long remaining = (hashCode << this.precision) | (1L << (this.precision - 1));
+    byte rank = (byte) (Long.numberOfLeadingZeros(remaining) + 1);
+    if (rank > this.registers[index]) {
+      this.registers[index] = rank;
+      return true;
+    }
+    return false;
+  }
+
+  /**
+   * Returns the estimated number of distinct elements added.
+   *
+   * @return the estimated cardinality
+   */
+  public long cardinality() {
+    int registerCount = this.registers.length;
+    double sum = 0.0d;
+    int zeros = 0;
+    for (byte register : this.registers) {
+      sum += 1.0d / (1L << register);
+      if (register == 0) {
+        zeros += 1;
+      }
+    }
+    double estimate = alpha(registerCount) * registerCount * registerCount / sum;
+    if (estimate <= 2.5d * registerCount && zeros > 0) {
+      // linear counting is more accurate for small cardinalities
+      estimate = registerCount * Math.log((double) registerCount / zeros);
+    }
+    // with a 64 bit hash no large range correction is needed
+    return Math.round(estimate);
+  }
+
+  private static double alpha(int registerCount) {
+    switch (registerCount) {
+      case 16:
+        return 0.673d;
+      case 32:
+        return 0.697d;
+      case 64:
+        return 0.709d;
+      default:
+        return 0.7213d / (1.0d + 1.079d / registerCount);
+    }
+  }
+
+  /**
+   * Adds all elements of an other sketch to this sketch.
+   *
+   * <p>Afterwards the estimate of this sketch is the estimate of the
+   * union of both sketches.</p>
+   *
+   * @param other the sketch to merge, has to have the same precision
+   * @throws IllegalArgumentException if the sketches have a different
+   *         precision
+   */
+  public void merge(HyperLogLog other) {
+    if (other.precision != this.precision) {
+      throw new IllegalArgumentException("sketches have different precisions");
+    }
+    for (int i = 0; i < this.registers.length; i++) {
+      if (other.registers[i] > this.registers[i]) {
+        this.registers[i] = other.registers[i];
+      }
+    }
+  }
+
+  /**
+   * Returns the compact serialized form of this sketch.
+   *
+   * <p>The first byte is the precision, followed by the registers packed
+   * into 6 bits each, big endian.</p>
+   *
+   * @return the serialized form
+   * @see #fromByteArray(byte[])
+   */
+  public byte[] toByteArray() {
+    byte[] bytes = new byte[serializedLength(this.precision)];
+    bytes[0] = (byte) this.precision;
+    int position = 1;
+    int buffer = 0;
+    int bufferedBits = 0;
+    for (byte register : this.registers) {
+      buffer = (buffer << REGISTER_BITS) | register;
+      bufferedBits += REGISTER_BITS;
+      if (bufferedBits >= Byte.SIZE) {
+        bufferedBits -= Byte.SIZE;
+        bytes[position++] = (byte) (buffer >>> bufferedBits);
+      }
+    }
+    if (bufferedBits > 0) {
+      bytes[position] = (byte) (buffer << (Byte.SIZE - bufferedBits));
+    }
+    return bytes;
+  }
+
+  /**
+   * Creates a sketch from its serialized form.
+   *
+   * @param bytes the serialized form, not {@code null}
+   * @return the sketch
+   * @throws IllegalArgumentException if {@code bytes} is not a valid
+   *         serialized form
+   * @see #toByteArray()
+   */
+  public static HyperLogLog fromByteArray(byte[] bytes) {
+    if (bytes.length == 0) {
+      throw new IllegalArgumentException("empty serialized form");
+    }
+    int precision = bytes[0];
+    if (precision < MINIMUM_PRECISION || precision > MAXIMUM_PRECISION) {
+      throw new IllegalArgumentException("invalid precision: " + precision);
+    }
+    if (bytes.length != serializedLength(precision)) {
+      throw new IllegalArgumentException("invalid length: " + bytes.length);
+    }
+    HyperLogLog sketch = new HyperLogLog(precision);
+    int maximumRank = Long.SIZE - precision + 1;
+    int position = 1;
+    int buffer = 0;
+    int bufferedBits = 0;
+    for (int i = 0; i < sketch.registers.length; i++) {
+      if (bufferedBits < REGISTER_BITS) {
+        buffer = (buffer << Byte.SIZE) | (bytes[position++] & 0xFF);
+        bufferedBits += Byte.SIZE;
+      }
+      bufferedBits -= REGISTER_BITS;
+      int register = (buffer >>> bufferedBits) & REGISTER_MASK;
+      if (register > maximumRank) {
+        throw new IllegalArgumentException("invalid register value: " + register);
+      }
+      sketch.registers[i] = (byte) register;
+    }
+    return sketch;
+  }
+
+  private static int serializedLength(int precision) {
+    return 1 + (((1 << precision) * REGISTER_BITS) + Byte.SIZE - 1) / Byte.SIZE;
+  }
+
+}
@@ -0,0 +1,374 @@
+package com.github.marschall.minicommons;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToLongFunction;
+
+/**
+ * Canonicalizes equal immutable value objects so that only one instance
+ * of each is retained, like {@link String#intern()} does for strings.
+ *
+ * <p>Canonicalization relies on {@link Object#equals(Object)} and
+ * {@link Object#hashCode()} of the interned objects, typically
+ * implemented with {@link EqualsBuilder} and {@link HashCodeBuilder}.
+ * Interned objects must not be modified.</p>
+ *
+ * <p>An interner is safe for concurrent use. The table is split into lock
+ * striped segments so that threads interning different values rarely
+ * contend.</p>
+ *
+ * <p>A strong interner retains all canonical instances until it is
+ * itself discarded. A weak interner only references canonical instances
+ * weakly so that instances no longer used anywhere else can be garbage
+ * collected.</p>
+ *
+ * <pre><code>
+ * Interner&lt;Instrument&gt; instruments = Interner.newWeakInterner();
+ * Instrument instrument = instruments.intern(new Instrument(isin, currency));
+ * </code></pre>
+ *
+ * @param <T> the type of the interned objects
+ */
+public final class Interner<T> {
+
+  private static final int MAXIMUM_SEGMENT_BITS = 16;
+
+  private final Segment<T>[] segments;
+
+  private final int segmentShift;
+
+  private final ToLongFunction<? super T> sizeEstimator;
+
+  private final LongAdder hitCount;
+
+  private final LongAdder missCount;
+
+  private final LongAdder bytesSaved;
+
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  private Interner(boolean weak, ToLongFunction<? super T> sizeEstimator) {
+    this.sizeEstimator = sizeEstimator;
+    this.hitCount = new LongAdder();
+    this.missCount = new LongAdder();
+    this.bytesSaved = new LongAdder();
+    int segmentBits = segmentBits(Runtime.getRuntime().availableProcessors() * 4);
+    this.segmentShift = 32 - segmentBits;
+    this.segments = new Segment[1 << segmentBits];
+    for (int i = 0; i < this.segments.length; i++) {
+      this.segments[i] = new Segment<>(weak);
+    }
+  }
+
+  private static int segmentBits(int concurrencyLevel) {
+    int bits = 32 - Integer.numberOfLeadingZeros(concurrencyLevel - 1);
+    return Math.max(1, Math.min(bits, MAXIMUM_SEGMENT_BITS));
+  }
+
+  /**
+   * Creates a new interner that strongly references canonical instances.
+   *
+   * @param <T> the type of the interned objects
+   * @return the new interner
+   */
+  public static <T> Interner<T> newStrongInterner() {
+    return new Interner<>(false, null);
+  }
+
+  /**
+   * Creates a new interner that strongly references canonical instances
+   * and estimates the memory saved.
+   *
+   * @param <T> the type of the interned objects
+   * @param sizeEstimator estimates the retained size in bytes of a
+   *        duplicate instance, called on every hit, not {@code null}
+   * @return the new interner
+   * @see #estimatedBytesSaved()
+   */
+  public static <T> Interner<T> newStrongInterner(ToLongFunction<? super T> sizeEstimator) {
+    Objects.requireNonNull(sizeEstimator, "sizeEstimator");
+    return new Interner<>(false, sizeEstimator);
+  }
+
+  /**
+   * Creates a new interner that weakly references canonical instances.
+   *
+   * @param <T> the type of the interned objects
+   * @return the new interner
+   */
+  public static <T> Interner<T> newWeakInterner() {
+    return new Interner<>(true, null);
+  }
+
+  /**
+   * Creates a new interner that weakly references canonical instances
+   * and estimates the memory saved.
+   *
+   * @param <T> the type of the interned objects
+   * @param sizeEstimator estimates the retained size in bytes of a
+   *        duplicate instance, called on every hit, not {@code null}
+   * @return the new interner
+   * @see #estimatedBytesSaved()
+   */
+  public static <T> Interner<T> newWeakInterner(ToLongFunction<? super T> sizeEstimator) {
+    Objects.requireNonNull(sizeEstimator, "sizeEstimator");
+    return new Interner<>(true, sizeEstimator);
+  }
+
+  /**
+   * Returns the canonical instance equal to the given sample.
+   *
+   * <p>If no equal instance has been interned yet the sample becomes
+   * the canonical instance.</p>
+   *
+   * @param sample the object to canonicalize, not {@code null}
+   * @return the canonical instance equal to {@code sample}
+   */
+  public T intern(T sample) {
+    Objects.requireNonNull(sample, "sample");
+    int hash = spread(sample.hashCode());
+    T canonical = this.segments[hash >>> this.segmentShift].intern(sample, hash);
+    if (canonical == null) {
+      this.missCount.increment();
+      return sample;
+    }
+    this.hitCount.increment();
+    if (canonical != sample && this.sizeEstimator != null) {
+      this.bytesSaved.add(this.sizeEstimator.applyAsLong(sample));
+    }
+    return canonical;
+  }
+
+  /**
+   * Improves the distribution of the high bits which select the segment
+   * and the low bits which select the bucket.
+   */
+  private static int spread(int hashCode) {
+    int h = hashCode * 0x9E3779B9;
+    return h ^ (h >>> 16);
+  }
+
+  /**
+   * Returns the number of canonical instances.
+   *
+   * <p>For a weak interner the value may include instances that are
+   * about to be garbage collected.</p>
+   *
+   * @return the number of canonical instances
+   */
+  public int size() {
+    long size = 0L;
+    for (Segment<T> segment : this.segments) {
+      size += segment.size();
+    }
+    return (int) Math.min(size, Integer.MAX_VALUE);
+  }
+
+  /**
+   * Returns the number of calls to {@link #intern(Object)} that returned
+   * an already existing canonical instance.
+   *
+   * @return the number of hits
+   */
+  public long hitCount() {
+    return this.hitCount.sum();
+  }
+
+  /**
+   * Returns the number of calls to {@link #intern(Object)} that made the
+   * sample the canonical instance.
+   *
+   * @return the number of misses
+   */
+  public long missCount() {
+    return this.missCount.sum();
+  }
+
+  /**
+   * Returns the estimated number of bytes saved by returning canonical
+   * instances instead of duplicates.
+   *
+   * @return the estimated number of bytes saved, {@code 0} if the
+   *         interner was created without a size estimator
+   */
+  public long estimatedBytesSaved() {
+    return this.bytesSaved.sum();
+  }
+
+  private interface Entry<T> {
+
+    T get();
+
+    int hash();
+
+    Entry<T> next();
+
+    void setNext(Entry<T> next);
+
+  }
+
+  private static final class StrongEntry<T> implements Entry<T> {
+
+    private final T value;
+    private final int hash;
+    private Entry<T> next;
+
+    StrongEntry(T value, int hash, Entry<T> next) {
+      this.value = value;
+      this.hash = hash;
+      this.next = next;
+    }
+
+    @Override
+    public T get() {
+      return this.value;
+    }
+
+    @Override
+    public int hash() {
+      return this.hash;
+    }
+
+    @Override
+    public Entry<T> next() {
+      return this.next;
+    }
+
+    @Override
+    public void setNext(Entry<T> next) {
+      this.next = next;
+    }
+
+  }
+
+  private static final class WeakEntry<T> extends WeakReference<T> implements Entry<T> {
+
+    private final int hash;
+    private Entry<T> next;
+
+    WeakEntry(T value, int hash, Entry<T> next, ReferenceQueue<T> queue) {
+      super(value, queue);
+      this.hash = hash;
+      this.next = next;
+    }
+
+    @Override
+    public int hash() {
+      return this.hash;
+    }
+
+    @Override
+    public Entry<T> next() {
+      return this.next;
+    }
+
+    @Override
+    public void setNext(Entry<T> next) {
+      this.next = next;
+    }
+
+  }
+
+  private static final class Segment<T> {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final ReferenceQueue<T> queue;
+
+    private Entry<T>[] table;
+
+    private int count;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    Segment(boolean weak) {
+      this.queue = weak ? new ReferenceQueue<>() : null;
+      this.table = new Entry[INITIAL_CAPACITY];
+    }
+
+    synchronized int size() {
+      this.expungeStaleEntries();
+      return this.count;
+    }
+
+    /**
+     * Returns the canonical instance or {@code null} if the sample has
+     * been added as the canonical instance.
+     */
+    synchronized T intern(T sample, int hash) {
+      this.expungeStaleEntries();
+      Entry<T>[] tab = this.table;
+      int index = hash & (tab.length - 1);
+      for (Entry<T> e = tab[index]; e != null; e = e.next()) {
+        if (e.hash() == hash) {
+          T candidate = e.get();
+          if (candidate != null && (candidate == sample || candidate.equals(sample))) {
+            return candidate;
+          }
+        }
+      }
+      tab[index] = this.newEntry(sample, hash, tab[index]);
+      this.count += 1;
+      if (this.count > tab.length - (tab.length >>> 2)) {
+        this.resize();
+      }
+      return null;
+    }
+
+    private Entry<T> newEntry(T value, int hash, Entry<T> next) {
+      if (this.queue != null) {
+        return new WeakEntry<>(value, hash, next, this.queue);
+      } else {
+        return new StrongEntry<>(value, hash, next);
+      }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private void resize() {
+      Entry<T>[] oldTable = this.table;
+      Entry<T>[] newTable = new Entry[oldTable.length * 2];
+      for (Entry<T> head : oldTable) {
+        Entry<T> e = head;
+        while (e != null) {
+          Entry<T> next = e.next();
+          int index = e.hash() & (newTable.length - 1);
+          e.setNext(newTable[index]);
+          newTable[index] = e;
+          e = next;
+        }
+      }
+      this.table = newTable;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void expungeStaleEntries() {
+      if (this.queue == null) {
+        return;
+      }
+      Reference<? extends T> reference;
+      while ((reference = this.queue.poll()) != null) {
+        this.remove((Entry<T>) reference);
+      }
+    }
+
+    private void remove(Entry<T> stale) {
+      int index = stale.hash() & (this.table.length - 1);
+      Entry<T> previous = null;
+      for (Entry<T> e = this.table[index]; e != null; e = e.next()) {
+        if (e == stale) {
+          if (previous == null) {
+            this.table[index] = e.next();
+          } else {
+            previous.setNext(e.next());
+          }
+          this.count -= 1;
+          return;
+        }
+        previous = e;
+      }
+    }
+
+  }
+
+}
@@ -0,0 +1,48 @@
+package com.github.marschall.minicommons;
+
+/**
+ * Assigns keys to a number of buckets with the jump consistent hash
+ * algorithm of Lamping and Veach.
+ *
+ * <p>When the number of buckets grows from <code>n</code> to
+ * <code>n + 1</code> only about <code>1 / (n + 1)</code> of the keys move,
+ * all of them to the new bucket. No state besides the number of buckets
+ * is needed.</p>
+ *
+ * <p>The result depends only on the arguments and will not change in
+ * future versions. Combined with a {@link StableHashCodeBuilder} this
+ * gives a partitioning that is identical across JVM runs and versions.</p>
+ *
+ * @see <a href="https://arxiv.org/abs/1406.2294">A Fast, Minimal Memory, Consistent Hash Algorithm</a>
+ */
+public final class JumpConsistentHash {
+
+  private JumpConsistentHash() {
+    throw new AssertionError("not instantiable");
+  }
+
+  /**
+   * Returns the bucket of a key.
+   *
+   * @param key the key, for example a stable hash code
+   * @param buckets the number of buckets, positive
+   * @return the bucket, between 0 inclusive and {@code buckets} exclusive
+   * @throws IllegalArgumentException if {@code buckets} is not positive
+   * @see StableHashCodeBuilder#toHashCode()
+   */
+  public static int bucket(long key, int buckets) {
+    if (buckets <= 0) {
+      throw new IllegalArgumentException("buckets must be positive");
+    }
+    long k = key;
+    long b = -1L;
+    long j = 0L;
+    while (j < buckets) {
+      b = j;
+      k = k * 2862933555777941757L + 1L;
+      j = (long) ((b + 1L) * ((double) (1L << 31) / (double) ((k >>> 33) + 1L)));
+    }
+    return (int) b;
+  }
+
+}
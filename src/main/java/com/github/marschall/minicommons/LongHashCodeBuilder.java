@@ -0,0 +1,420 @@
+package com.github.marschall.minicommons;
+
+/**
+ * Builds a well mixed 64 bit hash code from a sequence of fields.
+ *
+ * <p>
+ * This class offers the same <code>append</code> methods as {@link HashCodeBuilder} so a record can be described
+ * the same way. Unlike {@link HashCodeBuilder} the result has 64 bits and every bit depends on every appended value
+ * which makes it suitable as the input of probabilistic data structures like {@link BloomFilter} and
+ * {@link HyperLogLog}.
+ * </p>
+ *
+ * <p>
+ * Every appended value is fed into the state as one or more 64 bit words using the round function of xxHash64, the
+ * result is finished with the finalizer of MurmurHash3. Objects contribute their <code>hashCode()</code> which only
+ * has 32 bits, <code>String</code>s and arrays are hashed by content with all 64 bits.
+ * </p>
+ *
+ * <pre><code>
+ * long hash = new LongHashCodeBuilder()
+ *   .append(name)
+ *   .append(age)
+ *   .append(smoker)
+ *   .toLongHashCode();
+ * </code></pre>
+ */
+public final class LongHashCodeBuilder {
+
+  private static final long PRIME_1 = 0x9E3779B185EBCA87L;
+
+  private static final long PRIME_2 = 0xC2B2AE3D27D4EB4FL;
+
+  private static final long SEED = 0x27D4EB2F165667C5L;
+
+  /**
+   * Running state of the hash code.
+   */
+  private long state;
+
+  /**
+   * Creates a new builder with a fixed initial state.
+   */
+  public LongHashCodeBuilder() {
+    this.state = SEED;
+  }
+
+  private void round(long value) {
+    long s = this.state + value * PRIME_2;
+    s = Long.rotateLeft(s, 31);
+    this.state = s * PRIME_1;
+  }
+
+  /**
+   * Length prefix that distinguishes {@code null} from empty values.
+   */
+  private void length(int length) {
+    this.round(length + 1L);
+  }
+
+  /**
+   * The MurmurHash3 64 bit finalizer.
+   */
+  static long mix(long value) {
+    long h = value;
+    h ^= h >>> 33;
+    h *= 0xFF51AFD7ED558CCDL;
+    h ^= h >>> 33;
+    h *= 0xC4CEB9FE1A85EC53L;
+    h ^= h >>> 33;
+    return h;
+  }
+
+  /**
+   * Append a <code>boolean</code>.
+   *
+   * @param value
+   *            the boolean to add to the hash code
+   * @return LongHashCodeBuilder - used to chain calls
+   */
+  public LongHashCodeBuilder append(boolean value) {
+    this.round(value ? 1L : 0L);
+    return this;
+  }
+
+  /**
+   * Append a <code>boolean</code> array.
+   *
+   * @param array
+   *            the array to add to the hash code, may be {@code null}
+   * @return LongHashCodeBuilder - used to chain calls
+   */
+  public LongHashCodeBuilder append(boolean[] array) {
+    if (array == null) {
+      this.round(0L);
+    } else {
+      this.length(array.length);
+      for (boolean element : array) {
+        this.round(element ? 1L : 0L);
+      }
+    }
+    return this;
+  }
+
+  /**
+   * Append a <code>byte</code>.
+   *
+   * @param value
+   *            the byte to add to the hash code
+   * @return LongHashCodeBuilder - used to chain calls
+   */
+  public LongHashCodeBuilder append(byte value) {
+    this.round(value);
+    return this;
+  }
+
+  /**
+   * Append a <code>byte</code> array.
+   *
+   * @param array
+   *            the array to add to the hash code, may be {@code null}
+   * @return LongHashCodeBuilder - used to chain calls
+   */
+  public LongHashCodeBuilder append(byte[] array) {
+    if (array == null) {
+      this.round(0L);
+    } else {
+      this.length(array.length);
+      int i = 0;
+      // eight bytes per round
+      while (i + Long.BYTES <= array.length) {
+        long word = 0L;
+        for (int j = 0; j < Long.BYTES; j++) {
+          word = (word << 8) | (array[i + j] & 0xFFL);
+        }
+        this.round(word);
+        i += Long.BYTES;
+      }
+      while (i < array.length) {
+        this.round(array[i]);
+        i += 1;
+      }
+    }
+    return this;
+  }
+
+  /**
+   * Append a <code>char</code>.
+   *
+   * @param value
+   *            the char to add to the hash code
+   * @return LongHashCodeBuilder - used to chain calls
+   */
+  public LongHashCodeBuilder append(char value) {
+    this.round(value);
+    return this;
+  }
+
+  /**
+   * Append a <code>char</code> array.
+   *
+   * @param array
+   *            the array to add to the hash code, may be {@code null}
+   * @return LongHashCodeBuilder - used to chain calls
+   */
+  public LongHashCodeBuilder append(char[] array) {
+    if (array == null) {
+      this.round(0L);
+    } else {
+      this.length(array.length);
+      int i = 0;
+      // four chars per round
+      while (i + 4 <= array.length) {
+        this.round(((long) array[i] << 48) | ((long) array[i + 1] << 32) | ((long) array[i + 2] << 16) | array[i + 3]);
+        i += 4;
+      }
+      while (i < array.length) {
+        this.round(array[i]);
+        i += 1;
+      }
+    }
+    return this;
+  }
+
+  /**
+   * Append the characters of a <code>CharSequence</code>.
+   *
+   * <p>The result is the same as appending the <code>char</code> array
+   * of the characters.</p>
+   *
+   * @param value
+   *            the characters to add to the hash code, may be {@code null}
+   * @return LongHashCodeBuilder - used to chain calls
+   */
+  public LongHashCodeBuilder appendContent(CharSequence value) {
+    if (value == null) {
+      this.round(0L);
+    } else {
+      int length = value.length();
+      this.length(length);
+      int i = 0;
+      // four chars per round
+      while (i + 4 <= length) {
+        this.round(((long) value.charAt(i) << 48) | ((long) value.charAt(i + 1) << 32)
+                | ((long) value.charAt(i + 2) << 16) | value.charAt(i + 3));
+        i += 4;
+      }
+      while (i < length) {
+        this.round(value.charAt(i));
+        i += 1;
+      }
+    }
+    return this;
+  }
+
+  /**
+   * Append a <code>double</code>.
+   *
+   * @param value
+   *            the double to add to the hash code
+   * @return LongHashCodeBuilder - used to chain calls
+   * @see Double#doubleToLongBits(double)
+   */
+  public LongHashCodeBuilder append(double value) {
+    this.round(Double.doubleToLongBits(value));
+    return this;
+  }
+
+  /**
+   * Append a <code>double</code> array.
+   *
+   * @param array
+   *            the array to add to the hash code, may be {@code null}
+   * @return LongHashCodeBuilder - used to chain calls
+   */
+  public LongHashCodeBuilder append(double[] array) {
+    if (array == null) {
+      this.round(0L);
+    } else {
+      this.length(array.length);
+      for (double element : array) {
+        this.round(Double.doubleToLongBits(element));
+      }
+    }
+    return this;
+  }
+
+  /**
+   * Append a <code>float</code>.
+   *
+   * @param value
+   *            the float to add to the hash code
+   * @return LongHashCodeBuilder - used to chain calls
+   * @see Float#floatToIntBits(float)
+   */
+  public LongHashCodeBuilder append(float value) {
+    this.round(Float.floatToIntBits(value));
+    return this;
+  }
+
+  /**
+   * Append a <code>float</code> array.
+   *
+   * @param array
+   *            the array to add to the hash code, may be {@code null}
+   * @return LongHashCodeBuilder - used to chain calls
+   */
+  public LongHashCodeBuilder append(float[] array) {
+    if (array == null) {
+      this.round(0L);
+    } else {
+      this.length(array.length);
+      for (float element : array) {
+        this.round(Float.floatToIntBits(element));
+      }
+    }
+    return this;
+  }
+
+  /**
+   * Append an <code>int</code>.
+   *
+   * @param value
+   *            the int to add to the hash code
+   * @return LongHashCodeBuilder - used to chain calls
+   */
+  public LongHashCodeBuilder append(int value) {
+    this.round(value);
+    return this;
+  }
+
+  /**
+   * Append an <code>int</code> array.
+   *
+   * @param array
+   *            the array to add to the hash code, may be {@code null}
+   * @return LongHashCodeBuilder - used to chain calls
+   */
+  public LongHashCodeBuilder append(int[] array) {
+    if (array == null) {
+      this.round(0L);
+    } else {
+      this.length(array.length);
+      for (int element : array) {
+        this.round(element);
+      }
+    }
+    return this;
+  }
+
+  /**
+   * Append a <code>long</code>.
+   *
+   * @param value
+   *            the long to add to the hash code
+   * @return LongHashCodeBuilder - used to chain calls
+   */
+  public LongHashCodeBuilder append(long value) {
+    this.round(value);
+    return this;
+  }
+
+  /**
+   * Append a <code>long</code> array.
+   *
+   * @param array
+   *            the array to add to the hash code, may be {@code null}
+   * @return LongHashCodeBuilder - used to chain calls
+   */
+  public LongHashCodeBuilder append(long[] array) {
+    if (array == null) {
+      this.round(0L);
+    } else {
+      this.length(array.length);
+      for (long element : array) {
+        this.round(element);
+      }
+    }
+    return this;
+  }
+
+  /**
+   * Append an <code>Object</code>.
+   *
+   * <p><code>String</code>s are hashed by content with all 64 bits, all
+   * other objects contribute their <code>hashCode()</code>.</p>
+   *
+   * @param object
+   *            the Object to add to the hash code, may be {@code null}
+   * @return LongHashCodeBuilder - used to chain calls
+   */
+  public LongHashCodeBuilder append(Object object) {
+    if (object instanceof String) {
+      return this.appendContent((String) object);
+    }
+    this.round(object == null ? 0L : object.hashCode());
+    return this;
+  }
+
+  /**
+   * Append an <code>Object</code> array.
+   *
+   * <p>Every element is appended with {@link #append(Object)}.</p>
+   *
+   * @param array
+   *            the array to add to the hash code, may be {@code null}
+   * @return LongHashCodeBuilder - used to chain calls
+   */
+  public LongHashCodeBuilder append(Object[] array) {
+    if (array == null) {
+      this.round(0L);
+    } else {
+      this.length(array.length);
+      for (Object element : array) {
+        this.append(element);
+      }
+    }
+    return this;
+  }
+
+  /**
+   * Append a <code>short</code>.
+   *
+   * @param value
+   *            the short to add to the hash code
+   * @return LongHashCodeBuilder - used to chain calls
+   */
+  public LongHashCodeBuilder append(short value) {
+    this.round(value);
+    return this;
+  }
+
+  /**
+   * Append a <code>short</code> array.
+   *
+   * @param array
+   *            the array to add to the hash code, may be {@code null}
+   * @return LongHashCodeBuilder - used to chain calls
+   */
+  public LongHashCodeBuilder append(short[] array) {
+    if (array == null) {
+      this.round(0L);
+    } else {
+      this.length(array.length);
+      for (short element : array) {
+        this.round(element);
+      }
+    }
+    return this;
+  }
+
+  /**
+   * Return the computed hash code.
+   *
+   * @return 64 bit hash code based on the fields appended
+   */
+  public long toLongHashCode() {
+    return mix(this.state);
+  }
+
+}
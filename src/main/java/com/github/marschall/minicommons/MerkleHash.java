@@ -0,0 +1,322 @@
+package com.github.marschall.minicommons;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Objects;
+
+/**
+ * A Merkle tree of 64 bit hash codes over a large array or buffer split
+ * into chunks of equal length.
+ *
+ * <p>Every leaf is the {@link LongHashCodeBuilder} hash of a chunk, every
+ * inner node the hash of its two children. After a modification only the
+ * modified chunks and their ancestors have to be rehashed, not the whole
+ * array. Two replicas of the same size with the same chunk length can be
+ * compared by their root hash, if the roots differ the differing chunks
+ * are found by descending only into differing subtrees.</p>
+ *
+ * <pre><code>
+ * MerkleHash hash = MerkleHash.of(values, 8192);
+ * values[42] = 1L;
+ * hash.markDirty(42);
+ * if (hash.rootHash() != replicaRootHash) {
+ *   for (int chunk : hash.differingChunks(replica)) {
+ *     sync(hash.chunkFromIndex(chunk), hash.chunkToIndex(chunk));
+ *   }
+ * }
+ * </code></pre>
+ *
+ * <p>The tree does not notice modifications by itself, they have to be
+ * reported with {@link #markDirty(int, int)}. This class is not safe for
+ * concurrent use.</p>
+ */
+public final class MerkleHash {
+
+  private final Source source;
+
+  private final int chunkLength;
+
+  private final int chunkCount;
+
+  /**
+   * Number of leaves, a power of two. The root is at index 1, the children
+   * of node <code>i</code> are at <code>2 * i</code> and
+   * <code>2 * i + 1</code>, leaf <code>c</code> is at
+   * <code>leafCapacity + c</code>.
+   */
+  private final int leafCapacity;
+
+  private final long[] nodes;
+
+  private final BitSet dirtyChunks;
+
+  private MerkleHash(Source source, int chunkLength) {
+    if (chunkLength <= 0) {
+      throw new IllegalArgumentException("chunk length must be positive");
+    }
+    this.source = source;
+    this.chunkLength = chunkLength;
+    this.chunkCount = Math.max(1, (int) ((source.length() + (long) chunkLength - 1L) / chunkLength));
+    this.leafCapacity = Integer.highestOneBit(this.chunkCount) == this.chunkCount
+            ? this.chunkCount
+            : Integer.highestOneBit(this.chunkCount) << 1;
+    this.nodes = new long[2 * this.leafCapacity];
+    this.dirtyChunks = new BitSet(this.chunkCount);
+    this.dirtyChunks.set(0, this.chunkCount);
+    this.refresh();
+  }
+
+  /**
+   * Creates a Merkle tree over a <code>long</code> array.
+   *
+   * @param array the array, not {@code null}, not copied
+   * @param chunkLength the number of elements per chunk, positive
+   * @return the Merkle tree
+   * @throws IllegalArgumentException if {@code chunkLength} is not positive
+   */
+  public static MerkleHash of(long[] array, int chunkLength) {
+    Objects.requireNonNull(array, "array");
+    return new MerkleHash(new LongArraySource(array), chunkLength);
+  }
+
+  /**
+   * Creates a Merkle tree over the bytes of a buffer between its position
+   * and its limit.
+   *
+   * <p>Indexes are relative to the position of the buffer at the time of
+   * this call, later changes of position and limit have no effect.</p>
+   *
+   * @param buffer the buffer, not {@code null}, not copied
+   * @param chunkLength the number of bytes per chunk, positive
+   * @return the Merkle tree
+   * @throws IllegalArgumentException if {@code chunkLength} is not positive
+   */
+  public static MerkleHash of(ByteBuffer buffer, int chunkLength) {
+    Objects.requireNonNull(buffer, "buffer");
+    return new MerkleHash(new ByteBufferSource(buffer.slice()), chunkLength);
+  }
+
+  /**
+   * Returns the number of elements per chunk, only the last chunk may be
+   * shorter.
+   *
+   * @return the number of elements per chunk
+   */
+  public int chunkLength() {
+    return this.chunkLength;
+  }
+
+  /**
+   * Returns the number of chunks.
+   *
+   * @return the number of chunks
+   */
+  public int chunkCount() {
+    return this.chunkCount;
+  }
+
+  /**
+   * Returns the index of the first element of a chunk.
+   *
+   * @param chunk the chunk
+   * @return the index of the first element of the chunk (inclusive)
+   */
+  public int chunkFromIndex(int chunk) {
+    this.checkChunk(chunk);
+    return chunk * this.chunkLength;
+  }
+
+  /**
+   * Returns the index after the last element of a chunk.
+   *
+   * @param chunk the chunk
+   * @return the index of the last element of the chunk (exclusive)
+   */
+  public int chunkToIndex(int chunk) {
+    this.checkChunk(chunk);
+    return (int) Math.min((chunk + 1L) * this.chunkLength, this.source.length());
+  }
+
+  private void checkChunk(int chunk) {
+    if (chunk < 0 || chunk >= this.chunkCount) {
+      throw new IndexOutOfBoundsException("chunk: " + chunk + ", chunk count: " + this.chunkCount);
+    }
+  }
+
+  /**
+   * Reports that an element has been modified.
+   *
+   * @param index the index of the modified element
+   * @throws ArrayIndexOutOfBoundsException if {@code index} is out of range
+   */
+  public void markDirty(int index) {
+    this.markDirty(index, index + 1);
+  }
+
+  /**
+   * Reports that a range of elements has been modified.
+   *
+   * @param fromIndex the index of the first modified element (inclusive)
+   * @param toIndex the index of the last modified element (exclusive)
+   * @throws IllegalArgumentException if {@code fromIndex > toIndex}
+   * @throws ArrayIndexOutOfBoundsException if {@code fromIndex < 0} or {@code toIndex} is larger than the length
+   */
+  public void markDirty(int fromIndex, int toIndex) {
+    ArrayRanges.checkRange(this.source.length(), fromIndex, toIndex);
+    if (fromIndex < toIndex) {
+      this.dirtyChunks.set(fromIndex / this.chunkLength, (toIndex - 1) / this.chunkLength + 1);
+    }
+  }
+
+  /**
+   * Rehashes all chunks reported as modified and their ancestors.
+   */
+  public void refresh() {
+    if (this.dirtyChunks.isEmpty()) {
+      return;
+    }
+    BitSet level = new BitSet();
+    for (int chunk = this.dirtyChunks.nextSetBit(0); chunk >= 0; chunk = this.dirtyChunks.nextSetBit(chunk + 1)) {
+      int leaf = this.leafCapacity + chunk;
+      this.nodes[leaf] = this.source.hashCode(chunk * this.chunkLength, this.chunkToIndex(chunk));
+      if (leaf > 1) {
+        level.set(leaf >>> 1);
+      }
+    }
+    this.dirtyChunks.clear();
+    while (!level.isEmpty()) {
+      BitSet parents = new BitSet();
+      for (int node = level.nextSetBit(0); node >= 0; node = level.nextSetBit(node + 1)) {
+        this.nodes[node] = combine(this.nodes[2 * node], this.nodes[2 * node + 1]);
+        if (node > 1) {
+          parents.set(node >>> 1);
+        }
+      }
+      level = parents;
+    }
+  }
+
+  private static long combine(long left, long right) {
+    return new LongHashCodeBuilder()
+            .append(left)
+            .append(right)
+            .toLongHashCode();
+  }
+
+  /**
+   * Returns the hash code of the root, refreshing first if needed.
+   *
+   * @return the hash code over all elements
+   */
+  public long rootHash() {
+    this.refresh();
+    return this.nodes[1];
+  }
+
+  /**
+   * Returns the chunks that differ from an other replica, refreshing both
+   * first if needed.
+   *
+   * <p>Only subtrees with differing hash codes are visited so finding few
+   * differences is fast.</p>
+   *
+   * @param other the other replica, must have the same length and chunk
+   *        length
+   * @return the indexes of the differing chunks in ascending order, empty
+   *         if the replicas are equal
+   * @throws IllegalArgumentException if the length or chunk length differ
+   */
+  public int[] differingChunks(MerkleHash other) {
+    if (other.source.length() != this.source.length() || other.chunkLength != this.chunkLength) {
+      throw new IllegalArgumentException("replicas have different lengths or chunk lengths");
+    }
+    this.refresh();
+    other.refresh();
+    int[] chunks = new int[0];
+    int count = 0;
+    // depth first over differing nodes, left before right gives ascending chunks
+    int[] stack = new int[64];
+    int top = 0;
+    stack[top++] = 1;
+    while (top > 0) {
+      int node = stack[--top];
+      if (this.nodes[node] == other.nodes[node]) {
+        continue;
+      }
+      if (node >= this.leafCapacity) {
+        if (count == chunks.length) {
+          chunks = Arrays.copyOf(chunks, Math.max(8, count * 2));
+        }
+        chunks[count++] = node - this.leafCapacity;
+      } else {
+        stack[top++] = 2 * node + 1;
+        stack[top++] = 2 * node;
+      }
+    }
+    return Arrays.copyOf(chunks, count);
+  }
+
+  private abstract static class Source {
+
+    abstract int length();
+
+    abstract long hashCode(int fromIndex, int toIndex);
+
+  }
+
+  private static final class LongArraySource extends Source {
+
+    private final long[] array;
+
+    LongArraySource(long[] array) {
+      this.array = array;
+    }
+
+    @Override
+    int length() {
+      return this.array.length;
+    }
+
+    @Override
+    long hashCode(int fromIndex, int toIndex) {
+      LongHashCodeBuilder builder = new LongHashCodeBuilder();
+      for (int i = fromIndex; i < toIndex; i++) {
+        builder.append(this.array[i]);
+      }
+      return builder.toLongHashCode();
+    }
+
+  }
+
+  private static final class ByteBufferSource extends Source {
+
+    private final ByteBuffer buffer;
+
+    ByteBufferSource(ByteBuffer buffer) {
+      this.buffer = buffer;
+    }
+
+    @Override
+    int length() {
+      return this.buffer.limit();
+    }
+
+    @Override
+    long hashCode(int fromIndex, int toIndex) {
+      LongHashCodeBuilder builder = new LongHashCodeBuilder();
+      int i = fromIndex;
+      while (i + Long.BYTES <= toIndex) {
+        builder.append(this.buffer.getLong(i));
+        i += Long.BYTES;
+      }
+      while (i < toIndex) {
+        builder.append(this.buffer.get(i));
+        i += 1;
+      }
+      return builder.toLongHashCode();
+    }
+
+  }
+
+}
@@ -0,0 +1,130 @@
+package com.github.marschall.minicommons;
+
+import java.util.Arrays;
+import java.util.function.BiConsumer;
+
+/**
+ * The storage of an open addressing hash table with linear probing shared
+ * by {@link ArrayMap} and {@link CompositeKeyMap}.
+ *
+ * <p>Keys, values and the cached hash codes of the keys are stored in
+ * parallel arrays, a {@code null} key marks a free slot. Looking up keys
+ * is left to the owning map because only it knows how to compare
+ * them.</p>
+ */
+final class OpenAddressingTable {
+
+  private static final int INITIAL_CAPACITY = 16;
+
+  Object[] keys;
+
+  Object[] values;
+
+  int[] hashes;
+
+  int size;
+
+  OpenAddressingTable() {
+    this.keys = new Object[INITIAL_CAPACITY];
+    this.values = new Object[INITIAL_CAPACITY];
+    this.hashes = new int[INITIAL_CAPACITY];
+  }
+
+  /**
+   * Returns the slot at which the probe sequence of a hash code starts.
+   */
+  int homeSlot(int hash) {
+    return spread(hash) & (this.keys.length - 1);
+  }
+
+  /**
+   * The low bits of <code>Arrays.hashCode</code> and
+   * {@link HashCodeBuilder} hash codes are poor, mix them before masking.
+   */
+  static int spread(int hash) {
+    int h = hash * 0x9E3779B9;
+    return h ^ (h >>> 16);
+  }
+
+  /**
+   * Stores a new mapping in a free slot found by a previous search,
+   * resizing if needed.
+   */
+  void insert(int slot, Object key, Object value, int hash) {
+    this.keys[slot] = key;
+    this.values[slot] = value;
+    this.hashes[slot] = hash;
+    this.size += 1;
+    if (this.size * 4 > this.keys.length * 3) {
+      this.resize();
+    }
+  }
+
+  /**
+   * Backward shift deletion, moves later entries of the same cluster
+   * into the freed slot so that no tombstones are needed.
+   */
+  void removeSlot(int slot) {
+    Object[] k = this.keys;
+    int mask = k.length - 1;
+    int free = slot;
+    int current = (slot + 1) & mask;
+    while (k[current] != null) {
+      int home = spread(this.hashes[current]) & mask;
+      // can the entry at current be moved to free without breaking its probe sequence
+      if (((current - home) & mask) >= ((current - free) & mask)) {
+        k[free] = k[current];
+        this.values[free] = this.values[current];
+        this.hashes[free] = this.hashes[current];
+        free = current;
+      }
+      current = (current + 1) & mask;
+    }
+    k[free] = null;
+    this.values[free] = null;
+    this.size -= 1;
+  }
+
+  private void resize() {
+    Object[] oldKeys = this.keys;
+    Object[] oldValues = this.values;
+    int[] oldHashes = this.hashes;
+    int capacity = oldKeys.length * 2;
+    int mask = capacity - 1;
+    Object[] newKeys = new Object[capacity];
+    Object[] newValues = new Object[capacity];
+    int[] newHashes = new int[capacity];
+    for (int i = 0; i < oldKeys.length; i++) {
+      if (oldKeys[i] != null) {
+        int slot = spread(oldHashes[i]) & mask;
+        while (newKeys[slot] != null) {
+          slot = (slot + 1) & mask;
+        }
+        newKeys[slot] = oldKeys[i];
+        newValues[slot] = oldValues[i];
+        newHashes[slot] = oldHashes[i];
+      }
+    }
+    this.keys = newKeys;
+    this.values = newValues;
+    this.hashes = newHashes;
+  }
+
+  void clear() {
+    Arrays.fill(this.keys, null);
+    Arrays.fill(this.values, null);
+    this.size = 0;
+  }
+
+  @SuppressWarnings("unchecked")
+  <K, V> void forEach(BiConsumer<? super K, ? super V> action) {
+    Object[] k = this.keys;
+    Object[] v = this.values;
+    for (int i = 0; i < k.length; i++) {
+      if (k[i] != null) {
+        action.accept((K) k[i], (V) v[i]);
+      }
+    }
+  }
+
+}
@@ -0,0 +1,192 @@
+package com.github.marschall.minicommons;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded cache of left padded decimal numbers.
+ *
+ * <p>Non-negative values padded with <code>'0'</code> or <code>' '</code>
+ * to a size of at most {@value #MAX_DENSE_SIZE}, for example branch codes
+ * formatted with <code>leftPad(i, 4, '0')</code>, are kept in dense tables
+ * that are indexed directly by the value and cover all values that fit
+ * into the size. Optionally other values go to a direct mapped cache of
+ * fixed capacity where a new entry evicts the entry in its slot. Only
+ * sizes up to {@value #MAX_CACHED_SIZE} are cached so that no large
+ * strings are retained. Neither uses locks, strings are immutable so at
+ * worst a string is created twice by racing threads.</p>
+ *
+ * <p>The cache used by {@link StringUtils#leftPad(long, int, char)} and
+ * its overloads is returned by {@link #shared()}, it only has the dense
+ * tables.</p>
+ *
+ * <pre><code>
+ * PaddedNumberCache cache = PaddedNumberCache.shared();
+ * double hitRate = (double) cache.hitCount() / (cache.hitCount() + cache.missCount());
+ * </code></pre>
+ */
+public final class PaddedNumberCache {
+
+  /**
+   * Sizes from 1 to this (inclusive) are in dense tables.
+   */
+  static final int MAX_DENSE_SIZE = 4;
+
+  /**
+   * The largest size that is cached, long values need at most 20
+   * characters including the sign.
+   */
+  static final int MAX_CACHED_SIZE = 20;
+
+  /**
+   * The number of values of the dense table of every size, 10^size.
+   */
+  private static final int[] DENSE_VALUES = {1, 10, 100, 1_000, 10_000};
+
+  private static final PaddedNumberCache SHARED = new PaddedNumberCache(0);
+
+  /**
+   * Lazily created dense tables, one per pad character and size.
+   */
+  private final String[][] denseTables;
+
+  private final Entry[] entries;
+
+  private final int mask;
+
+  private final LongAdder hitCount;
+
+  private final LongAdder missCount;
+
+  /**
+   * Creates a new cache.
+   *
+   * @param capacity the number of entries of the direct mapped cache,
+   *        rounded up to a power of two, 0 for only the dense tables
+   * @throws IllegalArgumentException if {@code capacity} is negative or
+   *         larger than 2^30
+   */
+  public PaddedNumberCache(int capacity) {
+    if (capacity < 0 || capacity > 1 << 30) {
+      throw new IllegalArgumentException("capacity must be between 0 and 2^30");
+    }
+    this.denseTables = new String[2 * MAX_DENSE_SIZE][];
+    if (capacity > 0) {
+      int tableCapacity = Integer.highestOneBit(capacity) == capacity
+              ? capacity
+              : Integer.highestOneBit(capacity) << 1;
+      this.entries = new Entry[tableCapacity];
+      this.mask = tableCapacity - 1;
+    } else {
+      this.entries = null;
+      this.mask = 0;
+    }
+    this.hitCount = new LongAdder();
+    this.missCount = new LongAdder();
+  }
+
+  /**
+   * Returns the cache used by {@link StringUtils}.
+   *
+   * @return the shared cache
+   */
+  public static PaddedNumberCache shared() {
+    return SHARED;
+  }
+
+  /**
+   * Left pad a long with a specified character to a specified length.
+   *
+   * <p>The result is the same as
+   * {@link StringUtils#leftPad(long, int, char)}.</p>
+   *
+   * @param l the long to pad
+   * @param size the size to pad to including the sign, not negative
+   * @param padChar the character to pad with
+   * @return left padded long
+   */
+  public String leftPad(long l, int size, char padChar) {
+    if (size >= 1 && size <= MAX_DENSE_SIZE && l >= 0L && l < DENSE_VALUES[size] && (padChar == '0' || padChar == ' ')) {
+      return this.leftPadDense((int) l, size, padChar);
+    }
+    if (this.entries == null || size > MAX_CACHED_SIZE) {
+      this.missCount.increment();
+      return format(l, size, padChar);
+    }
+    int index = (int) LongHashCodeBuilder.mix(l ^ (((long) size << 16 | padChar) * 0x9E3779B97F4A7C15L)) & this.mask;
+    Entry entry = this.entries[index];
+    if (entry != null && entry.value == l && entry.size == size && entry.padChar == padChar) {
+      this.hitCount.increment();
+      return entry.padded;
+    }
+    this.missCount.increment();
+    String padded = format(l, size, padChar);
+    // evicts the previous entry of the slot
+    this.entries[index] = new Entry(l, size, padChar, padded);
+    return padded;
+  }
+
+  private String leftPadDense(int value, int size, char padChar) {
+    int tableIndex = (padChar == '0' ? 0 : MAX_DENSE_SIZE) + size - 1;
+    String[] table = this.denseTables[tableIndex];
+    if (table == null) {
+      table = new String[DENSE_VALUES[size]];
+      this.denseTables[tableIndex] = table;
+    }
+    String padded = table[value];
+    if (padded != null) {
+      this.hitCount.increment();
+      return padded;
+    }
+    this.missCount.increment();
+    padded = format(value, size, padChar);
+    table[value] = padded;
+    return padded;
+  }
+
+  static String format(long l, int size, char padChar) {
+    char[] chars = new char[Digits.paddedLength(l, size)];
+    Digits.leftPad(l, size, padChar, chars, 0);
+    return new String(chars);
+  }
+
+  /**
+   * Returns the number of calls that found a cached string.
+   *
+   * @return the number of cache hits
+   */
+  public long hitCount() {
+    return this.hitCount.sum();
+  }
+
+  /**
+   * Returns the number of calls that had to create a string.
+   *
+   * @return the number of cache misses
+   */
+  public long missCount() {
+    return this.missCount.sum();
+  }
+
+  /**
+   * An immutable entry, safely published through its final fields.
+   */
+  static final class Entry {
+
+    final long value;
+
+    final int size;
+
+    final char padChar;
+
+    final String padded;
+
+    Entry(long value, int size, char padChar, String padded) {
+      this.value = value;
+      this.size = size;
+      this.padChar = padChar;
+      this.padded = padded;
+    }
+
+  }
+
+}
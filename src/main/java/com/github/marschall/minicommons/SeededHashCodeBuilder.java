@@ -0,0 +1,674 @@
+package com.github.marschall.minicommons;
+
+import java.security.SecureRandom;
+
+/**
+ * Assists in implementing {@link Object#hashCode()} methods for keys that
+ * come from untrusted input.
+ *
+ * <p>
+ * {@link HashCodeBuilder} and {@link String#hashCode()} use fixed constants. An attacker who controls the keys of a
+ * hash table can easily craft many keys with the same hash code and degrade lookups to linear time. This builder
+ * offers the same <code>append</code> methods but computes a keyed hash with the compression function of SipHash-1-3.
+ * The 128 bit key is chosen randomly once per JVM so hash codes can not be predicted from outside.
+ * </p>
+ *
+ * <p>
+ * <code>String</code>s and other <code>CharSequence</code>s as well as arrays are hashed by content. All other objects
+ * contribute their <code>hashCode()</code>, so they are only as resistant as their own <code>hashCode()</code>.
+ * Because the key differs between JVMs the hash codes must not be persisted or sent to other JVMs, see
+ * {@link StableHashCodeBuilder} for that.
+ * </p>
+ *
+ * <pre><code>
+ * public int hashCode() {
+ *   return new SeededHashCodeBuilder()
+ *     .append(userName)
+ *     .append(tenantId)
+ *     .toHashCode();
+ * }
+ * </code></pre>
+ *
+ * <p>
+ * The builder is noticeably slower than {@link HashCodeBuilder}, see <code>SeededHashCodeBenchmark</code>.
+ * </p>
+ */
+public final class SeededHashCodeBuilder {
+
+  private static final long JVM_KEY_0;
+
+  private static final long JVM_KEY_1;
+
+  static {
+    SecureRandom random = new SecureRandom();
+    JVM_KEY_0 = random.nextLong();
+    JVM_KEY_1 = random.nextLong();
+  }
+
+  private long v0;
+  private long v1;
+  private long v2;
+  private long v3;
+
+  /**
+   * Number of words compressed.
+   */
+  private int count;
+
+  /**
+   * Creates a new builder with the key of this JVM.
+   */
+  public SeededHashCodeBuilder() {
+    this(JVM_KEY_0, JVM_KEY_1);
+  }
+
+  /**
+   * Creates a new builder with an explicit key, for tests.
+   *
+   * @param k0 the first half of the key
+   * @param k1 the second half of the key
+   */
+  SeededHashCodeBuilder(long k0, long k1) {
+    v0 = k0 ^ 0x736F6D6570736575L;
+    v1 = k1 ^ 0x646F72616E646F6DL;
+    v2 = k0 ^ 0x6C7967656E657261L;
+    v3 = k1 ^ 0x7465646279746573L;
+  }
+
+  private void compress(long m) {
+    v3 ^= m;
+    sipRound();
+    v0 ^= m;
+    count += 1;
+  }
+
+  private void sipRound() {
+    v0 += v1;
+    v1 = Long.rotateLeft(v1, 13);
+    v1 ^= v0;
+    v0 = Long.rotateLeft(v0, 32);
+    v2 += v3;
+    v3 = Long.rotateLeft(v3, 16);
+    v3 ^= v2;
+    v0 += v3;
+    v3 = Long.rotateLeft(v3, 21);
+    v3 ^= v0;
+    v2 += v1;
+    v1 = Long.rotateLeft(v1, 17);
+    v1 ^= v2;
+    v2 = Long.rotateLeft(v2, 32);
+  }
+
+  /**
+   * Length prefix that distinguishes {@code null} from empty values.
+   */
+  private void length(int length) {
+    compress(length + 1L);
+  }
+
+  /**
+   * Append a <code>hashCode</code> for a <code>boolean</code>.
+   *
+   * @param value
+   *            the boolean to add to the <code>hashCode</code>
+   * @return SeededHashCodeBuilder - used to chain calls
+   */
+  public SeededHashCodeBuilder append(boolean value) {
+    compress(value ? 1L : 0L);
+    return this;
+  }
+
+  /**
+   * Append a <code>hashCode</code> for a <code>boolean</code> array.
+   *
+   * @param array
+   *            the array to add to the <code>hashCode</code>, may be {@code null}
+   * @return SeededHashCodeBuilder - used to chain calls
+   */
+  public SeededHashCodeBuilder append(boolean[] array) {
+    if (array == null) {
+      compress(0L);
+      return this;
+    }
+    return append(array, 0, array.length);
+  }
+
+  /**
+   * Append a <code>hashCode</code> for a range of a <code>boolean</code> array.
+   *
+   * @param array
+   *            the array containing the range to add to the <code>hashCode</code>, not {@code null}
+   * @param fromIndex
+   *            the index of the first element (inclusive)
+   * @param toIndex
+   *            the index of the last element (exclusive)
+   * @return SeededHashCodeBuilder - used to chain calls
+   * @throws IllegalArgumentException if {@code fromIndex > toIndex}
+   * @throws ArrayIndexOutOfBoundsException if {@code fromIndex < 0} or {@code toIndex > array.length}
+   */
+  public SeededHashCodeBuilder append(boolean[] array, int fromIndex, int toIndex) {
+    ArrayRanges.checkRange(array.length, fromIndex, toIndex);
+    length(toIndex - fromIndex);
+    for (int i = fromIndex; i < toIndex; i++) {
+      compress(array[i] ? 1L : 0L);
+    }
+    return this;
+  }
+
+  /**
+   * Append a <code>hashCode</code> for a <code>byte</code>.
+   *
+   * @param value
+   *            the byte to add to the <code>hashCode</code>
+   * @return SeededHashCodeBuilder - used to chain calls
+   */
+  public SeededHashCodeBuilder append(byte value) {
+    compress(value);
+    return this;
+  }
+
+  /**
+   * Append a <code>hashCode</code> for a <code>byte</code> array.
+   *
+   * @param array
+   *            the array to add to the <code>hashCode</code>, may be {@code null}
+   * @return SeededHashCodeBuilder - used to chain calls
+   */
+  public SeededHashCodeBuilder append(byte[] array) {
+    if (array == null) {
+      compress(0L);
+      return this;
+    }
+    return append(array, 0, array.length);
+  }
+
+  /**
+   * Append a <code>hashCode</code> for a range of a <code>byte</code> array.
+   *
+   * @param array
+   *            the array containing the range to add to the <code>hashCode</code>, not {@code null}
+   * @param fromIndex
+   *            the index of the first element (inclusive)
+   * @param toIndex
+   *            the index of the last element (exclusive)
+   * @return SeededHashCodeBuilder - used to chain calls
+   * @throws IllegalArgumentException if {@code fromIndex > toIndex}
+   * @throws ArrayIndexOutOfBoundsException if {@code fromIndex < 0} or {@code toIndex > array.length}
+   */
+  public SeededHashCodeBuilder append(byte[] array, int fromIndex, int toIndex) {
+    ArrayRanges.checkRange(array.length, fromIndex, toIndex);
+    length(toIndex - fromIndex);
+    int i = fromIndex;
+    // eight bytes per word
+    while (i + Long.BYTES <= toIndex) {
+      long word = 0L;
+      for (int j = 0; j < Long.BYTES; j++) {
+        word = (word << 8) | (array[i + j] & 0xFFL);
+      }
+      compress(word);
+      i += Long.BYTES;
+    }
+    if (i < toIndex) {
+      long word = 0L;
+      while (i < toIndex) {
+        word = (word << 8) | (array[i] & 0xFFL);
+        i += 1;
+      }
+      compress(word);
+    }
+    return this;
+  }
+
+  /**
+   * Append a <code>hashCode</code> for a <code>char</code>.
+   *
+   * @param value
+   *            the char to add to the <code>hashCode</code>
+   * @return SeededHashCodeBuilder - used to chain calls
+   */
+  public SeededHashCodeBuilder append(char value) {
+    compress(value);
+    return this;
+  }
+
+  /**
+   * Append a <code>hashCode</code> for a <code>char</code> array.
+   *
+   * @param array
+   *            the array to add to the <code>hashCode</code>, may be {@code null}
+   * @return SeededHashCodeBuilder - used to chain calls
+   */
+  public SeededHashCodeBuilder append(char[] array) {
+    if (array == null) {
+      compress(0L);
+      return this;
+    }
+    return append(array, 0, array.length);
+  }
+
+  /**
+   * Append a <code>hashCode</code> for a range of a <code>char</code> array.
+   *
+   * <p>The result is the same as calling {@link #appendContent(CharSequence)}
+   * with the same characters.</p>
+   *
+   * @param array
+   *            the array containing the range to add to the <code>hashCode</code>, not {@code null}
+   * @param fromIndex
+   *            the index of the first element (inclusive)
+   * @param toIndex
+   *            the index of the last element (exclusive)
+   * @return SeededHashCodeBuilder - used to chain calls
+   * @throws IllegalArgumentException if {@code fromIndex > toIndex}
+   * @throws ArrayIndexOutOfBoundsException if {@code fromIndex < 0} or {@code toIndex > array.length}
+   */
+  public SeededHashCodeBuilder append(char[] array, int fromIndex, int toIndex) {
+    ArrayRanges.checkRange(array.length, fromIndex, toIndex);
+    length(toIndex - fromIndex);
+    int i = fromIndex;
+    // four chars per word
+    while (i + 4 <= toIndex) {
+      compress(((long) array[i] << 48) | ((long) array[i + 1] << 32) | ((long) array[i + 2] << 16) | array[i + 3]);
+      i += 4;
+    }
+    if (i < toIndex) {
+      long word = 0L;
+      while (i < toIndex) {
+        word = (word << 16) | array[i];
+        i += 1;
+      }
+      compress(word);
+    }
+    return this;
+  }
+
+  /**
+   * Append a <code>hashCode</code> for the characters of a <code>CharSequence</code>.
+   *
+   * @param value
+   *            the characters to add to the <code>hashCode</code>, may be {@code null}
+   * @return SeededHashCodeBuilder - used to chain calls
+   */
+  public SeededHashCodeBuilder appendContent(CharSequence value) {
+    if (value == null) {
+      compress(0L);
+      return this;
+    }
+    int length = value.length();
+    length(length);
+    int i = 0;
+    // four chars per word
+    while (i + 4 <= length) {
+      compress(((long) value.charAt(i) << 48) | ((long) value.charAt(i + 1) << 32)
+              | ((long) value.charAt(i + 2) << 16) | value.charAt(i + 3));
+      i += 4;
+    }
+    if (i < length) {
+      long word = 0L;
+      while (i < length) {
+        word = (word << 16) | value.charAt(i);
+        i += 1;
+      }
+      compress(word);
+    }
+    return this;
+  }
+
+  /**
+   * Append a <code>hashCode</code> for a <code>double</code>.
+   *
+   * @param value
+   *            the double to add to the <code>hashCode</code>
+   * @return SeededHashCodeBuilder - used to chain calls
+   * @see Double#doubleToLongBits(double)
+   */
+  public SeededHashCodeBuilder append(double value) {
+    compress(Double.doubleToLongBits(value));
+    return this;
+  }
+
+  /**
+   * Append a <code>hashCode</code> for a <code>double</code> array.
+   *
+   * @param array
+   *            the array to add to the <code>hashCode</code>, may be {@code null}
+   * @return SeededHashCodeBuilder - used to chain calls
+   */
+  public SeededHashCodeBuilder append(double[] array) {
+    if (array == null) {
+      compress(0L);
+      return this;
+    }
+    return append(array, 0, array.length);
+  }
+
+  /**
+   * Append a <code>hashCode</code> for a range of a <code>double</code> array.
+   *
+   * @param array
+   *            the array containing the range to add to the <code>hashCode</code>, not {@code null}
+   * @param fromIndex
+   *            the index of the first element (inclusive)
+   * @param toIndex
+   *            the index of the last element (exclusive)
+   * @return SeededHashCodeBuilder - used to chain calls
+   * @throws IllegalArgumentException if {@code fromIndex > toIndex}
+   * @throws ArrayIndexOutOfBoundsException if {@code fromIndex < 0} or {@code toIndex > array.length}
+   */
+  public SeededHashCodeBuilder append(double[] array, int fromIndex, int toIndex) {
+    ArrayRanges.checkRange(array.length, fromIndex, toIndex);
+    length(toIndex - fromIndex);
+    for (int i = fromIndex; i < toIndex; i++) {
+      compress(Double.doubleToLongBits(array[i]));
+    }
+    return this;
+  }
+
+  /**
+   * Append a <code>hashCode</code> for a <code>float</code>.
+   *
+   * @param value
+   *            the float to add to the <code>hashCode</code>
+   * @return SeededHashCodeBuilder - used to chain calls
+   * @see Float#floatToIntBits(float)
+   */
+  public SeededHashCodeBuilder append(float value) {
+    compress(Float.floatToIntBits(value));
+    return this;
+  }
+
+  /**
+   * Append a <code>hashCode</code> for a <code>float</code> array.
+   *
+   * @param array
+   *            the array to add to the <code>hashCode</code>, may be {@code null}
+   * @return SeededHashCodeBuilder - used to chain calls
+   */
+  public SeededHashCodeBuilder append(float[] array) {
+    if (array == null) {
+      compress(0L);
+      return this;
+    }
+    return append(array, 0, array.length);
+  }
+
+  /**
+   * Append a <code>hashCode</code> for a range of a <code>float</code> array.
+   *
+   * @param array
+   *            the array containing the range to add to the <code>hashCode</code>, not {@code null}
+   * @param fromIndex
+   *            the index of the first element (inclusive)
+   * @param toIndex
+   *            the index of the last element (exclusive)
+   * @return SeededHashCodeBuilder - used to chain calls
+   * @throws IllegalArgumentException if {@code fromIndex > toIndex}
+   * @throws ArrayIndexOutOfBoundsException if {@code fromIndex < 0} or {@code toIndex > array.length}
+   */
+  public SeededHashCodeBuilder append(float[] array, int fromIndex, int toIndex) {
+    ArrayRanges.checkRange(array.length, fromIndex, toIndex);
+    length(toIndex - fromIndex);
+    for (int i = fromIndex; i < toIndex; i++) {
+      compress(Float.floatToIntBits(array[i]));
+    }
+    return this;
+  }
+
+  /**
+   * Append a <code>hashCode</code> for an <code>int</code>.
+   *
+   * @param value
+   *            the int to add to the <code>hashCode</code>
+   * @return SeededHashCodeBuilder - used to chain calls
+   */
+  public SeededHashCodeBuilder append(int value) {
+    compress(value);
+    return this;
+  }
+
+  /**
+   * Append a <code>hashCode</code> for an <code>int</code> array.
+   *
+   * @param array
+   *            the array to add to the <code>hashCode</code>, may be {@code null}
+   * @return SeededHashCodeBuilder - used to chain calls
+   */
+  public SeededHashCodeBuilder append(int[] array) {
+    if (array == null) {
+      compress(0L);
+      return this;
+    }
+    return append(array, 0, array.length);
+  }
+
+  /**
+   * Append a <code>hashCode</code> for a range of an <code>int</code> array.
+   *
+   * @param array
+   *            the array containing the range to add to the <code>hashCode</code>, not {@code null}
+   * @param fromIndex
+   *            the index of the first element (inclusive)
+   * @param toIndex
+   *            the index of the last element (exclusive)
+   * @return SeededHashCodeBuilder - used to chain calls
+   * @throws IllegalArgumentException if {@code fromIndex > toIndex}
+   * @throws ArrayIndexOutOfBoundsException if {@code fromIndex < 0} or {@code toIndex > array.length}
+   */
+  public SeededHashCodeBuilder append(int[] array, int fromIndex, int toIndex) {
+    ArrayRanges.checkRange(array.length, fromIndex, toIndex);
+    length(toIndex - fromIndex);
+    int i = fromIndex;
+    // two ints per word
+    while (i + 2 <= toIndex) {
+      compress(((long) array[i] << 32) | (array[i + 1] & 0xFFFFFFFFL));
+      i += 2;
+    }
+    if (i < toIndex) {
+      compress(array[i]);
+    }
+    return this;
+  }
+
+  /**
+   * Append a <code>hashCode</code> for a <code>long</code>.
+   *
+   * @param value
+   *            the long to add to the <code>hashCode</code>
+   * @return SeededHashCodeBuilder - used to chain calls
+   */
+  public SeededHashCodeBuilder append(long value) {
+    compress(value);
+    return this;
+  }
+
+  /**
+   * Append a <code>hashCode</code> for a <code>long</code> array.
+   *
+   * @param array
+   *            the array to add to the <code>hashCode</code>, may be {@code null}
+   * @return SeededHashCodeBuilder - used to chain calls
+   */
+  public SeededHashCodeBuilder append(long[] array) {
+    if (array == null) {
+      compress(0L);
+      return this;
+    }
+    return append(array, 0, array.length);
+  }
+
+  /**
+   * Append a <code>hashCode</code> for a range of a <code>long</code> array.
+   *
+   * @param array
+   *            the array containing the range to add to the <code>hashCode</code>, not {@code null}
+   * @param fromIndex
+   *            the index of the first element (inclusive)
+   * @param toIndex
+   *            the index of the last element (exclusive)
+   * @return SeededHashCodeBuilder - used to chain calls
+   * @throws IllegalArgumentException if {@code fromIndex > toIndex}
+   * @throws ArrayIndexOutOfBoundsException if {@code fromIndex < 0} or {@code toIndex > array.length}
+   */
+  public SeededHashCodeBuilder append(long[] array, int fromIndex, int toIndex) {
+    ArrayRanges.checkRange(array.length, fromIndex, toIndex);
+    length(toIndex - fromIndex);
+    for (int i = fromIndex; i < toIndex; i++) {
+      compress(array[i]);
+    }
+    return this;
+  }
+
+  /**
+   * Append a <code>hashCode</code> for an <code>Object</code>.
+   *
+   * <p><code>CharSequence</code>s are hashed by content, all other objects
+   * contribute their <code>hashCode()</code>.</p>
+   *
+   * @param object
+   *            the Object to add to the <code>hashCode</code>, may be {@code null}
+   * @return SeededHashCodeBuilder - used to chain calls
+   */
+  public SeededHashCodeBuilder append(Object object) {
+    if (object instanceof CharSequence) {
+      return appendContent((CharSequence) object);
+    }
+    compress(object == null ? 0L : object.hashCode());
+    return this;
+  }
+
+  /**
+   * Append a <code>hashCode</code> for an <code>Object</code> array.
+   *
+   * <p>Every element is appended with {@link #append(Object)}.</p>
+   *
+   * @param array
+   *            the array to add to the <code>hashCode</code>, may be {@code null}
+   * @return SeededHashCodeBuilder - used to chain calls
+   */
+  public SeededHashCodeBuilder append(Object[] array) {
+    if (array == null) {
+      compress(0L);
+      return this;
+    }
+    return append(array, 0, array.length);
+  }
+
+  /**
+   * Append a <code>hashCode</code> for a range of an <code>Object</code> array.
+   *
+   * @param array
+   *            the array containing the range to add to the <code>hashCode</code>, not {@code null}
+   * @param fromIndex
+   *            the index of the first element (inclusive)
+   * @param toIndex
+   *            the index of the last element (exclusive)
+   * @return SeededHashCodeBuilder - used to chain calls
+   * @throws IllegalArgumentException if {@code fromIndex > toIndex}
+   * @throws ArrayIndexOutOfBoundsException if {@code fromIndex < 0} or {@code toIndex > array.length}
+   */
+  public SeededHashCodeBuilder append(Object[] array, int fromIndex, int toIndex) {
+    ArrayRanges.checkRange(array.length, fromIndex, toIndex);
+    length(toIndex - fromIndex);
+    for (int i = fromIndex; i < toIndex; i++) {
+      append(array[i]);
+    }
+    return this;
+  }
+
+  /**
+   * Append a <code>hashCode</code> for a <code>short</code>.
+   *
+   * @param value
+   *            the short to add to the <code>hashCode</code>
+   * @return SeededHashCodeBuilder - used to chain calls
+   */
+  public SeededHashCodeBuilder append(short value) {
+    compress(value);
+    return this;
+  }
+
+  /**
+   * Append a <code>hashCode</code> for a <code>short</code> array.
+   *
+   * @param array
+   *            the array to add to the <code>hashCode</code>, may be {@code null}
+   * @return SeededHashCodeBuilder - used to chain calls
+   */
+  public SeededHashCodeBuilder append(short[] array) {
+    if (array == null) {
+      compress(0L);
+      return this;
+    }
+    return append(array, 0, array.length);
+  }
+
+  /**
+   * Append a <code>hashCode</code> for a range of a <code>short</code> array.
+   *
+   * @param array
+   *            the array containing the range to add to the <code>hashCode</code>, not {@code null}
+   * @param fromIndex
+   *            the index of the first element (inclusive)
+   * @param toIndex
+   *            the index of the last element (exclusive)
+   * @return SeededHashCodeBuilder - used to chain calls
+   * @throws IllegalArgumentException if {@code fromIndex > toIndex}
+   * @throws ArrayIndexOutOfBoundsException if {@code fromIndex < 0} or {@code toIndex > array.length}
+   */
+  public SeededHashCodeBuilder append(short[] array, int fromIndex, int toIndex) {
+    ArrayRanges.checkRange(array.length, fromIndex, toIndex);
+    length(toIndex - fromIndex);
+    int i = fromIndex;
+    // four shorts per word
+    while (i + 4 <= toIndex) {
+      compress(((long) (array[i] & 0xFFFF) << 48) | ((long) (array[i + 1] & 0xFFFF) << 32)
+              | ((long) (array[i + 2] & 0xFFFF) << 16) | (array[i + 3] & 0xFFFF));
+      i += 4;
+    }
+    while (i < toIndex) {
+      compress(array[i]);
+      i += 1;
+    }
+    return this;
+  }
+
+  /**
+   * Adds the result of super.hashCode() to this builder.
+   *
+   * @param superHashCode
+   *            the result of calling <code>super.hashCode()</code>
+   * @return SeededHashCodeBuilder - used to chain calls
+   */
+  public SeededHashCodeBuilder appendSuper(int superHashCode) {
+    compress(superHashCode);
+    return this;
+  }
+
+  /**
+   * Return the computed <code>hashCode</code>.
+   *
+   * <p>The builder is not modified, more values can be appended.</p>
+   *
+   * @return <code>hashCode</code> based on the fields appended
+   */
+  public int toHashCode() {
+    long s0 = v0;
+    long s1 = v1;
+    long s2 = v2;
+    long s3 = v3;
+    int c = count;
+    compress((long) count << 56);
+    v2 ^= 0xFFL;
+    sipRound();
+    sipRound();
+    sipRound();
+    long hash = v0 ^ v1 ^ v2 ^ v3;
+    v0 = s0;
+    v1 = s1;
+    v2 = s2;
+    v3 = s3;
+    count = c;
+    return (int) (hash ^ (hash >>> 32));
+  }
+
+}
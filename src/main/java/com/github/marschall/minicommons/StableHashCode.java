@@ -0,0 +1,31 @@
+package com.github.marschall.minicommons;
+
+/**
+ * Implemented by classes that provide a hash code that is identical across
+ * JVM runs and versions.
+ *
+ * <p>Implementations usually compute the value with a
+ * {@link StableHashCodeBuilder}.</p>
+ *
+ * <pre><code>
+ * public int stableHashCode() {
+ *   return new StableHashCodeBuilder()
+ *     .append(customerId)
+ *     .append(region)
+ *     .toHashCode();
+ * }
+ * </code></pre>
+ *
+ * @see StableHashCodeBuilder#append(Object)
+ */
+public interface StableHashCode {
+
+  /**
+   * Returns a hash code that depends only on the state of this object and
+   * is identical across JVM runs and versions.
+   *
+   * @return the stable hash code
+   */
+  int stableHashCode();
+
+}
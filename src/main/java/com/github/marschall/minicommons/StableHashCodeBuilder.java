@@ -0,0 +1,370 @@
+package com.github.marschall.minicommons;
+
+import java.util.Arrays;
+
+/**
+ * Builds a hash code that is identical across JVM runs and versions.
+ *
+ * <p>
+ * {@link HashCodeBuilder} relies on <code>hashCode()</code> of the appended objects. For enums, <code>Class</code>
+ * objects and every class that does not override <code>hashCode()</code> this is the identity hash code which differs
+ * from run to run. This is fine for hash tables but not when the hash code leaves the JVM, for example to partition
+ * data across nodes.
+ * </p>
+ *
+ * <p>
+ * This builder uses the same scheme as {@link HashCodeBuilder} but only accepts values with a specified hash code:
+ * </p>
+ * <ul>
+ * <li>primitives, their arrays and their wrappers, hashed as specified by the wrapper classes and {@link Arrays}</li>
+ * <li><code>String</code>s and other <code>CharSequence</code>s, hashed by content like {@link String#hashCode()}</li>
+ * <li>enums, hashed by {@link Enum#name()} so reordering constants does not change the hash code</li>
+ * <li><code>Class</code> objects, hashed by {@link Class#getName()}</li>
+ * <li>objects implementing {@link StableHashCode}</li>
+ * <li>arrays of the above, hashed by content</li>
+ * </ul>
+ * <p>
+ * Any other object is rejected with an <code>IllegalArgumentException</code> instead of silently producing an unstable
+ * value. The values computed by this class will not change in future versions.
+ * </p>
+ *
+ * <pre><code>
+ * int partition = JumpConsistentHash.bucket(new StableHashCodeBuilder()
+ *   .append(customerId)
+ *   .append(region)
+ *   .toHashCode(), partitionCount);
+ * </code></pre>
+ *
+ * @see JumpConsistentHash
+ */
+public final class StableHashCodeBuilder {
+
+  private static final int INITIAL_TOTAL = 17;
+
+  private static final int MULTIPLIER = 31;
+
+  /**
+   * Running total of the hashCode.
+   */
+  private int total;
+
+  /**
+   * Creates a new builder.
+   */
+  public StableHashCodeBuilder() {
+    total = INITIAL_TOTAL;
+  }
+
+  /**
+   * Append a stable <code>hashCode</code> for a <code>boolean</code>.
+   *
+   * @param value
+   *            the boolean to add to the <code>hashCode</code>
+   * @return StableHashCodeBuilder - used to chain calls
+   * @see java.lang.Boolean#hashCode(boolean)
+   */
+  public StableHashCodeBuilder append(boolean value) {
+    total = total * MULTIPLIER + Boolean.hashCode(value);
+    return this;
+  }
+
+  /**
+   * Append a stable <code>hashCode</code> for a <code>boolean</code> array.
+   *
+   * @param array
+   *            the array to add to the <code>hashCode</code>
+   * @return StableHashCodeBuilder - used to chain calls
+   */
+  public StableHashCodeBuilder append(boolean[] array) {
+    total = total * MULTIPLIER + Arrays.hashCode(array);
+    return this;
+  }
+
+  /**
+   * Append a stable <code>hashCode</code> for a <code>byte</code>.
+   *
+   * @param value
+   *            the byte to add to the <code>hashCode</code>
+   * @return StableHashCodeBuilder - used to chain calls
+   */
+  public StableHashCodeBuilder append(byte value) {
+    total = total * MULTIPLIER + value;
+    return this;
+  }
+
+  /**
+   * Append a stable <code>hashCode</code> for a <code>byte</code> array.
+   *
+   * @param array
+   *            the array to add to the <code>hashCode</code>
+   * @return StableHashCodeBuilder - used to chain calls
+   */
+  public StableHashCodeBuilder append(byte[] array) {
+    total = total * MULTIPLIER + Arrays.hashCode(array);
+    return this;
+  }
+
+  /**
+   * Append a stable <code>hashCode</code> for a <code>char</code>.
+   *
+   * @param value
+   *            the char to add to the <code>hashCode</code>
+   * @return StableHashCodeBuilder - used to chain calls
+   */
+  public StableHashCodeBuilder append(char value) {
+    total = total * MULTIPLIER + value;
+    return this;
+  }
+
+  /**
+   * Append a stable <code>hashCode</code> for a <code>char</code> array.
+   *
+   * @param array
+   *            the array to add to the <code>hashCode</code>
+   * @return StableHashCodeBuilder - used to chain calls
+   */
+  public StableHashCodeBuilder append(char[] array) {
+    total = total * MULTIPLIER + Arrays.hashCode(array);
+    return this;
+  }
+
+  /**
+   * Append a stable <code>hashCode</code> for a <code>double</code>.
+   *
+   * @param value
+   *            the double to add to the <code>hashCode</code>
+   * @return StableHashCodeBuilder - used to chain calls
+   * @see java.lang.Double#hashCode(double)
+   */
+  public StableHashCodeBuilder append(double value) {
+    total = total * MULTIPLIER + Double.hashCode(value);
+    return this;
+  }
+
+  /**
+   * Append a stable <code>hashCode</code> for a <code>double</code> array.
+   *
+   * @param array
+   *            the array to add to the <code>hashCode</code>
+   * @return StableHashCodeBuilder - used to chain calls
+   */
+  public StableHashCodeBuilder append(double[] array) {
+    total = total * MULTIPLIER + Arrays.hashCode(array);
+    return this;
+  }
+
+  /**
+   * Append a stable <code>hashCode</code> for a <code>float</code>.
+   *
+   * @param value
+   *            the float to add to the <code>hashCode</code>
+   * @return StableHashCodeBuilder - used to chain calls
+   * @see java.lang.Float#hashCode(float)
+   */
+  public StableHashCodeBuilder append(float value) {
+    total = total * MULTIPLIER + Float.hashCode(value);
+    return this;
+  }
+
+  /**
+   * Append a stable <code>hashCode</code> for a <code>float</code> array.
+   *
+   * @param array
+   *            the array to add to the <code>hashCode</code>
+   * @return StableHashCodeBuilder - used to chain calls
+   */
+  public StableHashCodeBuilder append(float[] array) {
+    total = total * MULTIPLIER + Arrays.hashCode(array);
+    return this;
+  }
+
+  /**
+   * Append a stable <code>hashCode</code> for an <code>int</code>.
+   *
+   * @param value
+   *            the int to add to the <code>hashCode</code>
+   * @return StableHashCodeBuilder - used to chain calls
+   */
+  public StableHashCodeBuilder append(int value) {
+    total = total * MULTIPLIER + value;
+    return this;
+  }
+
+  /**
+   * Append a stable <code>hashCode</code> for an <code>int</code> array.
+   *
+   * @param array
+   *            the array to add to the <code>hashCode</code>
+   * @return StableHashCodeBuilder - used to chain calls
+   */
+  public StableHashCodeBuilder append(int[] array) {
+    total = total * MULTIPLIER + Arrays.hashCode(array);
+    return this;
+  }
+
+  /**
+   * Append a stable <code>hashCode</code> for a <code>long</code>.
+   *
+   * @param value
+   *            the long to add to the <code>hashCode</code>
+   * @return StableHashCodeBuilder - used to chain calls
+   * @see java.lang.Long#hashCode(long)
+   */
+  public StableHashCodeBuilder append(long value) {
+    total = total * MULTIPLIER + Long.hashCode(value);
+    return this;
+  }
+
+  /**
+   * Append a stable <code>hashCode</code> for a <code>long</code> array.
+   *
+   * @param array
+   *            the array to add to the <code>hashCode</code>
+   * @return StableHashCodeBuilder - used to chain calls
+   */
+  public StableHashCodeBuilder append(long[] array) {
+    total = total * MULTIPLIER + Arrays.hashCode(array);
+    return this;
+  }
+
+  /**
+   * Append a stable <code>hashCode</code> for a <code>short</code>.
+   *
+   * @param value
+   *            the short to add to the <code>hashCode</code>
+   * @return StableHashCodeBuilder - used to chain calls
+   */
+  public StableHashCodeBuilder append(short value) {
+    total = total * MULTIPLIER + value;
+    return this;
+  }
+
+  /**
+   * Append a stable <code>hashCode</code> for a <code>short</code> array.
+   *
+   * @param array
+   *            the array to add to the <code>hashCode</code>
+   * @return StableHashCodeBuilder - used to chain calls
+   */
+  public StableHashCodeBuilder append(short[] array) {
+    total = total * MULTIPLIER + Arrays.hashCode(array);
+    return this;
+  }
+
+  /**
+   * Append a stable <code>hashCode</code> for an <code>Object</code>.
+   *
+   * <p>Only the types listed in the class comment are supported, arrays
+   * are hashed by content including nested arrays.</p>
+   *
+   * @param object
+   *            the Object to add to the <code>hashCode</code>, may be {@code null}
+   * @return StableHashCodeBuilder - used to chain calls
+   * @throws IllegalArgumentException if the object does not have a stable
+   *         hash code
+   */
+  public StableHashCodeBuilder append(Object object) {
+    total = total * MULTIPLIER + stableHashCode(object);
+    return this;
+  }
+
+  /**
+   * Append a stable <code>hashCode</code> for an <code>Object</code> array.
+   *
+   * @param array
+   *            the array to add to the <code>hashCode</code>, may be {@code null}
+   * @return StableHashCodeBuilder - used to chain calls
+   * @throws IllegalArgumentException if an element does not have a stable
+   *         hash code
+   */
+  public StableHashCodeBuilder append(Object[] array) {
+    total = total * MULTIPLIER + stableHashCode(array);
+    return this;
+  }
+
+  /**
+   * Append a stable <code>hashCode</code> for the characters of a <code>CharSequence</code>.
+   *
+   * @param value
+   *            the characters to add to the <code>hashCode</code>, may be {@code null}
+   * @return StableHashCodeBuilder - used to chain calls
+   * @see String#hashCode()
+   */
+  public StableHashCodeBuilder appendContent(CharSequence value) {
+    total = total * MULTIPLIER + CharSequences.hashCode(value);
+    return this;
+  }
+
+  /**
+   * Return the computed <code>hashCode</code>.
+   *
+   * @return <code>hashCode</code> based on the fields appended
+   */
+  public int toHashCode() {
+    return total;
+  }
+
+  private static int stableHashCode(Object[] array) {
+    if (array == null) {
+      return 0;
+    }
+    int hash = 1;
+    for (Object element : array) {
+      hash = 31 * hash + stableHashCode(element);
+    }
+    return hash;
+  }
+
+  private static int stableHashCode(Object object) {
+    if (object == null) {
+      return 0;
+    }
+    // the hash codes of the wrappers and String are specified
+    if (object instanceof String
+            || object instanceof Integer
+            || object instanceof Long
+            || object instanceof Boolean
+            || object instanceof Character
+            || object instanceof Byte
+            || object instanceof Short
+            || object instanceof Double
+            || object instanceof Float) {
+      return object.hashCode();
+    }
+    if (object instanceof CharSequence) {
+      return CharSequences.hashCode((CharSequence) object);
+    }
+    if (object instanceof StableHashCode) {
+      return ((StableHashCode) object).stableHashCode();
+    }
+    if (object instanceof Enum) {
+      return ((Enum<?>) object).name().hashCode();
+    }
+    if (object instanceof Class) {
+      return ((Class<?>) object).getName().hashCode();
+    }
+    if (object.getClass().isArray()) {
+      if (object instanceof long[]) {
+        return Arrays.hashCode((long[]) object);
+      } else if (object instanceof int[]) {
+        return Arrays.hashCode((int[]) object);
+      } else if (object instanceof short[]) {
+        return Arrays.hashCode((short[]) object);
+      } else if (object instanceof char[]) {
+        return Arrays.hashCode((char[]) object);
+      } else if (object instanceof byte[]) {
+        return Arrays.hashCode((byte[]) object);
+      } else if (object instanceof double[]) {
+        return Arrays.hashCode((double[]) object);
+      } else if (object instanceof float[]) {
+        return Arrays.hashCode((float[]) object);
+      } else if (object instanceof boolean[]) {
+        return Arrays.hashCode((boolean[]) object);
+      } else {
+        return stableHashCode((Object[]) object);
+      }
+    }
+    throw new IllegalArgumentException("no stable hash code for: " + object.getClass().getName());
+  }
+
+}
@@ -1,46 +1,24 @@
 package com.github.marschall.minicommons;
 
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.util.Arrays;
 
 /**
  * Utility methods for dealing with {@link String}s.
  */
 public final class StringUtils {
 
-  private static final int[] INT_LENGTHS = new int[] {
-      0,
-      9,
-      99,
-      999,
-      9_999,
-      99_999,
-      999_999,
-      9_999_999,
-      99_999_999,
-      999_999_999
-  };
-
-  private static final long[] LONG_LENGTHS = new long[] {
-      0L,
-      9L,
-      99L,
-      999L,
-      9_999L,
-      99_999L,
-      999_999L,
-      9_999_999L,
-      99_999_999L,
-      999_999_999L,
-      9_999_999_999L,
-      99_999_999_999L,
-      999_999_999_999L,
-      9_999_999_999_999L,
-      99_999_999_999_999L,
-      999_999_999_999_999L,
-      9_999_999_999_999_999L,
-      99_999_999_999_999_999L,
-      999_999_999_999_999_999L,
-  };
+  private static final int PAD_RUN_LENGTH = 64;
+
+  /**
+   * Lazily created pad runs for all Latin-1 pad characters.
+   */
+  private static final PadRun[] PAD_RUNS = new PadRun[256];
 
   private StringUtils() {
     throw new AssertionError("not instantiable");
@@ -54,14 +32,7 @@ public final class StringUtils {
   }
 
   static int toStringLength(int i) {
-    if (i < 0) {
-      throw new IllegalArgumentException("can't padd negative lengths");
-    }
-    int length = 1;
-    while (length < INT_LENGTHS.length && i > INT_LENGTHS[length]) {
-      length += 1;
-    }
-    return length;
+    return Digits.stringLength(i);
   }
 
   static int toStringLength(Long l) {
@@ -72,14 +43,7 @@ public final class StringUtils {
   }
 
   static int toStringLength(long l) {
-    if (l < 0) {
-      throw new IllegalArgumentException("can't padd negative lengths");
-    }
-    int length = 1;
-    while (length < LONG_LENGTHS.length && l > LONG_LENGTHS[length]) {
-      length += 1;
-    }
-    return length;
+    return Digits.stringLength(l);
   }
 
   private static void repeatInto(char padChar, int count, StringBuilder buf) {
@@ -90,10 +54,166 @@ public final class StringUtils {
   }
 
   private static void repeatInto(char padChar, int count, Appendable appendable) throws IOException {
-    while (count > 0) {
-      appendable.append(padChar);
-      count -= 1;
+    if (count <= 0) {
+      return;
+    }
+    char[] run = padRun(padChar, count);
+    if (appendable instanceof Writer) {
+      Writer writer = (Writer) appendable;
+      while (count > 0) {
+        int length = Math.min(count, run.length);
+        writer.write(run, 0, length);
+        count -= length;
+      }
+    } else if (appendable instanceof StringBuilder) {
+      StringBuilder builder = (StringBuilder) appendable;
+      while (count > 0) {
+        int length = Math.min(count, run.length);
+        builder.append(run, 0, length);
+        count -= length;
+      }
+    } else {
+      CharBuffer buffer = CharBuffer.wrap(run);
+      while (count > 0) {
+        int length = Math.min(count, run.length);
+        buffer.limit(length);
+        appendable.append(buffer);
+        buffer.rewind();
+        count -= length;
+      }
+    }
+  }
+
+  /**
+   * Returns an array filled with the pad character that is used to
+   * write up to {@value #PAD_RUN_LENGTH} pad characters at once.
+   */
+  private static char[] padRun(char padChar, int count) {
+    if (padChar < PAD_RUNS.length) {
+      PadRun run = PAD_RUNS[padChar];
+      if (run == null) {
+        // racy but the final field publishes the array safely so at worst a run is created twice
+        run = new PadRun(newPadRun(padChar, PAD_RUN_LENGTH));
+        PAD_RUNS[padChar] = run;
+      }
+      return run.chars;
+    }
+    return newPadRun(padChar, Math.min(count, PAD_RUN_LENGTH));
+  }
+
+  private static char[] newPadRun(char padChar, int length) {
+    char[] chars = new char[length];
+    Arrays.fill(chars, padChar);
+    return chars;
+  }
+
+  /**
+   * Creates a String consisting of padding, the given String and padding.
+   *
+   * <p>The result is built in a single array.</p>
+   */
+  private static String pad(String str, int leftPads, int rightPads, char padChar) {
+    int length = str.length();
+    char[] chars = new char[leftPads + length + rightPads];
+    Arrays.fill(chars, 0, leftPads, padChar);
+    str.getChars(0, length, chars, leftPads);
+    Arrays.fill(chars, leftPads + length, chars.length, padChar);
+    return new String(chars);
+  }
+
+  private static boolean isLatin1(String str) {
+    for (int i = 0; i < str.length(); i++) {
+      if (str.charAt(i) > 0xFF) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Left pad a String with a specified character to a specified length.
+   *
+   * <pre><code>
+   * StringUtils.leftPad((String) null, 3, '*') = null
+   * StringUtils.leftPad("1", 3, '0')             = "001"
+   * StringUtils.leftPad("111", 3, '0')           = "111"
+   * StringUtils.leftPad("1111", 3, '0')          = "1111"
+   * </code></pre>
+   *
+   * @param str the String to pad, may be {@code null}
+   * @param size the size to pad to
+   * @param padChar the character to pad with
+   * @return left padded String, the original String if no padding is
+   *         needed, {@code null} if the input is {@code null}
+   */
+  public static String leftPad(String str, int size, char padChar) {
+    if (str == null) {
+      return null;
+    }
+    int pads = size - str.length();
+    if (pads <= 0) {
+      return str;
+    }
+    return pad(str, pads, 0, padChar);
+  }
+
+  /**
+   * Right pad a String with a specified character to a specified length.
+   *
+   * <pre><code>
+   * StringUtils.rightPad(null, 3, '*')   = null
+   * StringUtils.rightPad("1", 3, '0')    = "100"
+   * StringUtils.rightPad("111", 3, '0')  = "111"
+   * StringUtils.rightPad("1111", 3, '0') = "1111"
+   * </code></pre>
+   *
+   * @param str the String to pad, may be {@code null}
+   * @param size the size to pad to
+   * @param padChar the character to pad with
+   * @return right padded String, the original String if no padding is
+   *         needed, {@code null} if the input is {@code null}
+   */
+  public static String rightPad(String str, int size, char padChar) {
+    if (str == null) {
+      return null;
+    }
+    int pads = size - str.length();
+    if (pads <= 0) {
+      return str;
+    }
+    return pad(str, 0, pads, padChar);
+  }
+
+  /**
+   * Centers a String in a String of a specified length by padding on both
+   * sides.
+   *
+   * <p>If the padding can not be split evenly the extra character goes
+   * to the right.</p>
+   *
+   * <pre><code>
+   * StringUtils.center(null, 3, '*')   = null
+   * StringUtils.center("1", 3, '*')    = "*1*"
+   * StringUtils.center("1", 4, '*')    = "*1**"
+   * StringUtils.center("1111", 3, '*') = "1111"
+   * </code></pre>
+   *
+   * @param str the String to center, may be {@code null}
+   * @param size the size of the result
+   * @param padChar the character to pad with
+   * @return centered String, the original String if no padding is needed,
+   *         {@code null} if the input is {@code null}
+   */
+  public static String center(String str, int size, char padChar) {
+    if (str == null) {
+      return null;
     }
+    int pads = size - str.length();
+    if (pads <= 0) {
+      return str;
+    }
+    int leftPads = pads / 2;
+    return pad(str, leftPads, pads - leftPads, padChar);
   }
 
   /**
@@ -168,7 +288,7 @@ public final class StringUtils {
    * StringUtils.leftPadInto(1111, 3, '0', buf)           = "1111"
    * </code></pre>
    *
-   * @param i the Integer to pad, may be {@code null} but not negative
+   * @param i the Integer to pad, may be {@code null}
    * @param size the size to pad to, not negative
    * @param padChar the character to pad with
    * @param buf the buffer into which to pad
@@ -177,12 +297,31 @@ public final class StringUtils {
     if (i == null) {
       repeatInto(padChar, size, buf);
     } else {
-      int repeat = size - toStringLength(i);
-      repeatInto(padChar, repeat, buf);
-      buf.append(i.intValue());
+      leftPadInto(i.intValue(), size, padChar, buf);
     }
   }
 
+  /**
+   * Left pad an int with a specified character to a specified length
+   * into a specified StringBuilder.
+   *
+   * <p>The sign of a negative value comes before the padding.</p>
+   *
+   * <pre><code>
+   * StringUtils.leftPadInto(1, 3, '0', buf)    = "001"
+   * StringUtils.leftPadInto(-1, 3, '0', buf)   = "-01"
+   * StringUtils.leftPadInto(1111, 3, '0', buf) = "1111"
+   * </code></pre>
+   *
+   * @param i the int to pad
+   * @param size the size to pad to including the sign, not negative
+   * @param padChar the character to pad with
+   * @param buf the buffer into which to pad
+   */
+  public static void leftPadInto(int i, int size, char padChar, StringBuilder buf) {
+    Digits.leftPad(i, size, padChar, buf);
+  }
+
   /**
    * Left pad a Long with a specified character to a specified length
    * into a specified StringBuilder.
@@ -197,7 +336,7 @@ public final class StringUtils {
    * StringUtils.leftPadInto(1111L, 3, '0', buf)       = "1111"
    * </code></pre>
    *
-   * @param l the Long to pad, may be {@code null} but not negative
+   * @param l the Long to pad, may be {@code null}
    * @param size the size to pad to, not negative
    * @param padChar the character to pad with
    * @param buf the buffer into which to pad
@@ -206,10 +345,383 @@ public final class StringUtils {
     if (l == null) {
       repeatInto(padChar, size, buf);
     } else {
-      int repeat = size - toStringLength(l);
-      repeatInto(padChar, repeat, buf);
-      buf.append(l.longValue());
+      leftPadInto(l.longValue(), size, padChar, buf);
+    }
+  }
+
+  /**
+   * Left pad a long with a specified character to a specified length
+   * into a specified StringBuilder.
+   *
+   * <p>The sign of a negative value comes before the padding.</p>
+   *
+   * <pre><code>
+   * StringUtils.leftPadInto(1L, 3, '0', buf)    = "001"
+   * StringUtils.leftPadInto(-1L, 3, '0', buf)   = "-01"
+   * StringUtils.leftPadInto(1111L, 3, '0', buf) = "1111"
+   * </code></pre>
+   *
+   * @param l the long to pad
+   * @param size the size to pad to including the sign, not negative
+   * @param padChar the character to pad with
+   * @param buf the buffer into which to pad
+   */
+  public static void leftPadInto(long l, int size, char padChar, StringBuilder buf) {
+    Digits.leftPad(l, size, padChar, buf);
+  }
+
+  /**
+   * Checks that a target array has room for the given number of elements
+   * at the given offset, before anything is written.
+   */
+  private static void checkTarget(int targetLength, int offset, int length) {
+    if (offset < 0) {
+      throw new ArrayIndexOutOfBoundsException(offset);
+    }
+    if (length > targetLength - offset) {
+      throw new ArrayIndexOutOfBoundsException(offset + length);
+    }
+  }
+
+  private static void checkLatin1(char padChar) {
+    if (padChar > 0xFF) {
+      throw new IllegalArgumentException("pad character is not Latin-1: " + (int) padChar);
+    }
+  }
+
+  /**
+   * Left pad a String with a specified character to a specified length
+   * into a char array.
+   *
+   * <p>If the given String is {@code null} then only the pad character
+   * will be written. Nothing is allocated.</p>
+   *
+   * <pre><code>
+   * StringUtils.leftPadInto("1", 3, '0', target, 2) = 5, "001" at index 2
+   * </code></pre>
+   *
+   * @param str the String to pad, may be {@code null}
+   * @param size the size to pad to, not negative
+   * @param padChar the character to pad with
+   * @param target the array into which to pad
+   * @param offset the index of the first character to write
+   * @return the index after the last written character
+   * @throws ArrayIndexOutOfBoundsException if the padded String does not
+   *         fit, in this case nothing is written
+   */
+  public static int leftPadInto(String str, int size, char padChar, char[] target, int offset) {
+    int strLength = str == null ? 0 : str.length();
+    int length = Math.max(size, strLength);
+    checkTarget(target.length, offset, length);
+    int pads = length - strLength;
+    Arrays.fill(target, offset, offset + pads, padChar);
+    if (str != null) {
+      str.getChars(0, strLength, target, offset + pads);
+    }
+    return offset + length;
+  }
+
+  /**
+   * Left pad an int with a specified character to a specified length
+   * into a char array.
+   *
+   * <p>The sign of a negative value comes before the padding. Nothing is
+   * allocated.</p>
+   *
+   * @param i the int to pad
+   * @param size the size to pad to including the sign, not negative
+   * @param padChar the character to pad with
+   * @param target the array into which to pad
+   * @param offset the index of the first character to write
+   * @return the index after the last written character
+   * @throws ArrayIndexOutOfBoundsException if the padded value does not
+   *         fit, in this case nothing is written
+   */
+  public static int leftPadInto(int i, int size, char padChar, char[] target, int offset) {
+    checkTarget(target.length, offset, Digits.paddedLength(i, size));
+    return Digits.leftPad(i, size, padChar, target, offset);
+  }
+
+  /**
+   * Left pad a long with a specified character to a specified length
+   * into a char array.
+   *
+   * <p>The sign of a negative value comes before the padding. Nothing is
+   * allocated.</p>
+   *
+   * @param l the long to pad
+   * @param size the size to pad to including the sign, not negative
+   * @param padChar the character to pad with
+   * @param target the array into which to pad
+   * @param offset the index of the first character to write
+   * @return the index after the last written character
+   * @throws ArrayIndexOutOfBoundsException if the padded value does not
+   *         fit, in this case nothing is written
+   */
+  public static int leftPadInto(long l, int size, char padChar, char[] target, int offset) {
+    checkTarget(target.length, offset, Digits.paddedLength(l, size));
+    return Digits.leftPad(l, size, padChar, target, offset);
+  }
+
+  /**
+   * Left pad a String with a specified character to a specified length
+   * into a byte array, one ISO-8859-1 byte per character.
+   *
+   * <p>If the given String is {@code null} then only the pad character
+   * will be written. For ASCII input the bytes are ASCII. Nothing is
+   * allocated.</p>
+   *
+   * @param str the String to pad, may be {@code null}
+   * @param size the size to pad to, not negative
+   * @param padChar the character to pad with, Latin-1
+   * @param target the array into which to pad
+   * @param offset the index of the first byte to write
+   * @return the index after the last written byte
+   * @throws ArrayIndexOutOfBoundsException if the padded String does not
+   *         fit, in this case nothing is written
+   * @throws IllegalArgumentException if the String or the pad character
+   *         contain a character that is not Latin-1, in this case nothing
+   *         is written
+   */
+  @SuppressWarnings("deprecation")
+  public static int leftPadInto(String str, int size, char padChar, byte[] target, int offset) {
+    checkLatin1(padChar);
+    int strLength = str == null ? 0 : str.length();
+    int length = Math.max(size, strLength);
+    checkTarget(target.length, offset, length);
+    if (str != null && !isLatin1(str)) {
+      throw new IllegalArgumentException("String is not Latin-1");
+    }
+    int pads = length - strLength;
+    Arrays.fill(target, offset, offset + pads, (byte) padChar);
+    if (str != null) {
+      // only copies the low byte which is enough for Latin-1
+      str.getBytes(0, strLength, target, offset + pads);
+    }
+    return offset + length;
+  }
+
+  /**
+   * Left pad an int with a specified character to a specified length
+   * into a byte array, one ASCII byte per character.
+   *
+   * <p>The sign of a negative value comes before the padding. Nothing is
+   * allocated.</p>
+   *
+   * @param i the int to pad
+   * @param size the size to pad to including the sign, not negative
+   * @param padChar the character to pad with, Latin-1
+   * @param target the array into which to pad
+   * @param offset the index of the first byte to write
+   * @return the index after the last written byte
+   * @throws ArrayIndexOutOfBoundsException if the padded value does not
+   *         fit, in this case nothing is written
+   * @throws IllegalArgumentException if the pad character is not Latin-1
+   */
+  public static int leftPadInto(int i, int size, char padChar, byte[] target, int offset) {
+    checkLatin1(padChar);
+    checkTarget(target.length, offset, Digits.paddedLength(i, size));
+    return Digits.leftPad(i, size, padChar, target, offset);
+  }
+
+  /**
+   * Left pad a long with a specified character to a specified length
+   * into a byte array, one ASCII byte per character.
+   *
+   * <p>The sign of a negative value comes before the padding. Nothing is
+   * allocated.</p>
+   *
+   * @param l the long to pad
+   * @param size the size to pad to including the sign, not negative
+   * @param padChar the character to pad with, Latin-1
+   * @param target the array into which to pad
+   * @param offset the index of the first byte to write
+   * @return the index after the last written byte
+   * @throws ArrayIndexOutOfBoundsException if the padded value does not
+   *         fit, in this case nothing is written
+   * @throws IllegalArgumentException if the pad character is not Latin-1
+   */
+  public static int leftPadInto(long l, int size, char padChar, byte[] target, int offset) {
+    checkLatin1(padChar);
+    checkTarget(target.length, offset, Digits.paddedLength(l, size));
+    return Digits.leftPad(l, size, padChar, target, offset);
+  }
+
+  /**
+   * Checks that a buffer has room for the given number of bytes, before
+   * anything is written.
+   */
+  private static void checkRemaining(ByteBuffer target, int length) {
+    if (target.remaining() < length) {
+      throw new BufferOverflowException();
+    }
+  }
+
+  /**
+   * Left pad a String with a specified character to a specified length
+   * and encode it into a ByteBuffer.
+   *
+   * <p>If the given String is {@code null} then only the pad character
+   * will be written. The characters are encoded while they are written,
+   * no intermediate String or array is created. The position of the
+   * buffer is advanced by the number of bytes written.</p>
+   *
+   * @param str the String to pad, may be {@code null}
+   * @param size the size to pad to in characters, not negative
+   * @param padChar the character to pad with
+   * @param encoding the encoding to use, not {@code null}
+   * @param target the buffer into which to pad, may be direct
+   * @throws BufferOverflowException if the encoded bytes do not fit, in
+   *         this case nothing is written
+   * @throws IllegalArgumentException if a character can not be encoded,
+   *         in this case nothing is written
+   */
+  public static void leftPadInto(String str, int size, char padChar, ByteEncoding encoding, ByteBuffer target) {
+    int strLength = str == null ? 0 : str.length();
+    int pads = Math.max(0, size - strLength);
+    int padLength = encoding.encodedLength(padChar);
+    int encodedLength = pads * padLength + (str == null ? 0 : encoding.encodedLength(str));
+    checkRemaining(target, encodedLength);
+    encoding.encodeRepeated(padChar, pads, target);
+    if (str != null) {
+      encoding.encode(str, target);
+    }
+  }
+
+  /**
+   * Left pad an int with a specified character to a specified length and
+   * encode it into a ByteBuffer.
+   *
+   * <p>The sign of a negative value comes before the padding. The digits
+   * are encoded while they are written, no intermediate String or array
+   * is created. The position of the buffer is advanced by the number of
+   * bytes written.</p>
+   *
+   * @param i the int to pad
+   * @param size the size to pad to in characters including the sign, not negative
+   * @param padChar the character to pad with
+   * @param encoding the encoding to use, not {@code null}
+   * @param target the buffer into which to pad, may be direct
+   * @throws BufferOverflowException if the encoded bytes do not fit, in
+   *         this case nothing is written
+   * @throws IllegalArgumentException if the pad character can not be
+   *         encoded, in this case nothing is written
+   */
+  public static void leftPadInto(int i, int size, char padChar, ByteEncoding encoding, ByteBuffer target) {
+    leftPadInto((long) i, Digits.stringLength(i), size, padChar, encoding, target);
+  }
+
+  /**
+   * Left pad a long with a specified character to a specified length and
+   * encode it into a ByteBuffer.
+   *
+   * <p>The sign of a negative value comes before the padding. The digits
+   * are encoded while they are written, no intermediate String or array
+   * is created. The position of the buffer is advanced by the number of
+   * bytes written.</p>
+   *
+   * @param l the long to pad
+   * @param size the size to pad to in characters including the sign, not negative
+   * @param padChar the character to pad with
+   * @param encoding the encoding to use, not {@code null}
+   * @param target the buffer into which to pad, may be direct
+   * @throws BufferOverflowException if the encoded bytes do not fit, in
+   *         this case nothing is written
+   * @throws IllegalArgumentException if the pad character can not be
+   *         encoded, in this case nothing is written
+   */
+  public static void leftPadInto(long l, int size, char padChar, ByteEncoding encoding, ByteBuffer target) {
+    leftPadInto(l, Digits.stringLength(l), size, padChar, encoding, target);
+  }
+
+  private static void leftPadInto(long l, int stringLength, int size, char padChar, ByteEncoding encoding, ByteBuffer target) {
+    int pads = Math.max(0, size - stringLength);
+    int padLength = encoding.encodedLength(padChar);
+    // sign and digits are single bytes in all supported encodings
+    checkRemaining(target, pads * padLength + stringLength);
+    if (l < 0L) {
+      target.put(encoding.asciiByte('-'));
     }
+    encoding.encodeRepeated(padChar, pads, target);
+    int digitCount = l < 0L ? stringLength - 1 : stringLength;
+    int end = target.position() + digitCount;
+    Digits.writeDigits(l, end, target, encoding);
+    target.position(end);
+  }
+
+  /**
+   * Left pad a String with a specified character to a specified length
+   * and encode it into an OutputStream.
+   *
+   * <p>If the given String is {@code null} then only the pad character
+   * will be written. The encoded bytes are written with a single call to
+   * {@link OutputStream#write(byte[], int, int)}, no intermediate String
+   * is created.</p>
+   *
+   * @param str the String to pad, may be {@code null}
+   * @param size the size to pad to in characters, not negative
+   * @param padChar the character to pad with
+   * @param encoding the encoding to use, not {@code null}
+   * @param out the stream into which to pad
+   * @throws IOException if writing to the stream fails
+   * @throws IllegalArgumentException if a character can not be encoded,
+   *         in this case nothing is written
+   */
+  public static void leftPadInto(String str, int size, char padChar, ByteEncoding encoding, OutputStream out) throws IOException {
+    int strLength = str == null ? 0 : str.length();
+    int pads = Math.max(0, size - strLength);
+    int encodedLength = pads * encoding.encodedLength(padChar) + (str == null ? 0 : encoding.encodedLength(str));
+    byte[] bytes = new byte[encodedLength];
+    leftPadInto(str, size, padChar, encoding, ByteBuffer.wrap(bytes));
+    out.write(bytes, 0, bytes.length);
+  }
+
+  /**
+   * Left pad an int with a specified character to a specified length and
+   * encode it into an OutputStream.
+   *
+   * <p>The sign of a negative value comes before the padding. The encoded
+   * bytes are written with a single call to
+   * {@link OutputStream#write(byte[], int, int)}, no intermediate String
+   * is created.</p>
+   *
+   * @param i the int to pad
+   * @param size the size to pad to in characters including the sign, not negative
+   * @param padChar the character to pad with
+   * @param encoding the encoding to use, not {@code null}
+   * @param out the stream into which to pad
+   * @throws IOException if writing to the stream fails
+   * @throws IllegalArgumentException if the pad character can not be
+   *         encoded, in this case nothing is written
+   */
+  public static void leftPadInto(int i, int size, char padChar, ByteEncoding encoding, OutputStream out) throws IOException {
+    leftPadInto((long) i, size, padChar, encoding, out);
+  }
+
+  /**
+   * Left pad a long with a specified character to a specified length and
+   * encode it into an OutputStream.
+   *
+   * <p>The sign of a negative value comes before the padding. The encoded
+   * bytes are written with a single call to
+   * {@link OutputStream#write(byte[], int, int)}, no intermediate String
+   * is created.</p>
+   *
+   * @param l the long to pad
+   * @param size the size to pad to in characters including the sign, not negative
+   * @param padChar the character to pad with
+   * @param encoding the encoding to use, not {@code null}
+   * @param out the stream into which to pad
+   * @throws IOException if writing to the stream fails
+   * @throws IllegalArgumentException if the pad character can not be
+   *         encoded, in this case nothing is written
+   */
+  public static void leftPadInto(long l, int size, char padChar, ByteEncoding encoding, OutputStream out) throws IOException {
+    int stringLength = Digits.stringLength(l);
+    int pads = Math.max(0, size - stringLength);
+    byte[] bytes = new byte[pads * encoding.encodedLength(padChar) + stringLength];
+    leftPadInto(l, stringLength, size, padChar, encoding, ByteBuffer.wrap(bytes));
+    out.write(bytes, 0, bytes.length);
   }
 
   /**
@@ -225,19 +737,41 @@ public final class StringUtils {
    * StringUtils.leftPad(1111, 3, '0')           = "1111"
    * </code></pre>
    *
-   * @param i the Integer to pad, may be {@code null} but not negative
+   * @param i the Integer to pad, may be {@code null}
    * @param size the size to pad to, not negative
    * @param padChar the character to pad with
    * @return left padded Integer
    */
   public static String leftPad(Integer i, int size, char padChar) {
-    StringBuilder buf = new StringBuilder(size);
-    int repeat = size - toStringLength(i);
-    repeatInto(padChar, repeat, buf);
-    if (i != null) {
-      buf.append(i.intValue());
+    if (i == null) {
+      StringBuilder buf = new StringBuilder(size);
+      repeatInto(padChar, size, buf);
+      return buf.toString();
     }
-    return buf.toString();
+    return leftPad(i.intValue(), size, padChar);
+  }
+
+  /**
+   * Left pad an int with a specified character to a specified length.
+   *
+   * <p>The sign of a negative value comes before the padding. Small
+   * non-negative values padded with <code>'0'</code> or <code>' '</code>
+   * are cached in the {@link PaddedNumberCache#shared() shared}
+   * {@link PaddedNumberCache}.</p>
+   *
+   * <pre><code>
+   * StringUtils.leftPad(1, 3, '0')    = "001"
+   * StringUtils.leftPad(-1, 3, '0')   = "-01"
+   * StringUtils.leftPad(1111, 3, '0') = "1111"
+   * </code></pre>
+   *
+   * @param i the int to pad
+   * @param size the size to pad to including the sign, not negative
+   * @param padChar the character to pad with
+   * @return left padded int
+   */
+  public static String leftPad(int i, int size, char padChar) {
+    return PaddedNumberCache.shared().leftPad(i, size, padChar);
   }
 
   /**
@@ -253,19 +787,55 @@ public final class StringUtils {
    * StringUtils.leftPad(1111, 3, '0')           = "1111"
    * </code></pre>
    *
-   * @param l the Long to pad, may be {@code null} but not negative
+   * @param l the Long to pad, may be {@code null}
    * @param size the size to pad to, not negative
    * @param padChar the character to pad with
    * @return left padded Long
    */
   public static String leftPad(Long l, int size, char padChar) {
-    StringBuilder buf = new StringBuilder(size);
-    int repeat = size - toStringLength(l);
-    repeatInto(padChar, repeat, buf);
-    if (l != null) {
-      buf.append(l.longValue());
+    if (l == null) {
+      StringBuilder buf = new StringBuilder(size);
+      repeatInto(padChar, size, buf);
+      return buf.toString();
     }
-    return buf.toString();
+    return leftPad(l.longValue(), size, padChar);
+  }
+
+  /**
+   * Left pad a long with a specified character to a specified length.
+   *
+   * <p>The sign of a negative value comes before the padding. Small
+   * non-negative values padded with <code>'0'</code> or <code>' '</code>
+   * are cached in the {@link PaddedNumberCache#shared() shared}
+   * {@link PaddedNumberCache}.</p>
+   *
+   * <pre><code>
+   * StringUtils.leftPad(1L, 3, '0')    = "001"
+   * StringUtils.leftPad(-1L, 3, '0')   = "-01"
+   * StringUtils.leftPad(1111L, 3, '0') = "1111"
+   * </code></pre>
+   *
+   * @param l the long to pad
+   * @param size the size to pad to including the sign, not negative
+   * @param padChar the character to pad with
+   * @return left padded long
+   */
+  public static String leftPad(long l, int size, char padChar) {
+    return PaddedNumberCache.shared().leftPad(l, size, padChar);
+  }
+
+  /**
+   * Holds a pad run, the final field makes sure other threads see the
+   * filled array.
+   */
+  private static final class PadRun {
+
+    final char[] chars;
+
+    PadRun(char[] chars) {
+      this.chars = chars;
+    }
+
   }
 
 
@@ -0,0 +1,130 @@
+package com.github.marschall.minicommons;
+
+import java.util.Objects;
+
+/**
+ * Builds a hash code that does not depend on the order in which values
+ * are appended.
+ *
+ * <p>
+ * {@link HashCodeBuilder} is order dependent which is right for lists and the fields of an object but wrong for sets
+ * and other unordered collections. Simply summing the element hash codes, as {@link java.util.Set#hashCode()} does,
+ * gives poor results for elements with similar hash codes. This builder first mixes the hash code of every element
+ * and then combines the mixed values commutatively with a sum and an exclusive or, together with the number of
+ * elements.
+ * </p>
+ *
+ * <pre><code>
+ * public int hashCode() {
+ *   return new HashCodeBuilder()
+ *     .append(name)
+ *     .append(new UnorderedHashCodeBuilder()
+ *       .appendAll(tags)
+ *       .toHashCode())
+ *     .toHashCode();
+ * }
+ * </code></pre>
+ *
+ * <p>
+ * Builders filled on different threads can be combined with {@link #merge(UnorderedHashCodeBuilder)}, see also
+ * {@link HashCodeCollectors#toUnorderedHashCode()}.
+ * </p>
+ */
+public final class UnorderedHashCodeBuilder {
+
+  private int sum;
+
+  private int xor;
+
+  private long count;
+
+  /**
+   * Creates a new empty builder.
+   */
+  public UnorderedHashCodeBuilder() {
+    sum = 0;
+    xor = 0;
+    count = 0L;
+  }
+
+  /**
+   * The MurmurHash3 32 bit finalizer.
+   */
+  static int mix(int value) {
+    int h = value;
+    h ^= h >>> 16;
+    h *= 0x85EBCA6B;
+    h ^= h >>> 13;
+    h *= 0xC2B2AE35;
+    h ^= h >>> 16;
+    return h;
+  }
+
+  /**
+   * Append an element given by its hash code.
+   *
+   * @param hashCode
+   *            the hash code of the element
+   * @return UnorderedHashCodeBuilder - used to chain calls
+   */
+  public UnorderedHashCodeBuilder append(int hashCode) {
+    int mixed = mix(hashCode);
+    sum += mixed;
+    xor ^= mixed;
+    count += 1L;
+    return this;
+  }
+
+  /**
+   * Append an element.
+   *
+   * @param element
+   *            the element to add to the hash code, may be {@code null}
+   * @return UnorderedHashCodeBuilder - used to chain calls
+   */
+  public UnorderedHashCodeBuilder append(Object element) {
+    return append(Objects.hashCode(element));
+  }
+
+  /**
+   * Append all elements of a collection.
+   *
+   * @param elements
+   *            the elements to add to the hash code, not {@code null}
+   * @return UnorderedHashCodeBuilder - used to chain calls
+   */
+  public UnorderedHashCodeBuilder appendAll(Iterable<?> elements) {
+    for (Object element : elements) {
+      append(element);
+    }
+    return this;
+  }
+
+  /**
+   * Adds all elements of an other builder to this builder.
+   *
+   * @param other
+   *            the builder to merge, not {@code null}
+   * @return UnorderedHashCodeBuilder - used to chain calls
+   */
+  public UnorderedHashCodeBuilder merge(UnorderedHashCodeBuilder other) {
+    sum += other.sum;
+    xor ^= other.xor;
+    count += other.count;
+    return this;
+  }
+
+  /**
+   * Return the computed <code>hashCode</code>.
+   *
+   * @return <code>hashCode</code> based on the elements appended
+   */
+  public int toHashCode() {
+    int total = HashCodeBuilder.INITIAL_TOTAL;
+    total = total * HashCodeBuilder.MULTPLIER + sum;
+    total = total * HashCodeBuilder.MULTPLIER + xor;
+    total = total * HashCodeBuilder.MULTPLIER + Long.hashCode(count);
+    return mix(total);
+  }
+
+}
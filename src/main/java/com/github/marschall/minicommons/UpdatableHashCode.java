@@ -0,0 +1,563 @@
+package com.github.marschall.minicommons;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * A hash code over a sequence of fields where single fields can be
+ * replaced without rehashing the others.
+ *
+ * <p>
+ * The value is always the same as appending the current field values to a fresh {@link HashCodeBuilder}. Because the
+ * contribution of field <code>i</code> of <code>n</code> fields is its hash code times <code>31^(n-1-i)</code>,
+ * replacing a field only needs to subtract the old contribution and add the new one, independent of the number of
+ * fields.
+ * </p>
+ *
+ * <pre><code>
+ * UpdatableHashCode hashCode = new UpdatableHashCode()
+ *   .append(id)
+ *   .append(name)
+ *   .append(quantity);
+ * ...
+ * hashCode.set(2, newQuantity);
+ * int hash = hashCode.toHashCode();
+ * </code></pre>
+ *
+ * <p>
+ * Like {@link HashCodeBuilder} this class is not safe for concurrent use. Arrays are hashed by their content like
+ * the array overloads of {@link HashCodeBuilder} do.
+ * </p>
+ */
+public final class UpdatableHashCode {
+
+  private static final int INITIAL_CAPACITY = 8;
+
+  /**
+   * The hash code of every field.
+   */
+  private int[] contributions;
+
+  /**
+   * <code>31^d</code> at index <code>d</code>, the factor of the field
+   * <code>d</code> positions before the last one.
+   */
+  private int[] powers;
+
+  private int size;
+
+  private int total;
+
+  /**
+   * Creates a new instance without any fields.
+   */
+  public UpdatableHashCode() {
+    this.contributions = new int[INITIAL_CAPACITY];
+    this.powers = new int[INITIAL_CAPACITY];
+    this.powers[0] = 1;
+    for (int i = 1; i < this.powers.length; i++) {
+      this.powers[i] = this.powers[i - 1] * HashCodeBuilder.MULTPLIER;
+    }
+    this.size = 0;
+    this.total = HashCodeBuilder.INITIAL_TOTAL;
+  }
+
+  private UpdatableHashCode appendContribution(int contribution) {
+    if (this.size == this.contributions.length) {
+      this.grow();
+    }
+    this.contributions[this.size] = contribution;
+    this.size += 1;
+    this.total = this.total * HashCodeBuilder.MULTPLIER + contribution;
+    return this;
+  }
+
+  private void grow() {
+    int oldLength = this.contributions.length;
+    int newLength = oldLength * 2;
+    this.contributions = Arrays.copyOf(this.contributions, newLength);
+    this.powers = Arrays.copyOf(this.powers, newLength);
+    for (int i = oldLength; i < newLength; i++) {
+      this.powers[i] = this.powers[i - 1] * HashCodeBuilder.MULTPLIER;
+    }
+  }
+
+  private void setContribution(int index, int contribution) {
+    if (index < 0 || index >= this.size) {
+      throw new IndexOutOfBoundsException("index: " + index + ", size: " + this.size);
+    }
+    int difference = contribution - this.contributions[index];
+    this.contributions[index] = contribution;
+    this.total += difference * this.powers[this.size - 1 - index];
+  }
+
+  /**
+   * Append a <code>boolean</code> field.
+   *
+   * @param value
+   *            the field value
+   * @return UpdatableHashCode - used to chain calls
+   * @see HashCodeBuilder#append(boolean)
+   */
+  public UpdatableHashCode append(boolean value) {
+    return this.appendContribution(Boolean.hashCode(value));
+  }
+
+  /**
+   * Append a <code>boolean</code> array field, hashed by its content.
+   *
+   * @param array
+   *            the field value
+   * @return UpdatableHashCode - used to chain calls
+   * @see HashCodeBuilder#append(boolean[])
+   */
+  public UpdatableHashCode append(boolean[] array) {
+    return this.appendContribution(Arrays.hashCode(array));
+  }
+
+  /**
+   * Append a <code>byte</code> field.
+   *
+   * @param value
+   *            the field value
+   * @return UpdatableHashCode - used to chain calls
+   * @see HashCodeBuilder#append(byte)
+   */
+  public UpdatableHashCode append(byte value) {
+    return this.appendContribution(value);
+  }
+
+  /**
+   * Append a <code>byte</code> array field, hashed by its content.
+   *
+   * @param array
+   *            the field value
+   * @return UpdatableHashCode - used to chain calls
+   * @see HashCodeBuilder#append(byte[])
+   */
+  public UpdatableHashCode append(byte[] array) {
+    return this.appendContribution(Arrays.hashCode(array));
+  }
+
+  /**
+   * Append a <code>char</code> field.
+   *
+   * @param value
+   *            the field value
+   * @return UpdatableHashCode - used to chain calls
+   * @see HashCodeBuilder#append(char)
+   */
+  public UpdatableHashCode append(char value) {
+    return this.appendContribution(value);
+  }
+
+  /**
+   * Append a <code>char</code> array field, hashed by its content.
+   *
+   * @param array
+   *            the field value
+   * @return UpdatableHashCode - used to chain calls
+   * @see HashCodeBuilder#append(char[])
+   */
+  public UpdatableHashCode append(char[] array) {
+    return this.appendContribution(Arrays.hashCode(array));
+  }
+
+  /**
+   * Append a <code>double</code> field.
+   *
+   * @param value
+   *            the field value
+   * @return UpdatableHashCode - used to chain calls
+   * @see HashCodeBuilder#append(double)
+   */
+  public UpdatableHashCode append(double value) {
+    return this.appendContribution(Double.hashCode(value));
+  }
+
+  /**
+   * Append a <code>double</code> array field, hashed by its content.
+   *
+   * @param array
+   *            the field value
+   * @return UpdatableHashCode - used to chain calls
+   * @see HashCodeBuilder#append(double[])
+   */
+  public UpdatableHashCode append(double[] array) {
+    return this.appendContribution(Arrays.hashCode(array));
+  }
+
+  /**
+   * Append a <code>float</code> field.
+   *
+   * @param value
+   *            the field value
+   * @return UpdatableHashCode - used to chain calls
+   * @see HashCodeBuilder#append(float)
+   */
+  public UpdatableHashCode append(float value) {
+    return this.appendContribution(Float.hashCode(value));
+  }
+
+  /**
+   * Append a <code>float</code> array field, hashed by its content.
+   *
+   * @param array
+   *            the field value
+   * @return UpdatableHashCode - used to chain calls
+   * @see HashCodeBuilder#append(float[])
+   */
+  public UpdatableHashCode append(float[] array) {
+    return this.appendContribution(Arrays.hashCode(array));
+  }
+
+  /**
+   * Append an <code>int</code> field.
+   *
+   * @param value
+   *            the field value
+   * @return UpdatableHashCode - used to chain calls
+   * @see HashCodeBuilder#append(int)
+   */
+  public UpdatableHashCode append(int value) {
+    return this.appendContribution(value);
+  }
+
+  /**
+   * Append an <code>int</code> array field, hashed by its content.
+   *
+   * @param array
+   *            the field value
+   * @return UpdatableHashCode - used to chain calls
+   * @see HashCodeBuilder#append(int[])
+   */
+  public UpdatableHashCode append(int[] array) {
+    return this.appendContribution(Arrays.hashCode(array));
+  }
+
+  /**
+   * Append a <code>long</code> field.
+   *
+   * @param value
+   *            the field value
+   * @return UpdatableHashCode - used to chain calls
+   * @see HashCodeBuilder#append(long)
+   */
+  public UpdatableHashCode append(long value) {
+    return this.appendContribution(Long.hashCode(value));
+  }
+
+  /**
+   * Append a <code>long</code> array field, hashed by its content.
+   *
+   * @param array
+   *            the field value
+   * @return UpdatableHashCode - used to chain calls
+   * @see HashCodeBuilder#append(long[])
+   */
+  public UpdatableHashCode append(long[] array) {
+    return this.appendContribution(Arrays.hashCode(array));
+  }
+
+  /**
+   * Append an <code>Object</code> field.
+   *
+   * @param value
+   *            the field value
+   * @return UpdatableHashCode - used to chain calls
+   * @see HashCodeBuilder#append(Object)
+   */
+  public UpdatableHashCode append(Object value) {
+    return this.appendContribution(Objects.hashCode(value));
+  }
+
+  /**
+   * Append an <code>Object</code> array field, hashed by its content.
+   *
+   * @param array
+   *            the field value
+   * @return UpdatableHashCode - used to chain calls
+   * @see HashCodeBuilder#append(Object[])
+   */
+  public UpdatableHashCode append(Object[] array) {
+    return this.appendContribution(Arrays.hashCode(array));
+  }
+
+  /**
+   * Append a <code>short</code> field.
+   *
+   * @param value
+   *            the field value
+   * @return UpdatableHashCode - used to chain calls
+   * @see HashCodeBuilder#append(short)
+   */
+  public UpdatableHashCode append(short value) {
+    return this.appendContribution(value);
+  }
+
+  /**
+   * Append a <code>short</code> array field, hashed by its content.
+   *
+   * @param array
+   *            the field value
+   * @return UpdatableHashCode - used to chain calls
+   * @see HashCodeBuilder#append(short[])
+   */
+  public UpdatableHashCode append(short[] array) {
+    return this.appendContribution(Arrays.hashCode(array));
+  }
+
+  /**
+   * Replaces the value of a <code>boolean</code> field.
+   *
+   * @param index
+   *            the position of the field, the first appended field has position 0
+   * @param value
+   *            the new field value
+   * @throws IndexOutOfBoundsException if no field has been appended at {@code index}
+   */
+  public void set(int index, boolean value) {
+    this.setContribution(index, Boolean.hashCode(value));
+  }
+
+  /**
+   * Replaces the value of a <code>boolean</code> array field, hashed by its content.
+   *
+   * @param index
+   *            the position of the field, the first appended field has position 0
+   * @param array
+   *            the new field value
+   * @throws IndexOutOfBoundsException if no field has been appended at {@code index}
+   */
+  public void set(int index, boolean[] array) {
+    this.setContribution(index, Arrays.hashCode(array));
+  }
+
+  /**
+   * Replaces the value of a <code>byte</code> field.
+   *
+   * @param index
+   *            the position of the field, the first appended field has position 0
+   * @param value
+   *            the new field value
+   * @throws IndexOutOfBoundsException if no field has been appended at {@code index}
+   */
+  public void set(int index, byte value) {
+    this.setContribution(index, value);
+  }
+
+  /**
+   * Replaces the value of a <code>byte</code> array field, hashed by its content.
+   *
+   * @param index
+   *            the position of the field, the first appended field has position 0
+   * @param array
+   *            the new field value
+   * @throws IndexOutOfBoundsException if no field has been appended at {@code index}
+   */
+  public void set(int index, byte[] array) {
+    this.setContribution(index, Arrays.hashCode(array));
+  }
+
+  /**
+   * Replaces the value of a <code>char</code> field.
+   *
+   * @param index
+   *            the position of the field, the first appended field has position 0
+   * @param value
+   *            the new field value
+   * @throws IndexOutOfBoundsException if no field has been appended at {@code index}
+   */
+  public void set(int index, char value) {
+    this.setContribution(index, value);
+  }
+
+  /**
+   * Replaces the value of a <code>char</code> array field, hashed by its content.
+   *
+   * @param index
+   *            the position of the field, the first appended field has position 0
+   * @param array
+   *            the new field value
+   * @throws IndexOutOfBoundsException if no field has been appended at {@code index}
+   */
+  public void set(int index, char[] array) {
+    this.setContribution(index, Arrays.hashCode(array));
+  }
+
+  /**
+   * Replaces the value of a <code>double</code> field.
+   *
+   * @param index
+   *            the position of the field, the first appended field has position 0
+   * @param value
+   *            the new field value
+   * @throws IndexOutOfBoundsException if no field has been appended at {@code index}
+   */
+  public void set(int index, double value) {
+    this.setContribution(index, Double.hashCode(value));
+  }
+
+  /**
+   * Replaces the value of a <code>double</code> array field, hashed by its content.
+   *
+   * @param index
+   *            the position of the field, the first appended field has position 0
+   * @param array
+   *            the new field value
+   * @throws IndexOutOfBoundsException if no field has been appended at {@code index}
+   */
+  public void set(int index, double[] array) {
+    this.setContribution(index, Arrays.hashCode(array));
+  }
+
+  /**
+   * Replaces the value of a <code>float</code> field.
+   *
+   * @param index
+   *            the position of the field, the first appended field has position 0
+   * @param value
+   *            the new field value
+   * @throws IndexOutOfBoundsException if no field has been appended at {@code index}
+   */
+  public void set(int index, float value) {
+    this.setContribution(index, Float.hashCode(value));
+  }
+
+  /**
+   * Replaces the value of a <code>float</code> array field, hashed by its content.
+   *
+   * @param index
+   *            the position of the field, the first appended field has position 0
+   * @param array
+   *            the new field value
+   * @throws IndexOutOfBoundsException if no field has been appended at {@code index}
+   */
+  public void set(int index, float[] array) {
+    this.setContribution(index, Arrays.hashCode(array));
+  }
+
+  /**
+   * Replaces the value of an <code>int</code> field.
+   *
+   * @param index
+   *            the position of the field, the first appended field has position 0
+   * @param value
+   *            the new field value
+   * @throws IndexOutOfBoundsException if no field has been appended at {@code index}
+   */
+  public void set(int index, int value) {
+    this.setContribution(index, value);
+  }
+
+  /**
+   * Replaces the value of an <code>int</code> array field, hashed by its content.
+   *
+   * @param index
+   *            the position of the field, the first appended field has position 0
+   * @param array
+   *            the new field value
+   * @throws IndexOutOfBoundsException if no field has been appended at {@code index}
+   */
+  public void set(int index, int[] array) {
+    this.setContribution(index, Arrays.hashCode(array));
+  }
+
+  /**
+   * Replaces the value of a <code>long</code> field.
+   *
+   * @param index
+   *            the position of the field, the first appended field has position 0
+   * @param value
+   *            the new field value
+   * @throws IndexOutOfBoundsException if no field has been appended at {@code index}
+   */
+  public void set(int index, long value) {
+    this.setContribution(index, Long.hashCode(value));
+  }
+
+  /**
+   * Replaces the value of a <code>long</code> array field, hashed by its content.
+   *
+   * @param index
+   *            the position of the field, the first appended field has position 0
+   * @param array
+   *            the new field value
+   * @throws IndexOutOfBoundsException if no field has been appended at {@code index}
+   */
+  public void set(int index, long[] array) {
+    this.setContribution(index, Arrays.hashCode(array));
+  }
+
+  /**
+   * Replaces the value of an <code>Object</code> field.
+   *
+   * @param index
+   *            the position of the field, the first appended field has position 0
+   * @param value
+   *            the new field value
+   * @throws IndexOutOfBoundsException if no field has been appended at {@code index}
+   */
+  public void set(int index, Object value) {
+    this.setContribution(index, Objects.hashCode(value));
+  }
+
+  /**
+   * Replaces the value of an <code>Object</code> array field, hashed by its content.
+   *
+   * @param index
+   *            the position of the field, the first appended field has position 0
+   * @param array
+   *            the new field value
+   * @throws IndexOutOfBoundsException if no field has been appended at {@code index}
+   */
+  public void set(int index, Object[] array) {
+    this.setContribution(index, Arrays.hashCode(array));
+  }
+
+  /**
+   * Replaces the value of a <code>short</code> field.
+   *
+   * @param index
+   *            the position of the field, the first appended field has position 0
+   * @param value
+   *            the new field value
+   * @throws IndexOutOfBoundsException if no field has been appended at {@code index}
+   */
+  public void set(int index, short value) {
+    this.setContribution(index, value);
+  }
+
+  /**
+   * Replaces the value of a <code>short</code> array field, hashed by its content.
+   *
+   * @param index
+   *            the position of the field, the first appended field has position 0
+   * @param array
+   *            the new field value
+   * @throws IndexOutOfBoundsException if no field has been appended at {@code index}
+   */
+  public void set(int index, short[] array) {
+    this.setContribution(index, Arrays.hashCode(array));
+  }
+
+  /**
+   * Returns the number of fields.
+   *
+   * @return the number of fields
+   */
+  public int size() {
+    return this.size;
+  }
+
+  /**
+   * Return the computed <code>hashCode</code>.
+   *
+   * @return the same value as {@link HashCodeBuilder#toHashCode()} over
+   *         the current field values
+   */
+  public int toHashCode() {
+    return this.total;
+  }
+
+}
@@ -0,0 +1,87 @@
+package com.github.marschall.minicommons;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class ArrayMapTest {
+
+  @Test
+  public void byteArrays() {
+    ArrayMap<byte[], String> map = ArrayMap.forByteArrays();
+    assertTrue(map.isEmpty());
+    assertNull(map.put(new byte[] {1, 2, 3}, "one"));
+    assertEquals("one", map.get(new byte[] {1, 2, 3}));
+    assertEquals("one", map.put(new byte[] {1, 2, 3}, "two"));
+    assertEquals("two", map.get(new byte[] {1, 2, 3}));
+    assertNull(map.get(new byte[] {1, 2}));
+    assertEquals(1, map.size());
+
+    // empty key
+    assertNull(map.put(new byte[0], "empty"));
+    assertEquals("empty", map.get(new byte[0]));
+    assertEquals(2, map.size());
+  }
+
+  @Test
+  public void ranges() {
+    ArrayMap<int[], String> map = ArrayMap.forIntArrays();
+    int[] buffer = {9, 1, 2, 3, 9};
+    assertNull(map.put(buffer, 1, 4, "one"));
+    // the range was copied
+    buffer[2] = 7;
+    assertEquals("one", map.get(new int[] {1, 2, 3}));
+    assertNull(map.get(buffer, 1, 4));
+    assertFalse(map.containsKey(buffer, 1, 4));
+    buffer[2] = 2;
+    assertEquals("one", map.get(buffer, 1, 4));
+    assertTrue(map.containsKey(buffer, 1, 4));
+  }
+
+  @Test
+  public void sameAsHashMap() {
+    ArrayMap<long[], Integer> map = ArrayMap.forLongArrays();
+    Map<ByteBuffer, Integer> reference = new HashMap<>();
+    Random random = new Random(0L);
+    for (int i = 0; i < 100_000; i++) {
+      long[] key = {random.nextInt(1_000), random.nextInt(10)};
+      ByteBuffer referenceKey = toBuffer(key);
+      int operation = random.nextInt(3);
+      if (operation == 0) {
+        assertEquals(reference.put(referenceKey, i), map.put(key, i));
+      } else if (operation == 1) {
+        assertEquals(reference.remove(referenceKey), map.remove(key));
+      } else {
+        assertEquals(reference.get(referenceKey), map.get(key));
+      }
+      assertEquals(reference.size(), map.size());
+    }
+    Map<ByteBuffer, Integer> copy = new HashMap<>();
+    map.forEach((key, value) -> copy.put(toBuffer(key), value));
+    assertEquals(reference, copy);
+  }
+
+  @Test
+  public void clear() {
+    ArrayMap<byte[], String> map = ArrayMap.forByteArrays();
+    map.put(new byte[] {1}, "one");
+    map.clear();
+    assertTrue(map.isEmpty());
+    assertNull(map.get(new byte[] {1}));
+  }
+
+  private static ByteBuffer toBuffer(long[] key) {
+    ByteBuffer buffer = ByteBuffer.allocate(key.length * Long.BYTES);
+    buffer.asLongBuffer().put(key);
+    return buffer;
+  }
+
+}
@@ -0,0 +1,86 @@
+package com.github.marschall.minicommons;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+public class ArrayRangesTest {
+
+  @Test
+  public void hashCodeSameAsCopy() {
+    long[] longs = {1L, -2L, Long.MAX_VALUE, Long.MIN_VALUE, 5L};
+    int[] ints = {1, -2, Integer.MAX_VALUE, Integer.MIN_VALUE, 5};
+    short[] shorts = {1, -2, Short.MAX_VALUE, Short.MIN_VALUE, 5};
+    char[] chars = {'a', 'b', Character.MAX_VALUE, Character.MIN_VALUE, 'e'};
+    byte[] bytes = {1, -2, Byte.MAX_VALUE, Byte.MIN_VALUE, 5};
+    double[] doubles = {1.0d, -0.0d, Double.NaN, Double.NEGATIVE_INFINITY, 5.0d};
+    float[] floats = {1.0f, -0.0f, Float.NaN, Float.NEGATIVE_INFINITY, 5.0f};
+    boolean[] booleans = {true, false, false, true, true};
+    Object[] objects = {"one", null, 3, 4L, "five"};
+    for (int from = 0; from <= 5; from++) {
+      for (int to = from; to <= 5; to++) {
+        assertEquals(Arrays.hashCode(Arrays.copyOfRange(longs, from, to)), ArrayRanges.hashCode(longs, from, to));
+        assertEquals(Arrays.hashCode(Arrays.copyOfRange(ints, from, to)), ArrayRanges.hashCode(ints, from, to));
+        assertEquals(Arrays.hashCode(Arrays.copyOfRange(shorts, from, to)), ArrayRanges.hashCode(shorts, from, to));
+        assertEquals(Arrays.hashCode(Arrays.copyOfRange(chars, from, to)), ArrayRanges.hashCode(chars, from, to));
+        assertEquals(Arrays.hashCode(Arrays.copyOfRange(bytes, from, to)), ArrayRanges.hashCode(bytes, from, to));
+        assertEquals(Arrays.hashCode(Arrays.copyOfRange(doubles, from, to)), ArrayRanges.hashCode(doubles, from, to));
+        assertEquals(Arrays.hashCode(Arrays.copyOfRange(floats, from, to)), ArrayRanges.hashCode(floats, from, to));
+        assertEquals(Arrays.hashCode(Arrays.copyOfRange(booleans, from, to)), ArrayRanges.hashCode(booleans, from, to));
+        assertEquals(Arrays.hashCode(Arrays.copyOfRange(objects, from, to)), ArrayRanges.hashCode(objects, from, to));
+      }
+    }
+  }
+
+  @Test
+  public void equalsSameAsCopy() {
+    double[] doubles = {1.0d, -0.0d, Double.NaN, 0.0d, 1.0d, -0.0d, Double.NaN};
+    Object[] objects = {"one", null, "one", null, "one"};
+    for (int lhsFrom = 0; lhsFrom <= doubles.length; lhsFrom++) {
+      for (int lhsTo = lhsFrom; lhsTo <= doubles.length; lhsTo++) {
+        for (int rhsFrom = 0; rhsFrom <= doubles.length; rhsFrom++) {
+          for (int rhsTo = rhsFrom; rhsTo <= doubles.length; rhsTo++) {
+            assertEquals(
+                    Arrays.equals(Arrays.copyOfRange(doubles, lhsFrom, lhsTo), Arrays.copyOfRange(doubles, rhsFrom, rhsTo)),
+                    ArrayRanges.equals(doubles, lhsFrom, lhsTo, doubles, rhsFrom, rhsTo));
+          }
+        }
+      }
+    }
+    for (int lhsFrom = 0; lhsFrom <= objects.length; lhsFrom++) {
+      for (int lhsTo = lhsFrom; lhsTo <= objects.length; lhsTo++) {
+        for (int rhsFrom = 0; rhsFrom <= objects.length; rhsFrom++) {
+          for (int rhsTo = rhsFrom; rhsTo <= objects.length; rhsTo++) {
+            assertEquals(
+                    Arrays.equals(Arrays.copyOfRange(objects, lhsFrom, lhsTo), Arrays.copyOfRange(objects, rhsFrom, rhsTo)),
+                    ArrayRanges.equals(objects, lhsFrom, lhsTo, objects, rhsFrom, rhsTo));
+          }
+        }
+      }
+    }
+  }
+
+  @Test
+  public void equalsFloatingPoint() {
+    assertTrue(ArrayRanges.equals(new float[] {Float.NaN}, 0, 1, new float[] {Float.NaN}, 0, 1));
+    assertFalse(ArrayRanges.equals(new float[] {0.0f}, 0, 1, new float[] {-0.0f}, 0, 1));
+    assertTrue(ArrayRanges.equals(new double[] {Double.NaN}, 0, 1, new double[] {Double.NaN}, 0, 1));
+    assertFalse(ArrayRanges.equals(new double[] {0.0d}, 0, 1, new double[] {-0.0d}, 0, 1));
+  }
+
+  @Test
+  public void rangeChecks() {
+    byte[] array = new byte[4];
+    assertThrows(IllegalArgumentException.class, () -> ArrayRanges.hashCode(array, 2, 1));
+    assertThrows(ArrayIndexOutOfBoundsException.class, () -> ArrayRanges.hashCode(array, -1, 1));
+    assertThrows(ArrayIndexOutOfBoundsException.class, () -> ArrayRanges.hashCode(array, 0, 5));
+    assertThrows(ArrayIndexOutOfBoundsException.class, () -> ArrayRanges.equals(array, 0, 4, array, 0, 5));
+    assertThrows(NullPointerException.class, () -> ArrayRanges.hashCode((byte[]) null, 0, 0));
+  }
+
+}
@@ -0,0 +1,110 @@
+package com.github.marschall.minicommons;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+public class BloomFilterTest {
+
+  private static long hash(long id, String name) {
+    return new LongHashCodeBuilder()
+            .append(id)
+            .append(name)
+            .toLongHashCode();
+  }
+
+  @Test
+  public void noFalseNegatives() {
+    BloomFilter filter = new BloomFilter(10_000L, 0.01d);
+    for (long i = 0L; i < 10_000L; i++) {
+      filter.put(hash(i, "name"));
+    }
+    for (long i = 0L; i < 10_000L; i++) {
+      assertTrue(filter.mightContain(hash(i, "name")));
+    }
+  }
+
+  @Test
+  public void falsePositiveProbability() {
+    BloomFilter filter = new BloomFilter(10_000L, 0.01d);
+    assertEquals(7, filter.hashFunctionCount());
+    for (long i = 0L; i < 10_000L; i++) {
+      filter.put(hash(i, "name"));
+    }
+    int falsePositives = 0;
+    for (long i = 10_000L; i < 110_000L; i++) {
+      if (filter.mightContain(hash(i, "name"))) {
+        falsePositives += 1;
+      }
+    }
+    // 1% expected
+    assertTrue(falsePositives < 1_500, "false positives: " + falsePositives);
+  }
+
+  @Test
+  public void putReturnValue() {
+    BloomFilter filter = new BloomFilter(100L, 0.01d);
+    long hash = hash(1L, "one");
+    assertFalse(filter.mightContain(hash));
+    assertTrue(filter.put(hash));
+    assertFalse(filter.put(hash));
+    assertTrue(filter.mightContain(hash));
+  }
+
+  @Test
+  public void merge() {
+    BloomFilter first = new BloomFilter(1_000L, 0.01d);
+    BloomFilter second = first.emptyCopy();
+    first.put(hash(1L, "one"));
+    second.put(hash(2L, "two"));
+    first.merge(second);
+    assertTrue(first.mightContain(hash(1L, "one")));
+    assertTrue(first.mightContain(hash(2L, "two")));
+    assertFalse(second.mightContain(hash(1L, "one")));
+
+    assertThrows(IllegalArgumentException.class, () -> first.merge(new BloomFilter(10L, 0.01d)));
+  }
+
+  @Test
+  public void invalidArguments() {
+    assertThrows(IllegalArgumentException.class, () -> new BloomFilter(0L, 0.01d));
+    assertThrows(IllegalArgumentException.class, () -> new BloomFilter(10L, 0.0d));
+    assertThrows(IllegalArgumentException.class, () -> new BloomFilter(10L, 1.0d));
+  }
+
+  @Test
+  public void concurrentPut() throws Exception {
+    BloomFilter filter = new BloomFilter(40_000L, 0.01d);
+    int threads = 4;
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int t = 0; t < threads; t++) {
+        long offset = t * 10_000L;
+        futures.add(executor.submit(() -> {
+          for (long i = offset; i < offset + 10_000L; i++) {
+            filter.put(hash(i, "name"));
+          }
+        }));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdown();
+    }
+    for (long i = 0L; i < 40_000L; i++) {
+      assertTrue(filter.mightContain(hash(i, "name")));
+    }
+  }
+
+}
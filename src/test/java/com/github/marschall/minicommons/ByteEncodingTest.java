@@ -0,0 +1,74 @@
+package com.github.marschall.minicommons;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+public class ByteEncodingTest {
+
+  private static byte[] encode(ByteEncoding encoding, String s) {
+    ByteBuffer buffer = ByteBuffer.allocate(encoding.encodedLength(s));
+    encoding.encode(s, buffer);
+    assertFalse(buffer.hasRemaining());
+    return buffer.array();
+  }
+
+  @Test
+  public void constants() {
+    assertSame(ByteEncoding.US_ASCII, ByteEncoding.of(StandardCharsets.US_ASCII));
+    assertSame(ByteEncoding.ISO_8859_1, ByteEncoding.of(StandardCharsets.ISO_8859_1));
+    assertSame(ByteEncoding.UTF_8, ByteEncoding.of(StandardCharsets.UTF_8));
+    assertTrue(ByteEncoding.US_ASCII.isSingleByte());
+    assertFalse(ByteEncoding.UTF_8.isSingleByte());
+    assertThrows(IllegalArgumentException.class, () -> ByteEncoding.of(StandardCharsets.UTF_16));
+  }
+
+  @Test
+  public void singleByte() {
+    String latin1 = "abc \u00e9\u00ff";
+    assertArrayEquals(latin1.getBytes(StandardCharsets.ISO_8859_1), encode(ByteEncoding.ISO_8859_1, latin1));
+    assertArrayEquals("abc".getBytes(StandardCharsets.US_ASCII), encode(ByteEncoding.US_ASCII, "abc"));
+    assertThrows(IllegalArgumentException.class, () -> ByteEncoding.US_ASCII.encodedLength("\u00e9"));
+    assertThrows(IllegalArgumentException.class, () -> ByteEncoding.ISO_8859_1.encodedLength('\u20ac'));
+  }
+
+  @Test
+  public void ebcdic() {
+    assumeTrue(Charset.isSupported("IBM037"));
+    Charset ibm037 = Charset.forName("IBM037");
+    ByteEncoding encoding = ByteEncoding.of(ibm037);
+    String s = "HELLO world 0123456789 -";
+    assertArrayEquals(s.getBytes(ibm037), encode(encoding, s));
+    assertEquals((byte) 0xF0, encoding.asciiByte('0'));
+  }
+
+  @Test
+  public void utf8() {
+    String s = "a\u00e9\u20ac\ud83d\ude00";
+    byte[] expected = s.getBytes(StandardCharsets.UTF_8);
+    assertEquals(expected.length, ByteEncoding.UTF_8.encodedLength(s));
+    assertArrayEquals(expected, encode(ByteEncoding.UTF_8, s));
+    assertThrows(IllegalArgumentException.class, () -> ByteEncoding.UTF_8.encodedLength("\uD83D"));
+    assertThrows(IllegalArgumentException.class, () -> ByteEncoding.UTF_8.encodedLength('\uDE00'));
+  }
+
+  @Test
+  public void repeated() {
+    ByteBuffer buffer = ByteBuffer.allocate(6);
+    ByteEncoding.UTF_8.encodeRepeated('\u00e9', 3, buffer);
+    byte[] expected = "\u00e9\u00e9\u00e9".getBytes(StandardCharsets.UTF_8);
+    assertArrayEquals(expected, Arrays.copyOf(buffer.array(), buffer.position()));
+  }
+
+}
@@ -0,0 +1,139 @@
+package com.github.marschall.minicommons;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class CompositeKeyMapTest {
+
+  @Test
+  public void twoFields() {
+    CompositeKeyMap<Key, String> map = CompositeKeyMap.of(Key::getId, Key::getName);
+    assertTrue(map.isEmpty());
+    assertNull(map.put(new Key(1L, "one"), "value1"));
+    assertNull(map.put(new Key(2L, null), "value2"));
+
+    assertEquals("value1", map.get(new Key(1L, "one")));
+    assertEquals("value1", map.get(1L, "one"));
+    assertEquals("value1", map.get(Long.valueOf(1L), "one"));
+    assertNull(map.get(1L, "two"));
+    assertNull(map.get(3L, "one"));
+    // different type
+    assertNull(map.get(Integer.valueOf(1), "one"));
+
+    assertEquals("value2", map.get(2L, null));
+    assertTrue(map.containsKey(new Key(2L, null)));
+
+    assertEquals("value1", map.put(new Key(1L, "one"), "value3"));
+    assertEquals("value3", map.get(1L, "one"));
+    assertEquals(2, map.size());
+
+    assertEquals("value3", map.remove(new Key(1L, "one")));
+    assertNull(map.get(1L, "one"));
+    assertFalse(map.containsKey(new Key(1L, "one")));
+    assertEquals(1, map.size());
+  }
+
+  @Test
+  public void nullLong() {
+    CompositeKeyMap<Key, String> map = CompositeKeyMap.of(Key::getId, Key::getName);
+    map.put(new Key(null, "one"), "value");
+    assertEquals("value", map.get(null, "one"));
+    assertNull(map.get(0L, "one"));
+  }
+
+  @Test
+  public void threeFields() {
+    CompositeKeyMap<Key, String> map = CompositeKeyMap.of(Key::getId, Key::getName, Key::getName);
+    map.put(new Key(1L, "one"), "value");
+    assertEquals("value", map.get(1L, "one", "one"));
+    assertEquals("value", map.get(Long.valueOf(1L), "one", "one"));
+    assertNull(map.get(1L, "one", "two"));
+    assertThrows(IllegalStateException.class, () -> map.get(1L, "one"));
+  }
+
+  @Test
+  public void sameAsHashMap() {
+    CompositeKeyMap<Key, Integer> map = CompositeKeyMap.of(Key::getId, Key::getName);
+    Map<Key, Integer> reference = new HashMap<>();
+    Random random = new Random(0L);
+    for (int i = 0; i < 100_000; i++) {
+      long id = random.nextInt(1_000);
+      String name = Integer.toString(random.nextInt(10));
+      Key key = new Key(id, name);
+      int operation = random.nextInt(3);
+      if (operation == 0) {
+        assertEquals(reference.put(key, i), map.put(key, i));
+      } else if (operation == 1) {
+        assertEquals(reference.remove(key), map.remove(key));
+      } else {
+        assertEquals(reference.get(key), map.get(id, name));
+      }
+      assertEquals(reference.size(), map.size());
+    }
+    Map<Key, Integer> copy = new HashMap<>();
+    map.forEach(copy::put);
+    assertEquals(reference, copy);
+  }
+
+  @Test
+  public void arrayFieldsByIdentity() {
+    CompositeKeyMap<Object[], String> map = CompositeKeyMap.of(key -> key[0], key -> key[1]);
+    byte[] bytes = {1, 2};
+    map.put(new Object[] {1L, bytes}, "value");
+    assertEquals("value", map.get(1L, bytes));
+    assertNull(map.get(1L, new byte[] {1, 2}));
+  }
+
+  static final class Key {
+
+    private final Long id;
+    private final String name;
+
+    Key(Long id, String name) {
+      this.id = id;
+      this.name = name;
+    }
+
+    Long getId() {
+      return this.id;
+    }
+
+    String getName() {
+      return this.name;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (obj == this) {
+        return true;
+      }
+      if (!(obj instanceof Key)) {
+        return false;
+      }
+      Key other = (Key) obj;
+      return new EqualsBuilder()
+              .append(this.id, other.id)
+              .append(this.name, other.name)
+              .isEquals();
+    }
+
+    @Override
+    public int hashCode() {
+      return new HashCodeBuilder()
+              .append(this.id)
+              .append(this.name)
+              .toHashCode();
+    }
+
+  }
+
+}
@@ -0,0 +1,78 @@
+package com.github.marschall.minicommons;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class DigitsTest {
+
+  private static final int[] INT_SAMPLES = {
+      0, 1, 9, 10, 99, 100, 999, 1_000, 65_535, 999_999_999, 1_000_000_000,
+      Integer.MAX_VALUE, -1, -9, -10, -100, -999_999_999, -1_000_000_000, Integer.MIN_VALUE
+  };
+
+  private static final long[] LONG_SAMPLES = {
+      0L, 1L, 9L, 10L, 99L, 100L, (long) Integer.MAX_VALUE + 1L, 9_999_999_999L,
+      999_999_999_999_999_999L, 1_000_000_000_000_000_000L, Long.MAX_VALUE,
+      -1L, -10L, (long) Integer.MIN_VALUE - 1L, -1_000_000_000_000_000_000L, Long.MIN_VALUE
+  };
+
+  private static String format(int value) {
+    char[] chars = new char[Digits.stringLength(value)];
+    assertEquals(chars.length, Digits.leftPad(value, 0, '*', chars, 0));
+    return new String(chars);
+  }
+
+  private static String format(long value) {
+    char[] chars = new char[Digits.stringLength(value)];
+    assertEquals(chars.length, Digits.leftPad(value, 0, '*', chars, 0));
+    return new String(chars);
+  }
+
+  @Test
+  public void samples() {
+    for (int value : INT_SAMPLES) {
+      assertEquals(Integer.toString(value).length(), Digits.stringLength(value));
+      assertEquals(Integer.toString(value), format(value));
+      assertEquals(Integer.toString(value), format((long) value));
+    }
+    for (long value : LONG_SAMPLES) {
+      assertEquals(Long.toString(value).length(), Digits.stringLength(value));
+      assertEquals(Long.toString(value), format(value));
+    }
+  }
+
+  @Test
+  public void powersOfTen() {
+    long power = 1L;
+    for (int i = 0; i < 19; i++) {
+      assertEquals(Long.toString(power), format(power));
+      assertEquals(Long.toString(power - 1L), format(power - 1L));
+      assertEquals(Long.toString(-power), format(-power));
+      power *= 10L;
+    }
+  }
+
+  @Test
+  public void random() {
+    Random random = new Random(42L);
+    for (int i = 0; i < 100_000; i++) {
+      int intValue = random.nextInt() >> random.nextInt(32);
+      assertEquals(Integer.toString(intValue), format(intValue));
+      long longValue = random.nextLong() >> random.nextInt(64);
+      assertEquals(Long.toString(longValue), format(longValue));
+    }
+  }
+
+  @Test
+  public void leftPadAtOffset() {
+    char[] chars = "[.........]".toCharArray();
+    assertEquals(7, Digits.leftPad(-42, 6, '0', chars, 1));
+    assertEquals("[-00042...]", new String(chars));
+    assertEquals(10, Digits.leftPad(42L, 3, ' ', chars, 7));
+    assertEquals("[-00042 42]", new String(chars));
+  }
+
+}
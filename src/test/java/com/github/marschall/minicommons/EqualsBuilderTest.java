@@ -1,8 +1,11 @@
 package com.github.marschall.minicommons;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.nio.CharBuffer;
+
 import org.junit.jupiter.api.Test;
 
 public class EqualsBuilderTest {
@@ -651,4 +654,144 @@ public class EqualsBuilderTest {
             .isEquals());
   }
 
+  @Test
+  public void appendContent() {
+    assertTrue(new EqualsBuilder()
+            .appendContent("one", new StringBuilder("one"))
+            .isEquals());
+
+    assertTrue(new EqualsBuilder()
+            .appendContent(CharBuffer.wrap("one"), new StringBuilder("one"))
+            .isEquals());
+
+    assertTrue(new EqualsBuilder()
+            .appendContent("one", new String("one"))
+            .isEquals());
+
+    assertFalse(new EqualsBuilder()
+            .appendContent("one", new StringBuilder("two"))
+            .isEquals());
+
+    assertFalse(new EqualsBuilder()
+            .appendContent("one", new StringBuilder("one1"))
+            .isEquals());
+
+    // chaining
+    assertFalse(new EqualsBuilder()
+            .appendSuper(false)
+            .appendContent("one", new StringBuilder("one"))
+            .isEquals());
+
+    // nulls
+    assertFalse(new EqualsBuilder()
+            .appendContent("one", (CharSequence) null)
+            .isEquals());
+
+    assertFalse(new EqualsBuilder()
+            .appendContent((CharSequence) null, "one")
+            .isEquals());
+
+    assertTrue(new EqualsBuilder()
+            .appendContent((CharSequence) null, (CharSequence) null)
+            .isEquals());
+
+    // char[] slices
+    assertTrue(new EqualsBuilder()
+            .appendContent(new StringBuilder("one"), "xoney".toCharArray(), 1, 4)
+            .isEquals());
+
+    assertFalse(new EqualsBuilder()
+            .appendContent(new StringBuilder("one"), "xoney".toCharArray(), 1, 5)
+            .isEquals());
+
+    assertFalse(new EqualsBuilder()
+            .appendContent(null, "xoney".toCharArray(), 1, 4)
+            .isEquals());
+  }
+
+  @Test
+  public void appendIgnoreCase() {
+    assertTrue(new EqualsBuilder()
+            .appendIgnoreCase("Content-Type", new StringBuilder("content-type"))
+            .isEquals());
+
+    assertTrue(new EqualsBuilder()
+            .appendIgnoreCase("ÄPFEL", "äpfel")
+            .isEquals());
+
+    assertTrue(new EqualsBuilder()
+            .appendIgnoreCase("ΑΒΓ", CharBuffer.wrap("αβγ"))
+            .isEquals());
+
+    assertFalse(new EqualsBuilder()
+            .appendIgnoreCase("one", "two")
+            .isEquals());
+
+    assertFalse(new EqualsBuilder()
+            .appendIgnoreCase("one", "ones")
+            .isEquals());
+
+    // chaining
+    assertFalse(new EqualsBuilder()
+            .appendSuper(false)
+            .appendIgnoreCase("one", "ONE")
+            .isEquals());
+
+    // nulls
+    assertFalse(new EqualsBuilder()
+            .appendIgnoreCase("one", null)
+            .isEquals());
+
+    assertFalse(new EqualsBuilder()
+            .appendIgnoreCase(null, "one")
+            .isEquals());
+
+    assertTrue(new EqualsBuilder()
+            .appendIgnoreCase(null, null)
+            .isEquals());
+  }
+
+  @Test
+  public void appendIgnoreCaseConsistentWithString() {
+    for (char c = 0; c < Character.MAX_VALUE; c++) {
+      String value = String.valueOf(c);
+      String lower = String.valueOf(Character.toLowerCase(c));
+      String upper = String.valueOf(Character.toUpperCase(c));
+      assertTrue(new EqualsBuilder()
+              .appendIgnoreCase(value, new StringBuilder(lower))
+              .appendIgnoreCase(value, new StringBuilder(upper))
+              .isEquals());
+      assertEquals(value.equalsIgnoreCase(lower), new EqualsBuilder()
+              .appendIgnoreCase(value, new StringBuilder(lower))
+              .isEquals());
+    }
+  }
+
+  @Test
+  public void appendArrayRange() {
+    byte[] buffer = {1, 2, 3, 1, 2, 3};
+    assertTrue(new EqualsBuilder()
+            .append(buffer, 0, 3, buffer, 3, 6)
+            .isEquals());
+
+    assertFalse(new EqualsBuilder()
+            .append(buffer, 0, 3, buffer, 2, 5)
+            .isEquals());
+
+    // different lengths
+    assertFalse(new EqualsBuilder()
+            .append(buffer, 0, 3, buffer, 3, 5)
+            .isEquals());
+
+    assertTrue(new EqualsBuilder()
+            .append(new String[]{"x", "one"}, 1, 2, new String[]{new String("one")}, 0, 1)
+            .isEquals());
+
+    // chaining
+    assertFalse(new EqualsBuilder()
+            .appendSuper(false)
+            .append(buffer, 0, 3, buffer, 3, 6)
+            .isEquals());
+  }
+
 }
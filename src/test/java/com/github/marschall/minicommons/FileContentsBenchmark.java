@@ -0,0 +1,87 @@
+package com.github.marschall.minicommons;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class FileContentsBenchmark {
+
+  public static void main(String[] args) throws RunnerException {
+    Options options = new OptionsBuilder()
+            .include(".*FileContentsBenchmark.*")
+            .warmupIterations(5)
+            .measurementIterations(5)
+            .forks(2)
+            .build();
+    new Runner(options).run();
+  }
+
+  @Param({"1048576", "268435456"})
+  public int size;
+
+  private Path one;
+  private Path two;
+
+  @Setup(Level.Trial)
+  public void setup() throws IOException {
+    this.one = Files.createTempFile("one", ".bin");
+    this.two = Files.createTempFile("two", ".bin");
+    writeFile(this.one, this.size);
+    writeFile(this.two, this.size);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    Files.delete(this.one);
+    Files.delete(this.two);
+  }
+
+  private static void writeFile(Path path, int size) throws IOException {
+    byte[] block = new byte[8192];
+    for (int i = 0; i < block.length; i++) {
+      block[i] = (byte) i;
+    }
+    try (OutputStream output = Files.newOutputStream(path)) {
+      int remaining = size;
+      while (remaining > 0) {
+        int length = Math.min(block.length, remaining);
+        output.write(block, 0, length);
+        remaining -= length;
+      }
+    }
+  }
+
+  @Benchmark
+  public boolean mapped() throws IOException {
+    return new EqualsBuilder()
+            .appendContent(this.one, this.two)
+            .isEquals();
+  }
+
+  @Benchmark
+  public boolean heap() throws IOException {
+    return Arrays.equals(Files.readAllBytes(this.one), Files.readAllBytes(this.two));
+  }
+
+}
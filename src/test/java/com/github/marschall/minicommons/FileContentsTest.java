@@ -0,0 +1,116 @@
+package com.github.marschall.minicommons;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class FileContentsTest {
+
+  private Path lhs;
+  private Path rhs;
+
+  @BeforeEach
+  public void setUp() throws IOException {
+    this.lhs = Files.createTempFile("lhs", ".bin");
+    this.rhs = Files.createTempFile("rhs", ".bin");
+  }
+
+  @AfterEach
+  public void tearDown() throws IOException {
+    Files.delete(this.lhs);
+    Files.delete(this.rhs);
+  }
+
+  @Test
+  public void sameContent() throws IOException {
+    byte[] content = content(1000);
+    Files.write(this.lhs, content);
+    Files.write(this.rhs, content);
+
+    assertTrue(new EqualsBuilder()
+            .appendContent(this.lhs, this.rhs)
+            .isEquals());
+    // window size not a multiple of 8 and not a divisor of the size
+    assertTrue(contentEquals(13L));
+    assertTrue(contentEquals(64L));
+  }
+
+  @Test
+  public void differentContent() throws IOException {
+    byte[] content = content(1000);
+    Files.write(this.lhs, content);
+    // in the tail of a window
+    content[999] = (byte) (content[999] + 1);
+    Files.write(this.rhs, content);
+
+    assertFalse(new EqualsBuilder()
+            .appendContent(this.lhs, this.rhs)
+            .isEquals());
+    assertFalse(contentEquals(13L));
+    assertFalse(contentEquals(64L));
+  }
+
+  @Test
+  public void differentSize() throws IOException {
+    Files.write(this.lhs, content(1000));
+    Files.write(this.rhs, content(999));
+
+    assertFalse(new EqualsBuilder()
+            .appendContent(this.lhs, this.rhs)
+            .isEquals());
+  }
+
+  @Test
+  public void empty() throws IOException {
+    assertTrue(new EqualsBuilder()
+            .appendContent(this.lhs, this.rhs)
+            .isEquals());
+  }
+
+  @Test
+  public void channels() throws IOException {
+    byte[] content = content(100);
+    Files.write(this.lhs, content);
+    Files.write(this.rhs, content);
+
+    try (FileChannel lhsChannel = FileChannel.open(this.lhs, StandardOpenOption.READ);
+         FileChannel rhsChannel = FileChannel.open(this.rhs, StandardOpenOption.READ)) {
+      // position is ignored
+      lhsChannel.position(10L);
+      assertTrue(new EqualsBuilder()
+              .appendContent(lhsChannel, rhsChannel)
+              .isEquals());
+
+      // chaining
+      assertFalse(new EqualsBuilder()
+              .appendSuper(false)
+              .appendContent(lhsChannel, rhsChannel)
+              .isEquals());
+    }
+  }
+
+  private boolean contentEquals(long windowSize) throws IOException {
+    try (FileChannel lhsChannel = FileChannel.open(this.lhs, StandardOpenOption.READ);
+         FileChannel rhsChannel = FileChannel.open(this.rhs, StandardOpenOption.READ)) {
+      return FileContents.contentEquals(lhsChannel, rhsChannel, windowSize);
+    }
+  }
+
+  private static byte[] content(int size) {
+    byte[] content = new byte[size];
+    for (int i = 0; i < content.length; i++) {
+      content[i] = (byte) i;
+    }
+    return content;
+  }
+
+}
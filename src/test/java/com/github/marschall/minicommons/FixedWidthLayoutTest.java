@@ -0,0 +1,72 @@
+package com.github.marschall.minicommons;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.charset.Charset;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.marschall.minicommons.FixedWidthLayout.Alignment;
+import com.github.marschall.minicommons.FixedWidthLayout.FieldType;
+import com.github.marschall.minicommons.FixedWidthLayout.Overflow;
+
+public class FixedWidthLayoutTest {
+
+  @Test
+  public void offsets() {
+    FixedWidthLayout layout = FixedWidthLayout.builder()
+            .text("name", 10)
+            .number("amount", 8)
+            .field("code", 3, FieldType.TEXT, Alignment.RIGHT, '_', Overflow.FAIL)
+            .recordSeparator("\r\n")
+            .build();
+
+    assertEquals(3, layout.fieldCount());
+    assertEquals(0, layout.fieldOffset(0));
+    assertEquals(10, layout.fieldOffset(1));
+    assertEquals(18, layout.fieldOffset(2));
+    assertEquals(23, layout.recordLength());
+    assertEquals(1, layout.fieldIndex("amount"));
+    assertEquals("code", layout.fieldName(2));
+    assertEquals(FieldType.NUMBER, layout.fieldType(1));
+    assertEquals(Alignment.RIGHT, layout.alignment(1));
+    assertEquals('0', layout.padChar(1));
+    assertEquals(Overflow.FAIL, layout.overflow(1));
+    assertEquals(Overflow.TRUNCATE, layout.overflow(0));
+    assertThrows(IllegalArgumentException.class, () -> layout.fieldIndex("missing"));
+  }
+
+  @Test
+  public void invalidLayouts() {
+    assertThrows(IllegalArgumentException.class, () -> FixedWidthLayout.builder().build());
+    assertThrows(IllegalArgumentException.class, () -> FixedWidthLayout.builder().text("name", 0));
+    assertThrows(IllegalArgumentException.class, () -> FixedWidthLayout.builder().text("name", 1).text("name", 2));
+    assertThrows(IllegalArgumentException.class, () -> FixedWidthLayout.builder().encoding(ByteEncoding.UTF_8));
+    assertThrows(IllegalArgumentException.class, () -> FixedWidthLayout.builder()
+            .field("name", 1, FieldType.TEXT, Alignment.LEFT, '\u00e9', Overflow.FAIL)
+            .build());
+    assertThrows(IllegalArgumentException.class, () -> FixedWidthLayout.builder()
+            .field("amount", 5, FieldType.NUMBER, Alignment.LEFT, '0', Overflow.FAIL));
+    assertThrows(IllegalArgumentException.class, () -> FixedWidthLayout.builder()
+            .field("amount", 5, FieldType.NUMBER, Alignment.RIGHT, '9', Overflow.FAIL));
+    assertThrows(IllegalArgumentException.class, () -> FixedWidthLayout.builder()
+            .field("amount", 5, FieldType.NUMBER, Alignment.RIGHT, '-', Overflow.FAIL));
+    assertThrows(IllegalArgumentException.class, () -> FixedWidthLayout.builder()
+            .field("amount", 5, FieldType.NUMBER, Alignment.LEFT, '-', Overflow.FAIL));
+    // text fields may use any pad character
+    FixedWidthLayout.builder().field("code", 5, FieldType.TEXT, Alignment.RIGHT, '-', Overflow.FAIL).build();
+  }
+
+  @Test
+  public void singleByteEncoding() {
+    FixedWidthLayout layout = FixedWidthLayout.builder()
+            .text("name", 4)
+            .encoding(ByteEncoding.of(Charset.forName("windows-1252")))
+            .recordSeparator("")
+            .build();
+
+    assertEquals(4, layout.recordLength());
+  }
+
+}
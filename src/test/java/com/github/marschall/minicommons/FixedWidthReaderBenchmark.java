@@ -0,0 +1,134 @@
+package com.github.marschall.minicommons;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures records per second read from a file.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+public class FixedWidthReaderBenchmark {
+
+  private static final int RECORDS = 100_000;
+
+  private static final FixedWidthLayout LAYOUT = FixedWidthLayout.builder()
+          .number("id", 10)
+          .text("name", 30)
+          .number("amount", 15)
+          .text("currency", 3)
+          .number("timestamp", 19)
+          .build();
+
+  public static void main(String[] args) throws RunnerException {
+    Options options = new OptionsBuilder()
+            .include(".*FixedWidthReaderBenchmark.*")
+            .warmupIterations(5)
+            .measurementIterations(5)
+            .forks(3)
+            .build();
+    new Runner(options).run();
+  }
+
+  private Path file;
+
+  private FileChannel channel;
+
+  @Setup(Level.Trial)
+  public void setup() throws IOException {
+    this.file = Files.createTempFile("fixed", ".txt");
+    this.channel = FileChannel.open(this.file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    try (FixedWidthWriter writer = new FixedWidthWriter(LAYOUT, this.channel)) {
+      for (int i = 0; i < RECORDS; i++) {
+        writer.number(i)
+          .text("customer number " + (i & 15))
+          .number(i * 1000L - 5_000_000L)
+          .text("CHF")
+          .number(1_500_000_000_000L + i)
+          .endRecord();
+      }
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    this.channel.close();
+    Files.delete(this.file);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(RECORDS)
+  public long fixedWidthReader() throws IOException {
+    FixedWidthReader reader = new FixedWidthReader(LAYOUT, this.channel);
+    long sum = 0L;
+    while (reader.next()) {
+      sum += reader.getInt(0);
+      sum += reader.getText(1).length();
+      sum += reader.getLong(2);
+      if ("CHF".contentEquals(reader.getText(3))) {
+        sum += 1L;
+      }
+      sum += reader.getLong(4);
+    }
+    return sum;
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(RECORDS)
+  public long longStream() throws IOException {
+    return FixedWidthReader.longStream(LAYOUT, this.channel, record -> record.getLong(2)).sum();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(RECORDS)
+  public long parallelLongStream() throws IOException {
+    return FixedWidthReader.longStream(LAYOUT, this.channel, record -> record.getLong(2)).parallel().sum();
+  }
+
+  /**
+   * The previous approach, <code>substring</code>, <code>trim</code> and
+   * <code>parseLong</code> for every field.
+   */
+  @Benchmark
+  @OperationsPerInvocation(RECORDS)
+  public long substringParse() throws IOException {
+    long sum = 0L;
+    try (BufferedReader reader = Files.newBufferedReader(this.file, StandardCharsets.US_ASCII)) {
+      String line = reader.readLine();
+      while (line != null) {
+        sum += Integer.parseInt(line.substring(0, 10).trim());
+        sum += line.substring(10, 40).trim().length();
+        sum += Long.parseLong(line.substring(40, 55).trim());
+        if ("CHF".equals(line.substring(55, 58).trim())) {
+          sum += 1L;
+        }
+        sum += Long.parseLong(line.substring(58, 77).trim());
+        line = reader.readLine();
+      }
+    }
+    return sum;
+  }
+
+}
@@ -0,0 +1,286 @@
+package com.github.marschall.minicommons;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.github.marschall.minicommons.FixedWidthLayout.Alignment;
+import com.github.marschall.minicommons.FixedWidthLayout.FieldType;
+import com.github.marschall.minicommons.FixedWidthLayout.Overflow;
+
+public class FixedWidthReaderTest {
+
+  private static final FixedWidthLayout LAYOUT = FixedWidthLayout.builder()
+          .number("id", 6)
+          .text("name", 8)
+          .field("amount", 12, FieldType.NUMBER, Alignment.RIGHT, ' ', Overflow.FAIL)
+          .field("code", 4, FieldType.TEXT, Alignment.RIGHT, '*', Overflow.FAIL)
+          .field("count", 5, FieldType.NUMBER, Alignment.LEFT, ' ', Overflow.FAIL)
+          .build();
+
+  private Path file;
+
+  @BeforeEach
+  public void setUp() throws IOException {
+    this.file = Files.createTempFile("fixed", ".txt");
+  }
+
+  @AfterEach
+  public void tearDown() throws IOException {
+    Files.delete(this.file);
+  }
+
+  private void writeRecords(int count) throws IOException {
+    try (FileChannel channel = FileChannel.open(this.file, StandardOpenOption.WRITE);
+         FixedWidthWriter writer = new FixedWidthWriter(LAYOUT, channel)) {
+      for (int i = 0; i < count; i++) {
+        writer.number(i)
+          .text("n" + i)
+          .number(i % 2 == 0 ? i * 1000L : -i * 1000L)
+          .text(Integer.toString(i % 100))
+          .number(-i)
+          .endRecord();
+      }
+    }
+  }
+
+  @Test
+  public void readBack() throws IOException {
+    this.writeRecords(1000);
+    try (FileChannel channel = FileChannel.open(this.file, StandardOpenOption.READ)) {
+      assertEquals(1000L, FixedWidthReader.recordCount(LAYOUT, channel));
+      // small windows to cross many window boundaries
+      FixedWidthReader reader = new FixedWidthReader(LAYOUT, channel, 0L, 1000L, 100);
+      for (int i = 0; i < 1000; i++) {
+        assertTrue(reader.next());
+        assertEquals(i, reader.recordIndex());
+        assertEquals(i, reader.getInt(0));
+        assertEquals("n" + i, reader.getText(1).toString());
+        assertEquals(i % 2 == 0 ? i * 1000L : -i * 1000L, reader.getLong(2));
+        assertEquals(Integer.toString(i % 100), reader.getText(3).toString());
+        assertEquals(-i, reader.getInt(4));
+      }
+      assertFalse(reader.next());
+      assertFalse(reader.next());
+      assertThrows(NoSuchElementException.class, () -> reader.getLong(0));
+    }
+  }
+
+  @Test
+  public void roundTrip() throws IOException {
+    FixedWidthLayout layout = FixedWidthLayout.builder()
+            .field("zeros", 6, FieldType.NUMBER, Alignment.RIGHT, '0', Overflow.FAIL)
+            .field("right", 6, FieldType.NUMBER, Alignment.RIGHT, ' ', Overflow.FAIL)
+            .field("left", 6, FieldType.NUMBER, Alignment.LEFT, ' ', Overflow.FAIL)
+            .field("stars", 6, FieldType.NUMBER, Alignment.LEFT, '*', Overflow.FAIL)
+            .field("plus", 6, FieldType.NUMBER, Alignment.RIGHT, '+', Overflow.FAIL)
+            .build();
+    // padding that reads as part of the number can not round trip
+    assertThrows(IllegalArgumentException.class, () -> FixedWidthLayout.builder()
+            .field("minus", 6, FieldType.NUMBER, Alignment.RIGHT, '-', Overflow.FAIL));
+    assertThrows(IllegalArgumentException.class, () -> FixedWidthLayout.builder()
+            .field("minus", 6, FieldType.NUMBER, Alignment.LEFT, '-', Overflow.FAIL));
+    long[] values = {0L, 42L, -42L, 99999L, -99999L, 100000L, 10L, -10L};
+    try (FileChannel channel = FileChannel.open(this.file, StandardOpenOption.WRITE);
+         FixedWidthWriter writer = new FixedWidthWriter(layout, channel)) {
+      for (long value : values) {
+        writer.number(value).number(value).number(value).number(value).number(value).endRecord();
+      }
+    }
+    try (FileChannel channel = FileChannel.open(this.file, StandardOpenOption.READ)) {
+      FixedWidthReader reader = new FixedWidthReader(layout, channel);
+      for (long value : values) {
+        assertTrue(reader.next());
+        for (int i = 0; i < layout.fieldCount(); i++) {
+          assertEquals(value, reader.getLong(i));
+        }
+      }
+      assertFalse(reader.next());
+    }
+  }
+
+  @Test
+  public void recordRange() throws IOException {
+    this.writeRecords(100);
+    try (FileChannel channel = FileChannel.open(this.file, StandardOpenOption.READ)) {
+      FixedWidthReader reader = new FixedWidthReader(LAYOUT, channel, 40L, 43L);
+      assertThrows(NoSuchElementException.class, () -> reader.getLong(0));
+      for (int i = 40; i < 43; i++) {
+        assertTrue(reader.next());
+        assertEquals(i, reader.getLong(0));
+      }
+      assertFalse(reader.next());
+
+      FixedWidthReader empty = new FixedWidthReader(LAYOUT, channel, 100L, 100L);
+      assertFalse(empty.next());
+
+      assertThrows(IllegalArgumentException.class, () -> new FixedWidthReader(LAYOUT, channel, 2L, 1L));
+      assertThrows(IndexOutOfBoundsException.class, () -> new FixedWidthReader(LAYOUT, channel, -1L, 1L));
+      assertThrows(IndexOutOfBoundsException.class, () -> new FixedWidthReader(LAYOUT, channel, 0L, 101L));
+    }
+  }
+
+  @Test
+  public void textViews() throws IOException {
+    this.writeRecords(1);
+    try (FileChannel channel = FileChannel.open(this.file, StandardOpenOption.READ)) {
+      FixedWidthReader reader = new FixedWidthReader(LAYOUT, channel);
+      assertTrue(reader.next());
+      CharSequence name = reader.getText(1);
+      assertEquals(2, name.length());
+      assertEquals('n', name.charAt(0));
+      assertEquals("0", name.subSequence(1, 2).toString());
+      assertTrue("n0".contentEquals(name));
+      assertThrows(IndexOutOfBoundsException.class, () -> name.charAt(2));
+      assertThrows(IndexOutOfBoundsException.class, () -> name.subSequence(1, 3));
+    }
+  }
+
+  @Test
+  public void missingLastSeparator() throws IOException {
+    Files.write(this.file, ("000001one     000000000000***-1    \n"
+            + "000002two              -12**12-2   ").getBytes(StandardCharsets.US_ASCII));
+    try (FileChannel channel = FileChannel.open(this.file, StandardOpenOption.READ)) {
+      FixedWidthReader reader = new FixedWidthReader(LAYOUT, channel);
+      assertTrue(reader.next());
+      assertEquals(0L, reader.getLong(2));
+      assertEquals("-", reader.getText(3).toString());
+      assertTrue(reader.next());
+      assertEquals(2L, reader.getLong(0));
+      assertEquals(-12L, reader.getLong(2));
+      assertEquals("12", reader.getText(3).toString());
+      assertEquals(-2L, reader.getLong(4));
+      assertFalse(reader.next());
+    }
+  }
+
+  @Test
+  public void invalidNumbers() throws IOException {
+    Files.write(this.file, ("0000x1one       9999999999**ab     \n"
+            + "-00001two                 **ab1 2  \n").getBytes(StandardCharsets.US_ASCII));
+    try (FileChannel channel = FileChannel.open(this.file, StandardOpenOption.READ)) {
+      FixedWidthReader reader = new FixedWidthReader(LAYOUT, channel);
+      assertTrue(reader.next());
+      assertThrows(NumberFormatException.class, () -> reader.getLong(0));
+      assertEquals(9999999999L, reader.getLong(2));
+      assertThrows(NumberFormatException.class, () -> reader.getInt(2));
+      assertThrows(NumberFormatException.class, () -> reader.getLong(4));
+      assertTrue(reader.next());
+      assertEquals(-1L, reader.getLong(0));
+      assertThrows(NumberFormatException.class, () -> reader.getLong(2));
+      assertThrows(NumberFormatException.class, () -> reader.getLong(4));
+    }
+  }
+
+  @Test
+  public void longRange() throws IOException {
+    FixedWidthLayout layout = FixedWidthLayout.builder()
+            .number("value", 20)
+            .build();
+    Files.write(this.file, ("-9223372036854775808\n"
+            + "09223372036854775807\n"
+            + "09223372036854775808\n").getBytes(StandardCharsets.US_ASCII));
+    try (FileChannel channel = FileChannel.open(this.file, StandardOpenOption.READ)) {
+      FixedWidthReader reader = new FixedWidthReader(layout, channel);
+      assertTrue(reader.next());
+      assertEquals(Long.MIN_VALUE, reader.getLong(0));
+      assertTrue(reader.next());
+      assertEquals(Long.MAX_VALUE, reader.getLong(0));
+      assertTrue(reader.next());
+      assertThrows(NumberFormatException.class, () -> reader.getLong(0));
+    }
+  }
+
+  @Test
+  public void invalidFileSize() throws IOException {
+    Files.write(this.file, "000001".getBytes(StandardCharsets.US_ASCII));
+    try (FileChannel channel = FileChannel.open(this.file, StandardOpenOption.READ)) {
+      assertThrows(IllegalArgumentException.class, () -> new FixedWidthReader(LAYOUT, channel));
+    }
+  }
+
+  @Test
+  public void ebcdic() throws IOException {
+    assumeTrue(Charset.isSupported("IBM037"));
+    Charset ibm037 = Charset.forName("IBM037");
+    FixedWidthLayout layout = FixedWidthLayout.builder()
+            .text("name", 4)
+            .number("amount", 4)
+            .encoding(ByteEncoding.of(ibm037))
+            .build();
+    Files.write(this.file, "ab  -005\n".getBytes(ibm037));
+    try (FileChannel channel = FileChannel.open(this.file, StandardOpenOption.READ)) {
+      FixedWidthReader reader = new FixedWidthReader(layout, channel);
+      assertTrue(reader.next());
+      assertEquals("ab", reader.getText(0).toString());
+      assertEquals(-5, reader.getInt(1));
+    }
+  }
+
+  @Test
+  public void parallelStream() throws IOException {
+    this.writeRecords(9_999);
+    try (FileChannel channel = FileChannel.open(this.file, StandardOpenOption.READ)) {
+      long expected = 0L;
+      for (int i = 0; i < 9_999; i++) {
+        expected += i % 2 == 0 ? i * 1000L : -i * 1000L;
+      }
+      assertEquals(expected, FixedWidthReader.longStream(LAYOUT, channel, record -> record.getLong(2)).sum());
+      assertEquals(expected, FixedWidthReader.longStream(LAYOUT, channel, record -> record.getLong(2)).parallel().sum());
+
+      List<String> names = FixedWidthReader.stream(LAYOUT, channel, record -> record.getText(1).toString())
+              .parallel()
+              .collect(Collectors.toList());
+      assertEquals(9_999, names.size());
+      for (int i = 0; i < names.size(); i++) {
+        assertEquals("n" + i, names.get(i));
+      }
+    }
+  }
+
+  @Test
+  public void spliteratorSplitsOnRecords() throws IOException {
+    this.writeRecords(7);
+    try (FileChannel channel = FileChannel.open(this.file, StandardOpenOption.READ)) {
+      Spliterator<Long> second = FixedWidthReader.stream(LAYOUT, channel, record -> record.getLong(0)).spliterator();
+      assertEquals(7L, second.estimateSize());
+      assertTrue(second.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.ORDERED));
+      Spliterator<Long> first = second.trySplit();
+      assertEquals(3L, first.estimateSize());
+      assertEquals(4L, second.estimateSize());
+
+      List<Long> ids = new ArrayList<>();
+      assertTrue(first.tryAdvance(ids::add));
+      assertEquals(2L, first.estimateSize());
+      // no splitting after iteration started
+      assertNull(first.trySplit());
+      first.forEachRemaining(ids::add);
+      assertFalse(first.tryAdvance(ids::add));
+      assertEquals(0L, first.estimateSize());
+      second.forEachRemaining(ids::add);
+      assertEquals(Arrays.asList(0L, 1L, 2L, 3L, 4L, 5L, 6L), ids);
+    }
+  }
+
+}
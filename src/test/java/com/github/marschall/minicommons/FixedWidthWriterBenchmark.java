@@ -0,0 +1,139 @@
+package com.github.marschall.minicommons;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures records per second written to a file.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+public class FixedWidthWriterBenchmark {
+
+  private static final int RECORDS = 100_000;
+
+  private static final FixedWidthLayout LAYOUT = FixedWidthLayout.builder()
+          .number("id", 10)
+          .text("name", 30)
+          .number("amount", 15)
+          .text("currency", 3)
+          .number("timestamp", 19)
+          .build();
+
+  public static void main(String[] args) throws RunnerException {
+    Options options = new OptionsBuilder()
+            .include(".*FixedWidthWriterBenchmark.*")
+            .warmupIterations(5)
+            .measurementIterations(5)
+            .forks(3)
+            .build();
+    new Runner(options).run();
+  }
+
+  private Path file;
+
+  private FileChannel channel;
+
+  private FixedWidthWriter writer;
+
+  private String[] names;
+
+  @Setup(Level.Trial)
+  public void setup() throws IOException {
+    this.file = Files.createTempFile("fixed", ".txt");
+    this.channel = FileChannel.open(this.file, StandardOpenOption.WRITE);
+    this.writer = new FixedWidthWriter(LAYOUT, this.channel);
+    this.names = new String[16];
+    for (int i = 0; i < this.names.length; i++) {
+      this.names[i] = "customer number " + i;
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    this.channel.close();
+    Files.delete(this.file);
+  }
+
+  @Setup(Level.Invocation)
+  public void rewind() throws IOException {
+    this.channel.position(0L);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(RECORDS)
+  public long fixedWidthWriter() throws IOException {
+    FixedWidthWriter writer = this.writer;
+    for (int i = 0; i < RECORDS; i++) {
+      writer.number(i)
+        .text(this.names[i & 15])
+        .number(i * 1000L - 5_000_000L)
+        .text("CHF")
+        .number(1_500_000_000_000L + i)
+        .endRecord();
+    }
+    writer.flush();
+    return writer.recordCount();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(RECORDS)
+  public long writeParallel() throws IOException {
+    String[] names = this.names;
+    FixedWidthWriter.writeParallel(LAYOUT, this.channel, RECORDS, (i, writer) -> writer
+            .number(i)
+            .text(names[(int) i & 15])
+            .number(i * 1000L - 5_000_000L)
+            .text("CHF")
+            .number(1_500_000_000_000L + i));
+    return this.channel.position();
+  }
+
+  /**
+   * The previous approach, padding every field into a
+   * <code>StringBuilder</code> and writing through a buffered stream.
+   */
+  @Benchmark
+  @OperationsPerInvocation(RECORDS)
+  public long leftPadInto() throws IOException {
+    OutputStream output = new BufferedOutputStream(Channels.newOutputStream(this.channel), 64 * 1024);
+    StringBuilder record = new StringBuilder(LAYOUT.recordLength());
+    for (int i = 0; i < RECORDS; i++) {
+      record.setLength(0);
+      StringUtils.leftPadInto(i, 10, '0', record);
+      record.append(StringUtils.rightPad(this.names[i & 15], 30, ' '));
+      StringUtils.leftPadInto(i * 1000L - 5_000_000L, 15, '0', record);
+      record.append("CHF");
+      StringUtils.leftPadInto(1_500_000_000_000L + i, 19, '0', record);
+      record.append('\n');
+      output.write(record.toString().getBytes(StandardCharsets.US_ASCII));
+    }
+    output.flush();
+    return RECORDS;
+  }
+
+}
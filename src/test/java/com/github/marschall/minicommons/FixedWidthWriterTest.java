@@ -0,0 +1,214 @@
+package com.github.marschall.minicommons;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.marschall.minicommons.FixedWidthLayout.Alignment;
+import com.github.marschall.minicommons.FixedWidthLayout.FieldType;
+import com.github.marschall.minicommons.FixedWidthLayout.Overflow;
+
+public class FixedWidthWriterTest {
+
+  private static final FixedWidthLayout LAYOUT = FixedWidthLayout.builder()
+          .text("name", 6)
+          .number("amount", 5)
+          .field("code", 3, FieldType.TEXT, Alignment.RIGHT, '.', Overflow.FAIL)
+          .field("delta", 4, FieldType.NUMBER, Alignment.RIGHT, ' ', Overflow.TRUNCATE)
+          .field("count", 4, FieldType.NUMBER, Alignment.LEFT, ' ', Overflow.FAIL)
+          .build();
+
+  @Test
+  public void writeRecords() throws IOException {
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    try (FixedWidthWriter writer = new FixedWidthWriter(LAYOUT, Channels.newChannel(output))) {
+      writer.text("Alice").number(42L).text("X").number(-7L).number(3L).endRecord();
+      writer.text("Bartholomew").number(-42L).text("ABC").number(123456L).number(-999L).endRecord();
+      writer.text(null).number(0L).text("").number(-12345L).number(0L).endRecord();
+      assertEquals(3L, writer.recordCount());
+    }
+
+    assertEquals(
+            "Alice 00042..X  -73   \n"
+            + "Bartho-0042ABC3456-999\n"
+            + "      00000...-3450   \n",
+            new String(output.toByteArray(), StandardCharsets.US_ASCII));
+  }
+
+  @Test
+  public void overflow() throws IOException {
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    FixedWidthWriter writer = new FixedWidthWriter(LAYOUT, Channels.newChannel(output));
+    writer.text("name");
+    assertThrows(IllegalArgumentException.class, () -> writer.number(100000L));
+    assertThrows(IllegalArgumentException.class, () -> writer.number(-10000L));
+    // the field can be written again after a failure
+    writer.number(-9999L);
+    assertThrows(IllegalArgumentException.class, () -> writer.text("ABCD"));
+    assertThrows(IllegalArgumentException.class, () -> writer.text("\u00e9"));
+    writer.text("ABC").number(1L).number(1L).endRecord();
+    writer.close();
+
+    assertEquals("name  -9999ABC   11   \n", new String(output.toByteArray(), StandardCharsets.US_ASCII));
+  }
+
+  @Test
+  public void truncateKeepsSign() throws IOException {
+    FixedWidthLayout layout = FixedWidthLayout.builder()
+            .field("digit", 1, FieldType.NUMBER, Alignment.RIGHT, '0', Overflow.TRUNCATE)
+            .build();
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    FixedWidthWriter writer = new FixedWidthWriter(layout, Channels.newChannel(output));
+    writer.number(42L).endRecord();
+    assertThrows(IllegalArgumentException.class, () -> writer.number(-1L));
+    writer.number(7L).endRecord();
+    writer.close();
+
+    assertEquals("2\n7\n", new String(output.toByteArray(), StandardCharsets.US_ASCII));
+  }
+
+  @Test
+  public void fieldOrder() throws IOException {
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    FixedWidthWriter writer = new FixedWidthWriter(LAYOUT, Channels.newChannel(output));
+    assertThrows(IllegalStateException.class, () -> writer.number(1L));
+    writer.text("name");
+    assertThrows(IllegalStateException.class, () -> writer.endRecord());
+    writer.number(1L).text("A").number(1L).number(1L);
+    assertThrows(IllegalStateException.class, () -> writer.text("A"));
+    writer.endRecord();
+    writer.text("name");
+    // the complete record is still written
+    assertThrows(IllegalStateException.class, () -> writer.close());
+    assertEquals(LAYOUT.recordLength(), output.size());
+  }
+
+  @Test
+  public void flushKeepsPartialRecord() throws IOException {
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    try (FixedWidthWriter writer = new FixedWidthWriter(LAYOUT, Channels.newChannel(output))) {
+      writer.text("one").number(1L).text("A").number(1L).number(1L).endRecord();
+      writer.text("two").number(2L);
+      writer.flush();
+      assertEquals(LAYOUT.recordLength(), output.size());
+      writer.text("B").number(2L).number(2L).endRecord();
+    }
+
+    assertEquals(
+            "one   00001..A   11   \n"
+            + "two   00002..B   22   \n",
+            new String(output.toByteArray(), StandardCharsets.US_ASCII));
+  }
+
+  @Test
+  public void fileChannelSmallBuffer() throws IOException {
+    FixedWidthLayout layout = FixedWidthLayout.builder()
+            .number("id", 7)
+            .text("label", 9)
+            .recordSeparator("\r\n")
+            .build();
+    Path file = Files.createTempFile("fixed", ".txt");
+    try {
+      StringBuilder expected = new StringBuilder();
+      try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE);
+           // not a multiple of the record length
+           FixedWidthWriter writer = new FixedWidthWriter(layout, channel, 100)) {
+        for (int i = 0; i < 1000; i++) {
+          writer.number(i).text("label" + i).endRecord();
+          expected.append(StringUtils.leftPad(i, 7, '0'))
+                  .append(StringUtils.rightPad("label" + i, 9, ' '))
+                  .append("\r\n");
+        }
+      }
+      assertEquals(expected.toString(), new String(Files.readAllBytes(file), StandardCharsets.US_ASCII));
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  @Test
+  public void ebcdic() throws IOException {
+    assumeTrue(Charset.isSupported("IBM037"));
+    Charset ibm037 = Charset.forName("IBM037");
+    FixedWidthLayout layout = FixedWidthLayout.builder()
+            .text("name", 4)
+            .number("amount", 4)
+            .encoding(ByteEncoding.of(ibm037))
+            .build();
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    try (FixedWidthWriter writer = new FixedWidthWriter(layout, Channels.newChannel(output))) {
+      writer.text("ab").number(-5L).endRecord();
+    }
+    assertEquals("ab  -005\n", new String(output.toByteArray(), ibm037));
+  }
+
+  @Test
+  public void writeParallel() throws IOException {
+    FixedWidthLayout layout = FixedWidthLayout.builder()
+            .number("id", 9)
+            .text("name", 11)
+            .field("amount", 8, FieldType.NUMBER, Alignment.RIGHT, ' ', Overflow.TRUNCATE)
+            .build();
+    FixedWidthWriter.RecordFormatter formatter = (i, writer) -> writer
+            .number(i)
+            .text("name" + (i % 1000))
+            .number(-i * 7L);
+    // several slices of a full buffer each
+    long recordCount = 250_000L;
+    Path sequential = Files.createTempFile("sequential", ".txt");
+    Path parallel = Files.createTempFile("parallel", ".txt");
+    try {
+      try (FileChannel channel = FileChannel.open(sequential, StandardOpenOption.WRITE);
+           FixedWidthWriter writer = new FixedWidthWriter(layout, channel)) {
+        writer.number(0L).text("header").number(0L).endRecord();
+        for (long i = 0L; i < recordCount; i++) {
+          formatter.format(i, writer);
+          writer.endRecord();
+        }
+      }
+      try (FileChannel channel = FileChannel.open(parallel, StandardOpenOption.WRITE)) {
+        try (FixedWidthWriter writer = new FixedWidthWriter(layout, channel)) {
+          writer.number(0L).text("header").number(0L).endRecord();
+        }
+        FixedWidthWriter.writeParallel(layout, channel, recordCount, formatter);
+        assertEquals((recordCount + 1L) * layout.recordLength(), channel.position());
+      }
+      assertTrue(FileContents.contentEquals(sequential, parallel));
+    } finally {
+      Files.delete(sequential);
+      Files.delete(parallel);
+    }
+  }
+
+  @Test
+  public void writeParallelFailure() throws IOException {
+    Path file = Files.createTempFile("parallel", ".txt");
+    ForkJoinPool pool = new ForkJoinPool(2);
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+      FixedWidthWriter.writeParallel(LAYOUT, channel, 0L, (i, writer) -> writer.text("x"), pool);
+      assertEquals(0L, channel.size());
+      assertThrows(IllegalArgumentException.class, () -> FixedWidthWriter.writeParallel(LAYOUT, channel, 200_000L,
+              (i, writer) -> writer.text("x").number(i).text("A").number(1L).number(1L), pool));
+      assertThrows(IllegalStateException.class, () -> FixedWidthWriter.writeParallel(LAYOUT, channel, 10L,
+              (i, writer) -> writer.text("x"), pool));
+    } finally {
+      pool.shutdown();
+      Files.delete(file);
+    }
+  }
+
+}
@@ -3,6 +3,8 @@ package com.github.marschall.minicommons;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 
+import java.nio.CharBuffer;
+
 import org.junit.jupiter.api.Test;
 
 public class HashCodeBuilderTest {
@@ -306,4 +308,84 @@ public class HashCodeBuilderTest {
                     new HashCodeBuilder().append(new boolean[]{false}).toHashCode());
   }
 
+  @Test
+  public void appendContent() {
+    assertEquals(new HashCodeBuilder().append("one").toHashCode(),
+                 new HashCodeBuilder().appendContent(new StringBuilder("one")).toHashCode());
+
+    assertEquals(new HashCodeBuilder().append("one").toHashCode(),
+                 new HashCodeBuilder().appendContent(CharBuffer.wrap("one")).toHashCode());
+
+    assertEquals(new HashCodeBuilder().append("one").toHashCode(),
+                 new HashCodeBuilder().appendContent("one").toHashCode());
+
+    assertEquals(new HashCodeBuilder().append("").toHashCode(),
+                 new HashCodeBuilder().appendContent(new StringBuilder()).toHashCode());
+
+    assertEquals(new HashCodeBuilder().append((Object) null).toHashCode(),
+                 new HashCodeBuilder().appendContent((CharSequence) null).toHashCode());
+
+    assertEquals(new HashCodeBuilder().append("one").toHashCode(),
+                 new HashCodeBuilder().appendContent("xoney".toCharArray(), 1, 4).toHashCode());
+  }
+
+  @Test
+  public void appendIgnoreCase() {
+    assertEquals(new HashCodeBuilder().appendIgnoreCase("Content-Type").toHashCode(),
+                 new HashCodeBuilder().appendIgnoreCase(new StringBuilder("content-type")).toHashCode());
+
+    assertEquals(new HashCodeBuilder().appendIgnoreCase("STRASSE").toHashCode(),
+                 new HashCodeBuilder().appendIgnoreCase("strasse").toHashCode());
+
+    // Latin-1
+    assertEquals(new HashCodeBuilder().appendIgnoreCase("ÄPFEL").toHashCode(),
+                 new HashCodeBuilder().appendIgnoreCase("äpfel").toHashCode());
+
+    // micro sign and greek mu
+    assertEquals(new HashCodeBuilder().appendIgnoreCase("µ").toHashCode(),
+                 new HashCodeBuilder().appendIgnoreCase("μ").toHashCode());
+
+    // outside of Latin-1
+    assertEquals(new HashCodeBuilder().appendIgnoreCase("ΑΒΓ").toHashCode(),
+                 new HashCodeBuilder().appendIgnoreCase("αβγ").toHashCode());
+
+    assertNotEquals(new HashCodeBuilder().appendIgnoreCase("one").toHashCode(),
+                    new HashCodeBuilder().appendIgnoreCase("two").toHashCode());
+
+    assertEquals(new HashCodeBuilder().append((Object) null).toHashCode(),
+                 new HashCodeBuilder().appendIgnoreCase(null).toHashCode());
+  }
+
+  @Test
+  public void appendIgnoreCaseConsistentWithEquals() {
+    for (char c = 0; c < Character.MAX_VALUE; c++) {
+      String lower = String.valueOf(Character.toLowerCase(c));
+      String upper = String.valueOf(Character.toUpperCase(c));
+      assertEquals(new HashCodeBuilder().appendIgnoreCase(lower).toHashCode(),
+                   new HashCodeBuilder().appendIgnoreCase(upper).toHashCode());
+    }
+  }
+
+  @Test
+  public void appendArrayRange() {
+    byte[] buffer = {1, 2, 3, 4, 5, 6};
+    assertEquals(new HashCodeBuilder().append(new byte[]{3, 4}).toHashCode(),
+                 new HashCodeBuilder().append(buffer, 2, 4).toHashCode());
+
+    long[] longs = {1L, 2L, 3L};
+    assertEquals(new HashCodeBuilder().append(new long[]{2L, 3L}).toHashCode(),
+                 new HashCodeBuilder().append(longs, 1, 3).toHashCode());
+
+    String[] strings = {"one", "two", "three"};
+    assertEquals(new HashCodeBuilder().append(new String[]{"one"}).toHashCode(),
+                 new HashCodeBuilder().append(strings, 0, 1).toHashCode());
+
+    // hashed as an array, not as a String
+    char[] chars = {'a', 'b'};
+    assertEquals(new HashCodeBuilder().append(chars).toHashCode(),
+                 new HashCodeBuilder().append(chars, 0, 2).toHashCode());
+    assertNotEquals(new HashCodeBuilder().appendContent(chars, 0, 2).toHashCode(),
+                    new HashCodeBuilder().append(chars, 0, 2).toHashCode());
+  }
+
 }
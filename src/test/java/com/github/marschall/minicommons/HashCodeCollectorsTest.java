@@ -0,0 +1,71 @@
+package com.github.marschall.minicommons;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+
+public class HashCodeCollectorsTest {
+
+  private static List<String> elements(int count) {
+    List<String> elements = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      elements.add(i % 7 == 0 ? null : "element" + i);
+    }
+    return elements;
+  }
+
+  private static int sequentialHashCode(List<?> elements) {
+    HashCodeBuilder builder = new HashCodeBuilder();
+    for (Object element : elements) {
+      builder.append(element);
+    }
+    return builder.toHashCode();
+  }
+
+  @Test
+  public void empty() {
+    assertEquals(new HashCodeBuilder().toHashCode(), (int) Stream.empty().collect(HashCodeCollectors.toHashCode()));
+  }
+
+  @Test
+  public void sequential() {
+    List<String> elements = elements(1_000);
+    assertEquals(sequentialHashCode(elements), (int) elements.stream().collect(HashCodeCollectors.toHashCode()));
+  }
+
+  @Test
+  public void parallel() {
+    for (int count : new int[] {1, 2, 3, 17, 1_000, 100_000}) {
+      List<String> elements = elements(count);
+      assertEquals(sequentialHashCode(elements),
+              (int) elements.parallelStream().collect(HashCodeCollectors.toHashCode()));
+    }
+  }
+
+  @Test
+  public void hashFunction() {
+    HashCodeBuilder builder = new HashCodeBuilder();
+    for (int i = 0; i < 10_000; i++) {
+      builder.append(i * 3);
+    }
+    assertEquals(builder.toHashCode(), (int) IntStream.range(0, 10_000)
+            .boxed()
+            .parallel()
+            .collect(HashCodeCollectors.toHashCode(i -> i * 3)));
+  }
+
+  @Test
+  public void multiplierPower() {
+    int expected = 1;
+    for (int i = 0; i < 100; i++) {
+      assertEquals(expected, HashCodeBuilder.multiplierPower(i));
+      expected *= 31;
+    }
+  }
+
+}
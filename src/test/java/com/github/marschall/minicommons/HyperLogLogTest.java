@@ -0,0 +1,105 @@
+package com.github.marschall.minicommons;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class HyperLogLogTest {
+
+  private static long hash(long id, String name) {
+    return new LongHashCodeBuilder()
+            .append(id)
+            .append(name)
+            .toLongHashCode();
+  }
+
+  private static void assertEstimate(long expected, long actual, double tolerance) {
+    double error = Math.abs(actual - expected) / (double) expected;
+    assertTrue(error < tolerance, "expected: " + expected + " actual: " + actual);
+  }
+
+  @Test
+  public void empty() {
+    assertEquals(0L, new HyperLogLog().cardinality());
+  }
+
+  @Test
+  public void smallCardinality() {
+    HyperLogLog sketch = new HyperLogLog();
+    for (long i = 0L; i < 100L; i++) {
+      sketch.add(hash(i, "name"));
+    }
+    assertEstimate(100L, sketch.cardinality(), 0.02d);
+  }
+
+  @Test
+  public void duplicatesAreIgnored() {
+    HyperLogLog sketch = new HyperLogLog();
+    long hash = hash(1L, "one");
+    assertTrue(sketch.add(hash));
+    assertFalse(sketch.add(hash));
+    for (int i = 0; i < 1_000; i++) {
+      sketch.add(hash);
+    }
+    assertEquals(1L, sketch.cardinality());
+  }
+
+  @Test
+  public void largeCardinality() {
+    HyperLogLog sketch = new HyperLogLog();
+    for (long i = 0L; i < 1_000_000L; i++) {
+      sketch.add(hash(i, "name"));
+    }
+    // about 0.8% standard error
+    assertEstimate(1_000_000L, sketch.cardinality(), 0.03d);
+  }
+
+  @Test
+  public void merge() {
+    HyperLogLog first = new HyperLogLog(12);
+    HyperLogLog second = new HyperLogLog(12);
+    for (long i = 0L; i < 60_000L; i++) {
+      first.add(hash(i, "name"));
+    }
+    for (long i = 40_000L; i < 100_000L; i++) {
+      second.add(hash(i, "name"));
+    }
+    first.merge(second);
+    assertEstimate(100_000L, first.cardinality(), 0.06d);
+
+    assertThrows(IllegalArgumentException.class, () -> first.merge(new HyperLogLog(10)));
+  }
+
+  @Test
+  public void serialization() {
+    HyperLogLog sketch = new HyperLogLog(10);
+    for (long i = 0L; i < 10_000L; i++) {
+      sketch.add(hash(i, "name"));
+    }
+    byte[] bytes = sketch.toByteArray();
+    // 1 byte precision, 6 bits per register
+    assertEquals(1 + 768, bytes.length);
+
+    HyperLogLog copy = HyperLogLog.fromByteArray(bytes);
+    assertEquals(10, copy.precision());
+    assertEquals(sketch.cardinality(), copy.cardinality());
+    assertArrayEquals(bytes, copy.toByteArray());
+  }
+
+  @Test
+  public void invalidArguments() {
+    assertThrows(IllegalArgumentException.class, () -> new HyperLogLog(3));
+    assertThrows(IllegalArgumentException.class, () -> new HyperLogLog(19));
+    assertThrows(IllegalArgumentException.class, () -> HyperLogLog.fromByteArray(new byte[0]));
+    assertThrows(IllegalArgumentException.class, () -> HyperLogLog.fromByteArray(new byte[] {10, 0, 0}));
+    byte[] invalidRegister = new byte[1 + 12];
+    invalidRegister[0] = 4;
+    invalidRegister[1] = (byte) 0xFC;
+    assertThrows(IllegalArgumentException.class, () -> HyperLogLog.fromByteArray(invalidRegister));
+  }
+
+}
@@ -0,0 +1,112 @@
+package com.github.marschall.minicommons;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+public class InternerTest {
+
+  @Test
+  public void strong() {
+    Interner<Model> interner = Interner.newStrongInterner(model -> 24L);
+    Model first = new Model(1L, "one");
+    Model second = new Model(1L, "one");
+    assertNotSame(first, second);
+
+    assertSame(first, interner.intern(first));
+    assertSame(first, interner.intern(second));
+    assertSame(first, interner.intern(first));
+
+    Model other = new Model(2L, "one");
+    assertSame(other, interner.intern(other));
+
+    assertEquals(2, interner.size());
+    assertEquals(2L, interner.hitCount());
+    assertEquals(2L, interner.missCount());
+    // interning the canonical instance does not save anything
+    assertEquals(24L, interner.estimatedBytesSaved());
+  }
+
+  @Test
+  public void manyValues() {
+    Interner<Model> interner = Interner.newStrongInterner();
+    for (int i = 0; i < 10_000; i++) {
+      interner.intern(new Model((long) i, "name"));
+    }
+    for (int i = 0; i < 10_000; i++) {
+      Model model = new Model((long) i, "name");
+      assertNotSame(model, interner.intern(model));
+    }
+    assertEquals(10_000, interner.size());
+    assertEquals(10_000L, interner.hitCount());
+    assertEquals(10_000L, interner.missCount());
+    assertEquals(0L, interner.estimatedBytesSaved());
+  }
+
+  @Test
+  public void weak() {
+    Interner<Model> interner = Interner.newWeakInterner();
+    Model first = new Model(1L, "one");
+    assertSame(first, interner.intern(first));
+    assertSame(first, interner.intern(new Model(1L, "one")));
+    assertEquals(1, interner.size());
+  }
+
+  @Test
+  public void weakCollected() throws InterruptedException {
+    Interner<Model> interner = Interner.newWeakInterner();
+    for (int i = 0; i < 1_000; i++) {
+      interner.intern(new Model((long) i, "name"));
+    }
+    for (int i = 0; i < 50 && interner.size() == 1_000; i++) {
+      System.gc();
+      Thread.sleep(10L);
+    }
+    assertTrue(interner.size() < 1_000);
+  }
+
+  @Test
+  public void concurrent() throws Exception {
+    Interner<Model> interner = Interner.newStrongInterner();
+    int threads = 4;
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try {
+      CountDownLatch start = new CountDownLatch(1);
+      List<Future<Model[]>> futures = new ArrayList<>();
+      for (int i = 0; i < threads; i++) {
+        futures.add(executor.submit(() -> {
+          start.await();
+          Model[] canonical = new Model[1_000];
+          for (int j = 0; j < canonical.length; j++) {
+            canonical[j] = interner.intern(new Model((long) j, "name"));
+          }
+          return canonical;
+        }));
+      }
+      start.countDown();
+      Model[] expected = futures.get(0).get();
+      for (Future<Model[]> future : futures) {
+        Model[] actual = future.get();
+        for (int j = 0; j < expected.length; j++) {
+          assertSame(expected[j], actual[j]);
+        }
+      }
+      assertEquals(1_000, interner.size());
+      assertEquals(1_000L, interner.missCount());
+      assertEquals(3_000L, interner.hitCount());
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+}
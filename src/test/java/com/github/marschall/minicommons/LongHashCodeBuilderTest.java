@@ -0,0 +1,69 @@
+package com.github.marschall.minicommons;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+public class LongHashCodeBuilderTest {
+
+  @Test
+  public void deterministic() {
+    assertEquals(new LongHashCodeBuilder().append(1L).append("one").toLongHashCode(),
+                 new LongHashCodeBuilder().append(1L).append(new String("one")).toLongHashCode());
+
+    assertEquals(new LongHashCodeBuilder().append("one").toLongHashCode(),
+                 new LongHashCodeBuilder().appendContent(new StringBuilder("one")).toLongHashCode());
+
+    assertEquals(new LongHashCodeBuilder().append(new char[] {'o', 'n', 'e', 's', '!'}).toLongHashCode(),
+                 new LongHashCodeBuilder().appendContent("ones!").toLongHashCode());
+
+    assertEquals(new LongHashCodeBuilder().append(new long[] {1L, 2L}).toLongHashCode(),
+                 new LongHashCodeBuilder().append(new long[] {1L, 2L}).toLongHashCode());
+  }
+
+  @Test
+  public void orderMatters() {
+    assertNotEquals(new LongHashCodeBuilder().append(1).append(2).toLongHashCode(),
+                    new LongHashCodeBuilder().append(2).append(1).toLongHashCode());
+  }
+
+  @Test
+  public void nullAndEmpty() {
+    assertNotEquals(new LongHashCodeBuilder().append((byte[]) null).toLongHashCode(),
+                    new LongHashCodeBuilder().append(new byte[0]).toLongHashCode());
+
+    assertNotEquals(new LongHashCodeBuilder().append((Object) null).toLongHashCode(),
+                    new LongHashCodeBuilder().append("").toLongHashCode());
+  }
+
+  @Test
+  public void byteArrays() {
+    byte[] array = new byte[17];
+    long empty = new LongHashCodeBuilder().append(array).toLongHashCode();
+    for (int i = 0; i < array.length; i++) {
+      array[i] = 1;
+      assertNotEquals(empty, new LongHashCodeBuilder().append(array).toLongHashCode());
+      array[i] = 0;
+    }
+  }
+
+  @Test
+  public void noCollisionsForSequentialValues() {
+    Set<Long> hashes = new HashSet<>();
+    Set<Integer> upperBits = new HashSet<>();
+    for (int i = 0; i < 100_000; i++) {
+      long hash = new LongHashCodeBuilder().append(i).toLongHashCode();
+      hashes.add(hash);
+      upperBits.add((int) (hash >>> 48));
+    }
+    assertEquals(100_000, hashes.size());
+    // the upper 16 bits are well distributed, about 51_300 expected
+    assertTrue(upperBits.size() > 45_000);
+  }
+
+}
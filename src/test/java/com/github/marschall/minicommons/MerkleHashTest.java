@@ -0,0 +1,108 @@
+package com.github.marschall.minicommons;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.ByteBuffer;
+
+import org.junit.jupiter.api.Test;
+
+public class MerkleHashTest {
+
+  private static long[] values(int length) {
+    long[] values = new long[length];
+    for (int i = 0; i < length; i++) {
+      values[i] = i * 31L;
+    }
+    return values;
+  }
+
+  @Test
+  public void equalReplicas() {
+    MerkleHash one = MerkleHash.of(values(10_000), 64);
+    MerkleHash two = MerkleHash.of(values(10_000), 64);
+    assertEquals(157, one.chunkCount());
+    assertEquals(one.rootHash(), two.rootHash());
+    assertArrayEquals(new int[0], one.differingChunks(two));
+  }
+
+  @Test
+  public void incrementalUpdate() {
+    long[] values = values(10_000);
+    MerkleHash hash = MerkleHash.of(values, 64);
+    long before = hash.rootHash();
+
+    values[100] = -1L;
+    values[9_999] = -1L;
+    hash.markDirty(100);
+    hash.markDirty(9_999);
+    assertNotEquals(before, hash.rootHash());
+    assertEquals(MerkleHash.of(values, 64).rootHash(), hash.rootHash());
+
+    MerkleHash original = MerkleHash.of(values(10_000), 64);
+    assertArrayEquals(new int[] {1, 156}, hash.differingChunks(original));
+    assertEquals(64, hash.chunkFromIndex(1));
+    assertEquals(128, hash.chunkToIndex(1));
+    assertEquals(9_984, hash.chunkFromIndex(156));
+    assertEquals(10_000, hash.chunkToIndex(156));
+
+    values[100] = 100 * 31L;
+    values[9_999] = 9_999 * 31L;
+    hash.markDirty(0, values.length);
+    assertEquals(before, hash.rootHash());
+  }
+
+  @Test
+  public void unreportedModificationsAreNotSeen() {
+    long[] values = values(1_000);
+    MerkleHash hash = MerkleHash.of(values, 100);
+    long before = hash.rootHash();
+    values[5] = 42L;
+    assertEquals(before, hash.rootHash());
+    hash.markDirty(5);
+    assertNotEquals(before, hash.rootHash());
+  }
+
+  @Test
+  public void byteBuffer() {
+    ByteBuffer one = ByteBuffer.allocate(4_000);
+    ByteBuffer two = ByteBuffer.allocateDirect(4_000);
+    for (int i = 0; i < 4_000; i++) {
+      one.put(i, (byte) i);
+      two.put(i, (byte) i);
+    }
+    MerkleHash oneHash = MerkleHash.of(one, 1_000);
+    MerkleHash twoHash = MerkleHash.of(two, 1_000);
+    assertEquals(4, oneHash.chunkCount());
+    assertEquals(oneHash.rootHash(), twoHash.rootHash());
+
+    two.put(2_500, (byte) -1);
+    twoHash.markDirty(2_500);
+    assertArrayEquals(new int[] {2}, oneHash.differingChunks(twoHash));
+  }
+
+  @Test
+  public void singleChunk() {
+    long[] values = values(10);
+    MerkleHash hash = MerkleHash.of(values, 100);
+    assertEquals(1, hash.chunkCount());
+    long before = hash.rootHash();
+    values[3] = 0L;
+    hash.markDirty(3);
+    assertNotEquals(before, hash.rootHash());
+    assertArrayEquals(new int[] {0}, hash.differingChunks(MerkleHash.of(values(10), 100)));
+  }
+
+  @Test
+  public void invalidArguments() {
+    assertThrows(IllegalArgumentException.class, () -> MerkleHash.of(new long[10], 0));
+    MerkleHash hash = MerkleHash.of(new long[10], 4);
+    assertThrows(ArrayIndexOutOfBoundsException.class, () -> hash.markDirty(10));
+    assertThrows(IllegalArgumentException.class, () -> hash.differingChunks(MerkleHash.of(new long[10], 5)));
+    assertThrows(IllegalArgumentException.class, () -> hash.differingChunks(MerkleHash.of(new long[11], 4)));
+    assertThrows(IndexOutOfBoundsException.class, () -> hash.chunkFromIndex(3));
+  }
+
+}
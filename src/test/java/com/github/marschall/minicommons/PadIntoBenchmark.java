@@ -0,0 +1,138 @@
+package com.github.marschall.minicommons;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class PadIntoBenchmark {
+
+  public static void main(String[] args) throws RunnerException {
+    Options options = new OptionsBuilder()
+            .include(".*PadIntoBenchmark.*")
+            .warmupIterations(5)
+            .measurementIterations(5)
+            .forks(3)
+            .build();
+    new Runner(options).run();
+  }
+
+  @Param({"10", "100"})
+  public int size;
+
+  private StringWriter stringWriter;
+
+  private BufferedWriter bufferedWriter;
+
+  private PrintStream printStream;
+
+  @Setup
+  public void setup() {
+    this.stringWriter = new StringWriter();
+    this.bufferedWriter = new BufferedWriter(new NullWriter());
+    this.printStream = new PrintStream(new NullOutputStream());
+  }
+
+  @Benchmark
+  public StringWriter stringWriterPerChar() throws IOException {
+    this.stringWriter.getBuffer().setLength(0);
+    leftPadIntoPerChar("1", this.size, '0', this.stringWriter);
+    return this.stringWriter;
+  }
+
+  @Benchmark
+  public StringWriter stringWriterBulk() throws IOException {
+    this.stringWriter.getBuffer().setLength(0);
+    StringUtils.leftPadInto("1", this.size, '0', this.stringWriter);
+    return this.stringWriter;
+  }
+
+  @Benchmark
+  public BufferedWriter bufferedWriterPerChar() throws IOException {
+    leftPadIntoPerChar("1", this.size, '0', this.bufferedWriter);
+    return this.bufferedWriter;
+  }
+
+  @Benchmark
+  public BufferedWriter bufferedWriterBulk() throws IOException {
+    StringUtils.leftPadInto("1", this.size, '0', this.bufferedWriter);
+    return this.bufferedWriter;
+  }
+
+  @Benchmark
+  public PrintStream printStreamPerChar() throws IOException {
+    leftPadIntoPerChar("1", this.size, '0', this.printStream);
+    return this.printStream;
+  }
+
+  @Benchmark
+  public PrintStream printStreamBulk() throws IOException {
+    StringUtils.leftPadInto("1", this.size, '0', this.printStream);
+    return this.printStream;
+  }
+
+  /**
+   * The previous implementation, one append call per pad character.
+   */
+  private static void leftPadIntoPerChar(String str, int size, char padChar, Appendable appendable) throws IOException {
+    int count = size - str.length();
+    while (count > 0) {
+      appendable.append(padChar);
+      count -= 1;
+    }
+    appendable.append(str);
+  }
+
+  static final class NullWriter extends Writer {
+
+    @Override
+    public void write(char[] cbuf, int off, int len) {
+      // discard
+    }
+
+    @Override
+    public void flush() {
+      // nothing to flush
+    }
+
+    @Override
+    public void close() {
+      // nothing to close
+    }
+
+  }
+
+  static final class NullOutputStream extends OutputStream {
+
+    @Override
+    public void write(int b) {
+      // discard
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+      // discard
+    }
+
+  }
+
+}
@@ -0,0 +1,61 @@
+package com.github.marschall.minicommons;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class PaddedNumberCacheBenchmark {
+
+  public static void main(String[] args) throws RunnerException {
+    Options options = new OptionsBuilder()
+            .include(".*PaddedNumberCacheBenchmark.*")
+            .warmupIterations(5)
+            .measurementIterations(5)
+            .forks(3)
+            .build();
+    new Runner(options).run();
+  }
+
+  private final PaddedNumberCache boundedCache = new PaddedNumberCache(4096);
+
+  private int branchCode;
+
+  private long sequenceNumber;
+
+  @Benchmark
+  public String denseCached() {
+    this.branchCode = (this.branchCode + 1) % 10_000;
+    return StringUtils.leftPad(this.branchCode, 4, '0');
+  }
+
+  @Benchmark
+  public String denseUncached() {
+    this.branchCode = (this.branchCode + 1) % 10_000;
+    return PaddedNumberCache.format(this.branchCode, 4, '0');
+  }
+
+  @Benchmark
+  public String boundedCached() {
+    this.sequenceNumber = (this.sequenceNumber + 1L) & 2047L;
+    return this.boundedCache.leftPad(100_000L + this.sequenceNumber, 10, '0');
+  }
+
+  @Benchmark
+  public String boundedUncached() {
+    this.sequenceNumber = (this.sequenceNumber + 1L) & 2047L;
+    return StringUtils.leftPad(100_000L + this.sequenceNumber, 10, '0');
+  }
+
+}
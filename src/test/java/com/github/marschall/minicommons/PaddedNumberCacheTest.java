@@ -0,0 +1,142 @@
+package com.github.marschall.minicommons;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+public class PaddedNumberCacheTest {
+
+  @Test
+  public void sameAsUncached() {
+    PaddedNumberCache cache = new PaddedNumberCache(64);
+    char[] padChars = {'0', ' ', '*'};
+    long[] values = {0L, 1L, 9L, 10L, 99L, 1023L, 1024L, 123456789L, -1L, -1000L,
+        Integer.MIN_VALUE, Integer.MAX_VALUE, Long.MIN_VALUE, Long.MAX_VALUE};
+    for (int round = 0; round < 2; round++) {
+      for (char padChar : padChars) {
+        for (long value : values) {
+          for (int size = 0; size < 25; size++) {
+            assertEquals(PaddedNumberCache.format(value, size, padChar), cache.leftPad(value, size, padChar));
+          }
+        }
+      }
+    }
+    assertEquals("0042", cache.leftPad(42L, 4, '0'));
+    assertEquals("  42", cache.leftPad(42L, 4, ' '));
+    assertEquals("-042", cache.leftPad(-42L, 4, '0'));
+    assertEquals("12345", cache.leftPad(12345L, 4, '0'));
+  }
+
+  @Test
+  public void denseHits() {
+    PaddedNumberCache cache = new PaddedNumberCache(16);
+    String first = cache.leftPad(7L, 4, '0');
+    assertEquals(0L, cache.hitCount());
+    assertEquals(1L, cache.missCount());
+
+    assertSame(first, cache.leftPad(7L, 4, '0'));
+    assertEquals(1L, cache.hitCount());
+    assertEquals(1L, cache.missCount());
+
+    assertEquals("   7", cache.leftPad(7L, 4, ' '));
+    assertEquals("007", cache.leftPad(7L, 3, '0'));
+    assertEquals(1L, cache.hitCount());
+    assertEquals(3L, cache.missCount());
+  }
+
+  @Test
+  public void denseCoversSize() {
+    PaddedNumberCache cache = new PaddedNumberCache(0);
+    for (int round = 0; round < 2; round++) {
+      for (long value = 0L; value < 10_000L; value++) {
+        assertEquals(PaddedNumberCache.format(value, 4, '0'), cache.leftPad(value, 4, '0'));
+      }
+    }
+    assertEquals(10_000L, cache.hitCount());
+    assertEquals(10_000L, cache.missCount());
+  }
+
+  @Test
+  public void denseOnly() {
+    PaddedNumberCache cache = new PaddedNumberCache(0);
+    assertEquals("0000100000", cache.leftPad(100_000L, 10, '0'));
+    assertEquals("0000100000", cache.leftPad(100_000L, 10, '0'));
+    assertEquals(0L, cache.hitCount());
+    assertEquals(2L, cache.missCount());
+  }
+
+  @Test
+  public void largeSizesNotCached() {
+    PaddedNumberCache cache = new PaddedNumberCache(16);
+    String first = cache.leftPad(1L, PaddedNumberCache.MAX_CACHED_SIZE + 1, ' ');
+    assertEquals(PaddedNumberCache.format(1L, PaddedNumberCache.MAX_CACHED_SIZE + 1, ' '), first);
+    cache.leftPad(1L, PaddedNumberCache.MAX_CACHED_SIZE + 1, ' ');
+    assertEquals(0L, cache.hitCount());
+    assertEquals(2L, cache.missCount());
+
+    first = cache.leftPad(1L, PaddedNumberCache.MAX_CACHED_SIZE, ' ');
+    assertSame(first, cache.leftPad(1L, PaddedNumberCache.MAX_CACHED_SIZE, ' '));
+  }
+
+  @Test
+  public void eviction() {
+    PaddedNumberCache cache = new PaddedNumberCache(1);
+    String first = cache.leftPad(100_000L, 10, '0');
+    assertSame(first, cache.leftPad(100_000L, 10, '0'));
+    assertEquals(1L, cache.hitCount());
+
+    // the single slot is taken over
+    assertEquals("0000200000", cache.leftPad(200_000L, 10, '0'));
+    assertEquals("0000100000", cache.leftPad(100_000L, 10, '0'));
+    assertEquals(1L, cache.hitCount());
+    assertEquals(3L, cache.missCount());
+  }
+
+  @Test
+  public void invalidCapacity() {
+    assertThrows(IllegalArgumentException.class, () -> new PaddedNumberCache(-1));
+    assertThrows(IllegalArgumentException.class, () -> new PaddedNumberCache((1 << 30) + 1));
+  }
+
+  @Test
+  public void concurrentUse() throws Exception {
+    PaddedNumberCache cache = new PaddedNumberCache(128);
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      Future<?>[] futures = new Future<?>[4];
+      for (int t = 0; t < futures.length; t++) {
+        long offset = t * 500L;
+        futures[t] = executor.submit(() -> {
+          for (int round = 0; round < 20; round++) {
+            for (long value = offset; value < offset + 2000L; value++) {
+              assertEquals(PaddedNumberCache.format(value, 6, '0'), cache.leftPad(value, 6, '0'));
+              assertEquals(PaddedNumberCache.format(-value, 8, ' '), cache.leftPad(-value, 8, ' '));
+            }
+          }
+        });
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdown();
+    }
+    assertEquals(4L * 20L * 2000L * 2L, cache.hitCount() + cache.missCount());
+  }
+
+  @Test
+  public void stringUtilsUsesSharedCache() {
+    PaddedNumberCache cache = PaddedNumberCache.shared();
+    StringUtils.leftPad(17, 4, '0');
+    long hits = cache.hitCount();
+    assertSame(StringUtils.leftPad(17, 4, '0'), StringUtils.leftPad(Long.valueOf(17L), 4, '0'));
+    assertEquals(hits + 2L, cache.hitCount());
+  }
+
+}
@@ -0,0 +1,86 @@
+package com.github.marschall.minicommons;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class SeededHashCodeBenchmark {
+
+  public static void main(String[] args) throws RunnerException {
+    Options options = new OptionsBuilder()
+            .include(".*SeededHashCodeBenchmark.*")
+            .warmupIterations(5)
+            .measurementIterations(5)
+            .forks(3)
+            .build();
+    new Runner(options).run();
+  }
+
+  @Param({"8", "64"})
+  public int length;
+
+  private long id;
+
+  private String name;
+
+  private StringBuilder builder;
+
+  @Setup
+  public void setup() {
+    this.id = 123456789L;
+    StringBuilder buffer = new StringBuilder();
+    for (int i = 0; i < this.length; i++) {
+      buffer.append((char) ('a' + (i % 26)));
+    }
+    this.name = buffer.toString();
+    this.builder = buffer;
+  }
+
+  @Benchmark
+  public int defaultString() {
+    // String.hashCode() is cached, this is the best case of the default mode
+    return new HashCodeBuilder()
+            .append(this.id)
+            .append(this.name)
+            .toHashCode();
+  }
+
+  @Benchmark
+  public int defaultContent() {
+    return new HashCodeBuilder()
+            .append(this.id)
+            .appendContent(this.builder)
+            .toHashCode();
+  }
+
+  @Benchmark
+  public int seededString() {
+    return new SeededHashCodeBuilder()
+            .append(this.id)
+            .append(this.name)
+            .toHashCode();
+  }
+
+  @Benchmark
+  public int seededContent() {
+    return new SeededHashCodeBuilder()
+            .append(this.id)
+            .appendContent(this.builder)
+            .toHashCode();
+  }
+
+}
@@ -0,0 +1,90 @@
+package com.github.marschall.minicommons;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+public class SeededHashCodeBuilderTest {
+
+  private static int hash(long k0, long k1, String value) {
+    return new SeededHashCodeBuilder(k0, k1).append(value).toHashCode();
+  }
+
+  @Test
+  public void equalValuesEqualHashCodes() {
+    assertEquals(new SeededHashCodeBuilder().append("name").append(42).append(1.5d).toHashCode(),
+            new SeededHashCodeBuilder().append("name").append(42).append(1.5d).toHashCode());
+    assertEquals(new SeededHashCodeBuilder().append(new int[] {1, 2, 3}).toHashCode(),
+            new SeededHashCodeBuilder().append(new int[] {1, 2, 3}).toHashCode());
+  }
+
+  @Test
+  public void dependsOnKey() {
+    assertEquals(hash(1L, 2L, "name"), hash(1L, 2L, "name"));
+    assertNotEquals(hash(1L, 2L, "name"), hash(1L, 3L, "name"));
+    assertNotEquals(hash(1L, 2L, "name"), hash(3L, 2L, "name"));
+  }
+
+  @Test
+  public void stringHashCodeCollisions() {
+    // "Aa" and "BB" have the same String.hashCode(), so do all their concatenations
+    assertEquals("AaAa".hashCode(), "BBBB".hashCode());
+    Set<Integer> hashCodes = new HashSet<>();
+    String[] blocks = {"Aa", "BB"};
+    for (int i = 0; i < 256; i++) {
+      StringBuilder buffer = new StringBuilder();
+      for (int j = 0; j < 8; j++) {
+        buffer.append(blocks[(i >>> j) & 1]);
+      }
+      hashCodes.add(new SeededHashCodeBuilder().append(buffer.toString()).toHashCode());
+    }
+    assertTrue(hashCodes.size() > 250, "distinct hash codes: " + hashCodes.size());
+  }
+
+  @Test
+  public void nullAndEmptyDiffer() {
+    assertNotEquals(new SeededHashCodeBuilder().append((Object) null).toHashCode(),
+            new SeededHashCodeBuilder().append("").toHashCode());
+    assertNotEquals(new SeededHashCodeBuilder().append((byte[]) null).toHashCode(),
+            new SeededHashCodeBuilder().append(new byte[0]).toHashCode());
+    assertNotEquals(new SeededHashCodeBuilder().append("ab").append("c").toHashCode(),
+            new SeededHashCodeBuilder().append("a").append("bc").toHashCode());
+  }
+
+  @Test
+  public void contentHashing() {
+    char[] chars = "  content  ".toCharArray();
+    int expected = new SeededHashCodeBuilder().append("content").toHashCode();
+    assertEquals(expected, new SeededHashCodeBuilder().append(new StringBuilder("content")).toHashCode());
+    assertEquals(expected, new SeededHashCodeBuilder().appendContent("content").toHashCode());
+    assertEquals(expected, new SeededHashCodeBuilder().append(chars, 2, 9).toHashCode());
+    assertEquals(expected, new SeededHashCodeBuilder().append("content".toCharArray()).toHashCode());
+  }
+
+  @Test
+  public void ranges() {
+    byte[] bytes = {0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11};
+    assertEquals(new SeededHashCodeBuilder().append(new byte[] {1, 2, 3, 4, 5, 6, 7, 8, 9}).toHashCode(),
+            new SeededHashCodeBuilder().append(bytes, 1, 10).toHashCode());
+    long[] longs = {1L, 2L, 3L};
+    assertEquals(new SeededHashCodeBuilder().append(new long[] {2L}).toHashCode(),
+            new SeededHashCodeBuilder().append(longs, 1, 2).toHashCode());
+    assertThrows(IllegalArgumentException.class, () -> new SeededHashCodeBuilder().append(longs, 2, 1));
+    assertThrows(ArrayIndexOutOfBoundsException.class, () -> new SeededHashCodeBuilder().append(longs, 0, 4));
+  }
+
+  @Test
+  public void toHashCodeDoesNotModify() {
+    SeededHashCodeBuilder builder = new SeededHashCodeBuilder().append(1L);
+    int first = builder.toHashCode();
+    assertEquals(first, builder.toHashCode());
+    assertEquals(new SeededHashCodeBuilder().append(1L).append(2L).toHashCode(), builder.append(2L).toHashCode());
+  }
+
+}
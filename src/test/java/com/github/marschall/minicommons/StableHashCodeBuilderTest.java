@@ -0,0 +1,115 @@
+package com.github.marschall.minicommons;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+public class StableHashCodeBuilderTest {
+
+  /**
+   * These values must never change, they may be persisted or used to route
+   * data across JVMs.
+   */
+  @Test
+  public void goldenValues() {
+    assertEquals(17, new StableHashCodeBuilder().toHashCode());
+    assertEquals(2058744863, new StableHashCodeBuilder()
+            .append("customer-42")
+            .append(7L)
+            .append(TimeUnit.SECONDS)
+            .append(String.class)
+            .append(new int[] {1, 2, 3})
+            .append(true)
+            .toHashCode());
+    assertEquals(-1606887314, new StableHashCodeBuilder().append(TimeUnit.SECONDS).toHashCode());
+    assertEquals(124527, new StableHashCodeBuilder().append(new Object[] {"a", new long[] {1L}, null}).toHashCode());
+  }
+
+  @Test
+  public void sameAsHashCodeBuilderForValueTypes() {
+    assertEquals(new HashCodeBuilder()
+            .append("name")
+            .append(42)
+            .append(3.5d)
+            .append(Long.valueOf(7L))
+            .append(new byte[] {1, 2})
+            .toHashCode(),
+            new StableHashCodeBuilder()
+            .append("name")
+            .append(42)
+            .append(3.5d)
+            .append(Long.valueOf(7L))
+            .append(new byte[] {1, 2})
+            .toHashCode());
+  }
+
+  @Test
+  public void enumsByName() {
+    assertEquals(new StableHashCodeBuilder().append("MILLISECONDS").toHashCode(),
+            new StableHashCodeBuilder().append(TimeUnit.MILLISECONDS).toHashCode());
+  }
+
+  @Test
+  public void classesByName() {
+    assertEquals(new StableHashCodeBuilder().append("java.lang.String").toHashCode(),
+            new StableHashCodeBuilder().append(String.class).toHashCode());
+  }
+
+  @Test
+  public void charSequencesByContent() {
+    assertEquals(new StableHashCodeBuilder().append("content").toHashCode(),
+            new StableHashCodeBuilder().append(new StringBuilder("content")).toHashCode());
+    assertEquals(new StableHashCodeBuilder().append("content").toHashCode(),
+            new StableHashCodeBuilder().appendContent(new StringBuilder("content")).toHashCode());
+  }
+
+  @Test
+  public void stableHashCodeInterface() {
+    StableHashCode value = () -> 42;
+    assertEquals(new StableHashCodeBuilder().append(42).toHashCode(),
+            new StableHashCodeBuilder().append(value).toHashCode());
+  }
+
+  @Test
+  public void identityHashCodesRejected() {
+    assertThrows(IllegalArgumentException.class, () -> new StableHashCodeBuilder().append(new Object()));
+    assertThrows(IllegalArgumentException.class, () -> new StableHashCodeBuilder().append(new Object[] {"a", new Object()}));
+  }
+
+  @Test
+  public void jumpConsistentHashGoldenValues() {
+    assertEquals(0, JumpConsistentHash.bucket(0L, 10));
+    assertEquals(6, JumpConsistentHash.bucket(1L, 10));
+    assertEquals(549, JumpConsistentHash.bucket(1L, 1000));
+    assertEquals(571, JumpConsistentHash.bucket(42L, 1000));
+    assertEquals(313, JumpConsistentHash.bucket(-1L, 1000));
+    assertEquals(972, JumpConsistentHash.bucket(Long.MAX_VALUE, 1000));
+  }
+
+  @Test
+  public void jumpConsistentHashMovesKeysOnlyToNewBucket() {
+    int moved = 0;
+    for (long key = 0L; key < 10_000L; key++) {
+      int before = JumpConsistentHash.bucket(key, 10);
+      int after = JumpConsistentHash.bucket(key, 11);
+      assertTrue(before >= 0 && before < 10);
+      if (before != after) {
+        assertEquals(10, after);
+        moved += 1;
+      }
+    }
+    // about 1/11 expected
+    assertTrue(moved > 700 && moved < 1100, "moved: " + moved);
+  }
+
+  @Test
+  public void jumpConsistentHashInvalidBuckets() {
+    assertEquals(0, JumpConsistentHash.bucket(123L, 1));
+    assertThrows(IllegalArgumentException.class, () -> JumpConsistentHash.bucket(123L, 0));
+  }
+
+}
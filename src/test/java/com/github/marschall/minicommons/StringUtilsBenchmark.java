@@ -60,6 +60,16 @@ public class StringUtilsBenchmark {
     return leftPadBuilder(this.smallString, 9, '0');
   }
 
+  @Benchmark
+  public String stringUtilsSmall() {
+    return StringUtils.leftPad(this.smallString, 9, '0');
+  }
+
+  @Benchmark
+  public String stringUtilsMedium() {
+    return StringUtils.leftPad(this.mediumString, 20, '0');
+  }
+
   @Benchmark
   public String originalMedium() {
     return leftPadOriginal(this.mediumString, 20, '0');
@@ -1,8 +1,18 @@
 package com.github.marschall.minicommons;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.PrintStream;
+import java.io.StringWriter;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 
 import org.junit.jupiter.api.Test;
 
@@ -173,4 +183,202 @@ public class StringUtilsTest {
     assertEquals("1111", buf.toString());
   }
 
+  @Test
+  public void toStringLengthNegative() {
+    assertEquals(2, StringUtils.toStringLength(-1));
+    assertEquals(11, StringUtils.toStringLength(Integer.MIN_VALUE));
+    assertEquals(2, StringUtils.toStringLength(-1L));
+    assertEquals(20, StringUtils.toStringLength(Long.MIN_VALUE));
+  }
+
+  @Test
+  public void leftPadNegative() {
+    assertEquals("-01", StringUtils.leftPad(-1, 3, '0'));
+    assertEquals("-1111", StringUtils.leftPad(-1111, 3, '0'));
+    assertEquals("-01", StringUtils.leftPad(Integer.valueOf(-1), 3, '0'));
+    assertEquals("-0000000001", StringUtils.leftPad(-1L, 11, '0'));
+    assertEquals("-9223372036854775808", StringUtils.leftPad(Long.MIN_VALUE, 3, '0'));
+    assertEquals("-01", StringUtils.leftPad(Long.valueOf(-1L), 3, '0'));
+
+    StringBuilder buf = new StringBuilder();
+    StringUtils.leftPadInto(-7, 4, '0', buf);
+    StringUtils.leftPadInto(-7L, 4, '0', buf);
+    assertEquals("-007-007", buf.toString());
+  }
+
+  @Test
+  public void leftPadIntoStringBuilderSameAsToString() {
+    long[] values = {0L, 1L, 9L, 10L, 99L, 100L, -1L, -10L, -100L, Integer.MIN_VALUE, Integer.MAX_VALUE,
+        Integer.MIN_VALUE - 1L, Long.MIN_VALUE, Long.MAX_VALUE};
+    for (long value : values) {
+      for (int size = 0; size < 23; size++) {
+        StringBuilder buf = new StringBuilder("x");
+        StringUtils.leftPadInto(value, size, '*', buf);
+        assertEquals("x" + StringUtils.leftPad(value, size, '*'), buf.toString());
+        if (value == (int) value) {
+          buf = new StringBuilder("x");
+          StringUtils.leftPadInto((int) value, size, '*', buf);
+          assertEquals("x" + StringUtils.leftPad((int) value, size, '*'), buf.toString());
+        }
+      }
+    }
+  }
+
+  @Test
+  public void leftPadStringIntoWriter() throws IOException {
+    StringWriter writer = new StringWriter();
+    StringUtils.leftPadInto("1", 3, '0', writer);
+    StringUtils.leftPadInto((String) null, 2, '*', writer);
+    assertEquals("001**", writer.toString());
+
+    writer = new StringWriter();
+    StringUtils.leftPadInto("x", 151, ' ', writer);
+    assertEquals(repeat(' ', 150) + "x", writer.toString());
+
+    writer = new StringWriter();
+    StringUtils.leftPadInto("x", 101, '\u2014', writer);
+    assertEquals(repeat('\u2014', 100) + "x", writer.toString());
+  }
+
+  @Test
+  public void leftPadStringIntoPrintStream() throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (PrintStream stream = new PrintStream(bytes, true, "UTF-8")) {
+      StringUtils.leftPadInto("1", 70, '0', stream);
+    }
+    assertEquals(repeat('0', 69) + "1", new String(bytes.toByteArray(), StandardCharsets.UTF_8));
+  }
+
+  @Test
+  public void leftPadStringIntoStringBuilderAsAppendable() throws IOException {
+    StringBuilder buf = new StringBuilder();
+    StringUtils.leftPadInto("1", 70, '0', (Appendable) buf);
+    assertEquals(repeat('0', 69) + "1", buf.toString());
+  }
+
+  private static String repeat(char c, int count) {
+    StringBuilder buf = new StringBuilder();
+    for (int i = 0; i < count; i++) {
+      buf.append(c);
+    }
+    return buf.toString();
+  }
+
+  @Test
+  public void leftPadString() {
+    assertNull(StringUtils.leftPad((String) null, 3, '*'));
+    assertEquals("001", StringUtils.leftPad("1", 3, '0'));
+    assertEquals("  \u00e9", StringUtils.leftPad("\u00e9", 3, ' '));
+    assertEquals("\u2014\u2014a", StringUtils.leftPad("a", 3, '\u2014'));
+    assertEquals("00\u20ac", StringUtils.leftPad("\u20ac", 3, '0'));
+    String str = "111";
+    assertSame(str, StringUtils.leftPad(str, 3, '0'));
+    assertSame(str, StringUtils.leftPad(str, -1, '0'));
+  }
+
+  @Test
+  public void rightPadString() {
+    assertNull(StringUtils.rightPad(null, 3, '*'));
+    assertEquals("100", StringUtils.rightPad("1", 3, '0'));
+    assertEquals("\u20ac00", StringUtils.rightPad("\u20ac", 3, '0'));
+    String str = "1111";
+    assertSame(str, StringUtils.rightPad(str, 3, '0'));
+  }
+
+  @Test
+  public void center() {
+    assertNull(StringUtils.center(null, 3, '*'));
+    assertEquals("*1*", StringUtils.center("1", 3, '*'));
+    assertEquals("*1**", StringUtils.center("1", 4, '*'));
+    assertEquals("**", StringUtils.center("", 2, '*'));
+    String str = "1111";
+    assertSame(str, StringUtils.center(str, 3, '*'));
+  }
+
+  @Test
+  public void leftPadIntoCharArray() {
+    char[] target = "[..........]".toCharArray();
+    int position = StringUtils.leftPadInto("1", 3, '0', target, 1);
+    assertEquals(4, position);
+    position = StringUtils.leftPadInto(-7, 3, '0', target, position);
+    assertEquals(7, position);
+    position = StringUtils.leftPadInto(42L, 3, ' ', target, position);
+    assertEquals(10, position);
+    position = StringUtils.leftPadInto((String) null, 2, '*', target, position);
+    assertEquals(12, position);
+    assertEquals("[001-07 42**", new String(target));
+
+    char[] small = new char[3];
+    assertThrows(ArrayIndexOutOfBoundsException.class, () -> StringUtils.leftPadInto("1", 3, '0', small, 1));
+    assertThrows(ArrayIndexOutOfBoundsException.class, () -> StringUtils.leftPadInto(1234, 2, '0', small, 0));
+    assertThrows(ArrayIndexOutOfBoundsException.class, () -> StringUtils.leftPadInto(1L, 2, '0', small, -1));
+    assertArrayEquals(new char[3], small);
+  }
+
+  @Test
+  public void leftPadIntoByteArray() {
+    byte[] target = "[..........]".getBytes(StandardCharsets.ISO_8859_1);
+    int position = StringUtils.leftPadInto("\u00e9", 3, '0', target, 1);
+    assertEquals(4, position);
+    position = StringUtils.leftPadInto(-7, 3, '0', target, position);
+    assertEquals(7, position);
+    assertEquals("[00\u00e9-07....]", new String(target, StandardCharsets.ISO_8859_1));
+
+    byte[] digits = new byte[19];
+    assertEquals(19, StringUtils.leftPadInto(Long.MAX_VALUE, 3, ' ', digits, 0));
+    assertEquals(Long.toString(Long.MAX_VALUE), new String(digits, StandardCharsets.US_ASCII));
+    assertThrows(ArrayIndexOutOfBoundsException.class, () -> StringUtils.leftPadInto(Long.MIN_VALUE, 3, ' ', digits, 0));
+
+    byte[] ascii = new byte[6];
+    StringUtils.leftPadInto("1", 3, '0', ascii, 0);
+    StringUtils.leftPadInto(-5L, 3, '0', ascii, 3);
+    assertEquals("001-05", new String(ascii, StandardCharsets.US_ASCII));
+
+    byte[] untouched = new byte[4];
+    assertThrows(IllegalArgumentException.class, () -> StringUtils.leftPadInto("\u20ac", 3, '0', untouched, 0));
+    assertThrows(IllegalArgumentException.class, () -> StringUtils.leftPadInto("1", 3, '\u2014', untouched, 0));
+    assertThrows(IllegalArgumentException.class, () -> StringUtils.leftPadInto(1, 3, '\u2014', untouched, 0));
+    assertArrayEquals(new byte[4], untouched);
+  }
+
+  @Test
+  public void leftPadIntoByteBuffer() {
+    for (ByteBuffer buffer : new ByteBuffer[] {ByteBuffer.allocate(32), ByteBuffer.allocateDirect(32)}) {
+      StringUtils.leftPadInto("1", 3, '0', ByteEncoding.US_ASCII, buffer);
+      StringUtils.leftPadInto(-7, 4, '0', ByteEncoding.US_ASCII, buffer);
+      StringUtils.leftPadInto(123L, 5, ' ', ByteEncoding.US_ASCII, buffer);
+      StringUtils.leftPadInto((String) null, 2, '*', ByteEncoding.US_ASCII, buffer);
+      buffer.flip();
+      byte[] bytes = new byte[buffer.remaining()];
+      buffer.get(bytes);
+      assertEquals("001-007  123**", new String(bytes, StandardCharsets.US_ASCII));
+    }
+
+    ByteBuffer utf8 = ByteBuffer.allocate(32);
+    StringUtils.leftPadInto("\u00e9", 3, '\u2014', ByteEncoding.UTF_8, utf8);
+    StringUtils.leftPadInto(Long.MIN_VALUE, 21, '\u00b7', ByteEncoding.UTF_8, utf8);
+    assertEquals("\u2014\u2014\u00e9-\u00b79223372036854775808",
+            new String(utf8.array(), 0, utf8.position(), StandardCharsets.UTF_8));
+  }
+
+  @Test
+  public void leftPadIntoByteBufferChecksUpfront() {
+    ByteBuffer buffer = ByteBuffer.allocate(3);
+    assertThrows(BufferOverflowException.class, () -> StringUtils.leftPadInto("1", 4, '0', ByteEncoding.US_ASCII, buffer));
+    assertThrows(BufferOverflowException.class, () -> StringUtils.leftPadInto(1234, 2, '0', ByteEncoding.US_ASCII, buffer));
+    assertThrows(BufferOverflowException.class, () -> StringUtils.leftPadInto(1L, 3, '\u00e9', ByteEncoding.UTF_8, buffer));
+    assertThrows(IllegalArgumentException.class, () -> StringUtils.leftPadInto("\u00e9", 2, '0', ByteEncoding.US_ASCII, buffer));
+    assertThrows(IllegalArgumentException.class, () -> StringUtils.leftPadInto(1, 2, '\u00e9', ByteEncoding.US_ASCII, buffer));
+    assertEquals(0, buffer.position());
+  }
+
+  @Test
+  public void leftPadIntoOutputStream() throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    StringUtils.leftPadInto("1", 3, '0', ByteEncoding.ISO_8859_1, out);
+    StringUtils.leftPadInto(42, 4, '\u00a0', ByteEncoding.ISO_8859_1, out);
+    StringUtils.leftPadInto(-42L, 4, '0', ByteEncoding.ISO_8859_1, out);
+    assertEquals("001\u00a0\u00a042-042", new String(out.toByteArray(), StandardCharsets.ISO_8859_1));
+  }
+
 }
@@ -0,0 +1,76 @@
+package com.github.marschall.minicommons;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+public class UnorderedHashCodeBuilderTest {
+
+  @Test
+  public void orderIndependent() {
+    List<String> elements = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      elements.add("element" + i);
+    }
+    int expected = new UnorderedHashCodeBuilder().appendAll(elements).toHashCode();
+    Collections.shuffle(elements);
+    assertEquals(expected, new UnorderedHashCodeBuilder().appendAll(elements).toHashCode());
+  }
+
+  @Test
+  public void differentElements() {
+    assertNotEquals(new UnorderedHashCodeBuilder().appendAll(Arrays.asList("a", "b")).toHashCode(),
+            new UnorderedHashCodeBuilder().appendAll(Arrays.asList("a", "c")).toHashCode());
+    assertNotEquals(new UnorderedHashCodeBuilder().toHashCode(),
+            new UnorderedHashCodeBuilder().append((Object) null).toHashCode());
+    // a plain sum can not tell these apart
+    assertNotEquals(new UnorderedHashCodeBuilder().append(1).append(4).toHashCode(),
+            new UnorderedHashCodeBuilder().append(2).append(3).toHashCode());
+  }
+
+  @Test
+  public void distribution() {
+    // sets of small consecutive integers collide a lot with Set.hashCode()
+    Set<Integer> hashCodes = new HashSet<>();
+    for (int i = 0; i < 1_000; i++) {
+      hashCodes.add(new UnorderedHashCodeBuilder().append(i).append(i + 1).append(i + 2).toHashCode());
+    }
+    assertTrue(hashCodes.size() > 990);
+  }
+
+  @Test
+  public void merge() {
+    UnorderedHashCodeBuilder first = new UnorderedHashCodeBuilder().append("a").append("b");
+    UnorderedHashCodeBuilder second = new UnorderedHashCodeBuilder().append("c");
+    assertEquals(new UnorderedHashCodeBuilder().append("c").append("a").append("b").toHashCode(),
+            first.merge(second).toHashCode());
+  }
+
+  @Test
+  public void collector() {
+    UnorderedHashCodeBuilder builder = new UnorderedHashCodeBuilder();
+    for (int i = 0; i < 100_000; i++) {
+      builder.append(Integer.valueOf(i));
+    }
+    assertEquals(builder.toHashCode(), (int) IntStream.range(0, 100_000)
+            .boxed()
+            .parallel()
+            .unordered()
+            .collect(HashCodeCollectors.toUnorderedHashCode()));
+    assertEquals(builder.toHashCode(), (int) IntStream.range(0, 100_000)
+            .boxed()
+            .parallel()
+            .collect(HashCodeCollectors.toUnorderedHashCode(Integer::intValue)));
+  }
+
+}
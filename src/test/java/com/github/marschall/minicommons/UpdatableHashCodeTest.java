@@ -0,0 +1,109 @@
+package com.github.marschall.minicommons;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class UpdatableHashCodeTest {
+
+  @Test
+  public void sameAsHashCodeBuilder() {
+    UpdatableHashCode hashCode = new UpdatableHashCode()
+            .append(1L)
+            .append("name")
+            .append(true)
+            .append(2.5d)
+            .append((Object) null);
+    assertEquals(new HashCodeBuilder()
+            .append(1L)
+            .append("name")
+            .append(true)
+            .append(2.5d)
+            .append((Object) null)
+            .toHashCode(), hashCode.toHashCode());
+    assertEquals(5, hashCode.size());
+
+    hashCode.set(1, "other");
+    hashCode.set(4, 'c');
+    hashCode.set(0, 7L);
+    assertEquals(new HashCodeBuilder()
+            .append(7L)
+            .append("other")
+            .append(true)
+            .append(2.5d)
+            .append('c')
+            .toHashCode(), hashCode.toHashCode());
+  }
+
+  @Test
+  public void empty() {
+    assertEquals(new HashCodeBuilder().toHashCode(), new UpdatableHashCode().toHashCode());
+  }
+
+  @Test
+  public void randomUpdates() {
+    Random random = new Random(42L);
+    int[] values = new int[100];
+    UpdatableHashCode hashCode = new UpdatableHashCode();
+    for (int i = 0; i < values.length; i++) {
+      values[i] = random.nextInt();
+      hashCode.append(values[i]);
+    }
+    for (int round = 0; round < 1_000; round++) {
+      int index = random.nextInt(values.length);
+      values[index] = random.nextInt();
+      hashCode.set(index, values[index]);
+    }
+    HashCodeBuilder builder = new HashCodeBuilder();
+    for (int value : values) {
+      builder.append(value);
+    }
+    assertEquals(builder.toHashCode(), hashCode.toHashCode());
+  }
+
+  @Test
+  public void invalidIndex() {
+    UpdatableHashCode hashCode = new UpdatableHashCode().append(1);
+    assertThrows(IndexOutOfBoundsException.class, () -> hashCode.set(1, 2));
+    assertThrows(IndexOutOfBoundsException.class, () -> hashCode.set(-1, 2));
+  }
+
+  @Test
+  public void arrays() {
+    UpdatableHashCode hashCode = new UpdatableHashCode()
+            .append(new byte[] {1, 2})
+            .append(new int[] {3, 4})
+            .append(new Object[] {"a", null})
+            .append((long[]) null);
+    assertEquals(new HashCodeBuilder()
+            .append(new byte[] {1, 2})
+            .append(new int[] {3, 4})
+            .append(new Object[] {"a", null})
+            .append((long[]) null)
+            .toHashCode(), hashCode.toHashCode());
+
+    hashCode.set(0, new char[] {'x'});
+    hashCode.set(3, new double[] {1.5d});
+    hashCode.set(1, new boolean[] {true});
+    hashCode.set(2, new short[] {5});
+    assertEquals(new HashCodeBuilder()
+            .append(new char[] {'x'})
+            .append(new boolean[] {true})
+            .append(new short[] {5})
+            .append(new double[] {1.5d})
+            .toHashCode(), hashCode.toHashCode());
+
+    hashCode.set(0, new float[] {2.5f});
+    hashCode.set(1, new long[] {6L});
+    assertEquals(new HashCodeBuilder()
+            .append(new float[] {2.5f})
+            .append(new long[] {6L})
+            .append(new short[] {5})
+            .append(new double[] {1.5d})
+            .toHashCode(), hashCode.toHashCode());
+  }
+
+}